@@ -0,0 +1,33 @@
+package college.mtu_benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler, so every result also reports the allocation rate.
+ * <p>
+ * Any JMH command line option can be given, for example to pick one dataset and backend:
+ * {@code java -jar target/benchmarks.jar ControllerBenchmark -p rows=100000 -p storage=embedded}
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    /**
+     * Runs the benchmarks selected on the command line, or all of them.
+     *
+     * @param args JMH command line options.
+     * @throws Exception if the options are invalid or a benchmark fails.
+     */
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
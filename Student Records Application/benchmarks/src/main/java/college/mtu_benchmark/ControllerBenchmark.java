@@ -0,0 +1,141 @@
+package college.mtu_benchmark;
+
+import college.mtu_analytics.GradeStatistics;
+import college.mtu_model.Module;
+import college.mtu_model.ModuleGrade;
+import college.mtu_model.Student;
+import college.mtu_model.TranscriptOrder;
+import college.mtu_records.ComboItems;
+import college.mtu_repository.GradeRepository;
+import college.mtu_repository.ModuleRepository;
+import college.mtu_repository.RecordCache;
+import college.mtu_repository.StudentRepository;
+import college.mtu_storage.RecordStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the work the Controller operations run in the background, without the JavaFX view.
+ * <p>
+ * Each benchmark repeats what one Controller operation does with the same repositories, cache sizes and grade
+ * statistics: listStudent reads a page of students, search reads a student and their grades, sort orders a transcript,
+ * submit saves a grade, comboBox_2 lists the modules available to a student and modifyCheck reads one grade.
+ * The student of every call is picked at random, so the caches see the same spread of keys as in use.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ControllerBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    @Param({"embedded", "mysql"})
+    public String storage;
+
+    private RecordStore store;
+    private StudentRepository studentRepository;
+    private ModuleRepository moduleRepository;
+    private GradeRepository gradeRepository;
+    private List<ModuleGrade> transcript;
+    private final int pageSize = Integer.getInteger("college.list.pageSize", 200);
+
+    /**
+     * Opens the dataset and creates the repositories the way the Controller does.
+     */
+    @Setup(Level.Trial)
+    public void open() throws Exception {
+        store = Dataset.open(storage, rows);
+        long cacheTtl = Long.getLong("college.cache.ttlMs", 5 * 60 * 1000L);
+        studentRepository = new StudentRepository(store,
+                new RecordCache<>(Integer.getInteger("college.cache.students", 10000), cacheTtl));
+        moduleRepository = new ModuleRepository(store,
+                new RecordCache<>(Integer.getInteger("college.cache.modules", 1000), cacheTtl));
+        //submit updates the statistics of the grade too, under their lock
+        gradeRepository = new GradeRepository(store, GradeStatistics.load(store));
+        transcript = store.findGrades(Dataset.studentId(randomStudent()), false);
+    }
+
+    /**
+     * Closes the dataset.
+     */
+    @TearDown(Level.Trial)
+    public void close() throws Exception {
+        store.close();
+    }
+
+    @Benchmark
+    public List<Student> listStudent() throws Exception {
+        return studentRepository.findPage(null, pageSize);
+    }
+
+    @Benchmark
+    public List<Student> moreStudents() throws Exception {
+        return studentRepository.findPage(Dataset.studentId(randomStudent()), pageSize);
+    }
+
+    @Benchmark
+    public List<ModuleGrade> search() throws Exception {
+        String studentId = Dataset.studentId(randomStudent());
+        Student found = studentRepository.findById(studentId);
+        return found != null ? store.findGrades(studentId, false) : null;
+    }
+
+    @Benchmark
+    public List<ModuleGrade> sort() {
+        //the Controller sorts the transcript loaded by the last search, without reading it again
+        List<ModuleGrade> grades = new ArrayList<>(transcript);
+        grades.sort(TranscriptOrder.NUMERICAL.comparator(false));
+        return grades;
+    }
+
+    @Benchmark
+    public boolean submit() throws Exception {
+        int i = randomStudent();
+        //replaces an existing grade, so the dataset keeps its size
+        return gradeRepository.save(Dataset.studentId(i), Dataset.gradedModule(i, 0),
+                ThreadLocalRandom.current().nextInt(101));
+    }
+
+    @Benchmark
+    public List<String> comboBox_2() throws Exception {
+        Student selected = studentRepository.findById(Dataset.studentId(randomStudent()));
+        int maxSemester = selected != null ? selected.getCurrentSemester() : Integer.MIN_VALUE;
+        List<String> modules = new ArrayList<>();
+        for (Module listed : moduleRepository.findAll()) {
+            if (listed.getSemester() <= maxSemester) {
+                modules.add(ComboItems.item(listed.getModuleCode(), listed.getModuleName()));
+            }
+        }
+        return modules;
+    }
+
+    @Benchmark
+    public Float modifyCheck() throws Exception {
+        int i = randomStudent();
+        return store.findGrade(Dataset.studentId(i), Dataset.gradedModule(i, 1));
+    }
+
+    private int randomStudent() {
+        return ThreadLocalRandom.current().nextInt(rows);
+    }
+}
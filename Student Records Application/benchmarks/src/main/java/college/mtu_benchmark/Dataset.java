@@ -0,0 +1,191 @@
+package college.mtu_benchmark;
+
+import college.mtu_database.Database;
+import college.mtu_import.CsvImporter;
+import college.mtu_import.ImportKind;
+import college.mtu_model.GradeEntry;
+import college.mtu_model.Module;
+import college.mtu_model.Student;
+import college.mtu_records.RecordValidator;
+import college.mtu_storage.JdbcRecordStore;
+import college.mtu_storage.LogRecordStore;
+import college.mtu_storage.RecordStore;
+
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The Dataset class provisions a reproducible set of students, modules and grades for the benchmarks.
+ * <p>
+ * Student i has the ID R00 followed by i as six digits, so a dataset holds at most one million students.
+ * Every student has {@link #GRADES_PER_STUDENT} grades spread over {@link #MODULES} modules. The records are
+ * only written if the store does not hold them yet, so a dataset is provisioned once and reused by later runs.
+ * <p>
+ * The embedded store is kept in benchmarks/data/embedded-ROWS, or under the directory named by the system
+ * property college.benchmark.dir. The MySQL store uses the application database, which is filled by importing
+ * generated CSV files.
+ */
+public final class Dataset {
+
+    /**
+     * The number of modules in every dataset.
+     */
+    public static final int MODULES = 60;
+
+    /**
+     * The number of grades of every student.
+     */
+    public static final int GRADES_PER_STUDENT = 3;
+
+    private static final String[] FIRST_NAMES = {"Furqan", "Aoife", "Alan", "Niamh", "Sean", "Ciara", "Liam", "Orla"};
+    private static final String[] SURNAMES = {"Ali", "Byrne", "Furlong", "Murphy", "Kelly", "Walsh", "Ryan", "Doyle"};
+
+    private Dataset() {
+    }
+
+    /**
+     * Opens a store of the given kind holding the given number of students, provisioning it if needed.
+     *
+     * @param storage "embedded" or "mysql".
+     * @param rows    The number of students, at most one million.
+     * @return The open store; the caller closes it.
+     * @throws Exception if the store cannot be opened or provisioned.
+     */
+    public static RecordStore open(String storage, int rows) throws Exception {
+        if (rows < 1 || rows > 1_000_000) {
+            throw new IllegalArgumentException("rows must be between 1 and 1000000: " + rows);
+        }
+        if ("embedded".equals(storage)) {
+            Path directory = Paths.get(System.getProperty("college.benchmark.dir", "data"), "embedded-" + rows);
+            LogRecordStore store = new LogRecordStore(directory);
+            if (store.findStudent(studentId(rows - 1)) == null) {
+                provision(store, rows);
+            }
+            return store;
+        }
+        JdbcRecordStore store = new JdbcRecordStore(new Database(), 1000);
+        if (store.findStudent(studentId(rows - 1)) == null) {
+            provision(store.getDatabase(), rows);
+        }
+        return store;
+    }
+
+    /**
+     * Returns the ID of student i.
+     *
+     * @param i The number of the student.
+     * @return The student ID.
+     */
+    public static String studentId(int i) {
+        return String.format("R00%06d", i);
+    }
+
+    /**
+     * Returns the code of module m.
+     *
+     * @param m The number of the module.
+     * @return The module code.
+     */
+    public static String moduleCode(int m) {
+        return "MT" + (100 + m);
+    }
+
+    /**
+     * Returns the code of the k-th module graded for student i.
+     *
+     * @param i The number of the student.
+     * @param k The number of the grade, below {@link #GRADES_PER_STUDENT}.
+     * @return The module code.
+     */
+    public static String gradedModule(int i, int k) {
+        return moduleCode((i * 7 + k * 13) % MODULES);
+    }
+
+    private static Student student(int i) {
+        String name = FIRST_NAMES[i % FIRST_NAMES.length] + " " + SURNAMES[(i / FIRST_NAMES.length) % SURNAMES.length];
+        String dateOfBirth = String.format("%02d/%02d/%d", 1 + i % 28, 1 + i % 12, 1980 + i % 20);
+        return new Student(name, studentId(i), dateOfBirth, 1 + i % 8);
+    }
+
+    private static Module module(int m) {
+        return new Module("Module " + m, moduleCode(m), 1 + m % 8);
+    }
+
+    private static double grade(int i, int k) {
+        return (i * 31 + k * 17) % 101;
+    }
+
+    private static void provision(LogRecordStore store, int rows) throws Exception {
+        for (int m = 0; m < MODULES; m++) {
+            if (store.findModule(moduleCode(m)) == null) {
+                store.addModule(module(m));
+            }
+        }
+        List<GradeEntry> grades = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            if (store.findStudent(studentId(i)) != null) {
+                continue;
+            }
+            store.addStudent(student(i));
+            for (int k = 0; k < GRADES_PER_STUDENT; k++) {
+                grades.add(new GradeEntry(studentId(i), gradedModule(i, k), grade(i, k)));
+            }
+            if (grades.size() >= 10000) {
+                store.saveGrades(grades);
+                grades.clear();
+            }
+        }
+        store.saveGrades(grades);
+    }
+
+    /**
+     * Fills the database through the bulk import, skipping students and modules that are already there.
+     */
+    private static void provision(Database database, int rows) throws Exception {
+        Path directory = Files.createTempDirectory("dataset");
+        CsvImporter importer = new CsvImporter(database, new RecordValidator(), 1000, 10000);
+        try {
+            Path modules = directory.resolve("modules.csv");
+            try (BufferedWriter out = Files.newBufferedWriter(modules, StandardCharsets.UTF_8)) {
+                for (int m = 0; m < MODULES; m++) {
+                    Module module = module(m);
+                    out.write(module.getModuleName() + "," + module.getModuleCode() + "," + module.getSemester());
+                    out.newLine();
+                }
+            }
+            Path students = directory.resolve("students.csv");
+            Path grades = directory.resolve("grades.csv");
+            try (BufferedWriter studentsOut = Files.newBufferedWriter(students, StandardCharsets.UTF_8);
+                 BufferedWriter gradesOut = Files.newBufferedWriter(grades, StandardCharsets.UTF_8)) {
+                for (int i = 0; i < rows; i++) {
+                    Student student = student(i);
+                    studentsOut.write(student.getStudentName() + "," + student.getStudentId() + ","
+                            + student.getDateOfBirth() + "," + student.getCurrentSemester());
+                    studentsOut.newLine();
+                    for (int k = 0; k < GRADES_PER_STUDENT; k++) {
+                        gradesOut.write(studentId(i) + "," + gradedModule(i, k) + "," + grade(i, k));
+                        gradesOut.newLine();
+                    }
+                }
+            }
+            //rows already in the database are rejected as duplicates and skipped
+            for (ImportKind kind : new ImportKind[]{ImportKind.MODULES, ImportKind.STUDENTS, ImportKind.GRADES}) {
+                Path csv = directory.resolve(kind.name().toLowerCase() + ".csv");
+                System.out.println("Provisioning " + kind.name().toLowerCase() + ": "
+                        + importer.importFile(kind, csv, directory.resolve(csv.getFileName() + ".rejected"), null));
+            }
+        } finally {
+            try (var files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package college.mtu_analytics;
+
+import college.mtu_storage.RecordStore;
+import college.mtu_storage.StorageException;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * The GradeStatistics class keeps running statistics of the grades of every module and every student.
+ * <p>
+ * The statistics are built from a single scan of the grades, then kept up to date as grades are added,
+ * changed and deleted, one grade at a time, so reading the statistics of a module or a student never scans
+ * the grades again. Each grade is also kept by student and module, so a changed grade replaces the value the
+ * statistics hold, and removing a student or a module drops only their own grades. All methods are
+ * synchronized; writers update the statistics after the store has been written, never while waiting on it.
+ */
+public class GradeStatistics {
+
+    /**
+     * The lowest passing grade, the same as for the passed-only search.
+     */
+    public static final float PASS_MARK = 40;
+
+    private static final GradeSummary EMPTY = new RunningStats().summary();
+
+    private final Map<String, RunningStats> byModule = new HashMap<>();
+    private final Map<String, RunningStats> byStudent = new HashMap<>();
+    //the grades of each student by module code
+    private final Map<String, Map<String, Float>> grades = new HashMap<>();
+
+    /**
+     * Builds the statistics of every grade in a store.
+     *
+     * @param store The store to read the grades from.
+     * @return The new statistics.
+     * @throws StorageException if the grades cannot be read.
+     */
+    public static GradeStatistics load(RecordStore store) throws StorageException {
+        GradeStatistics statistics = new GradeStatistics();
+        statistics.reload(store);
+        return statistics;
+    }
+
+    /**
+     * Throws the statistics away and builds them again from every grade in a store, for changes made without
+     * going through this object, such as imports. Writers wait until the scan has finished.
+     *
+     * @param store The store to read the grades from.
+     * @throws StorageException if the grades cannot be read. The statistics are empty in that case.
+     */
+    public synchronized void reload(RecordStore store) throws StorageException {
+        byModule.clear();
+        byStudent.clear();
+        grades.clear();
+        store.scanGrades(this::put);
+    }
+
+    /**
+     * Records a saved grade, which either added a grade or replaced the one the student had for the module.
+     *
+     * @param studentId  The student ID.
+     * @param moduleCode The module code.
+     * @param grade      The grade saved.
+     * @return The grade replaced, or null if the grade is new.
+     */
+    public synchronized Float put(String studentId, String moduleCode, float grade) {
+        Float previous = grades.computeIfAbsent(studentId, id -> new HashMap<>()).put(moduleCode, grade);
+        if (previous != null) {
+            remove(byModule, moduleCode, previous);
+            remove(byStudent, studentId, previous);
+        }
+        byModule.computeIfAbsent(moduleCode, code -> new RunningStats()).add(grade);
+        byStudent.computeIfAbsent(studentId, id -> new RunningStats()).add(grade);
+        return previous;
+    }
+
+    /**
+     * Removes a deleted grade.
+     *
+     * @param studentId  The student ID.
+     * @param moduleCode The module code.
+     * @return The grade removed, or null if the student had no grade for the module.
+     */
+    public synchronized Float remove(String studentId, String moduleCode) {
+        Map<String, Float> transcript = grades.get(studentId);
+        Float previous = transcript != null ? transcript.remove(moduleCode) : null;
+        if (previous != null) {
+            if (transcript.isEmpty()) {
+                grades.remove(studentId);
+            }
+            remove(byModule, moduleCode, previous);
+            remove(byStudent, studentId, previous);
+        }
+        return previous;
+    }
+
+    /**
+     * Removes every grade of a removed student.
+     *
+     * @param studentId The student ID.
+     */
+    public synchronized void removeStudent(String studentId) {
+        Map<String, Float> transcript = grades.remove(studentId);
+        if (transcript != null) {
+            for (Map.Entry<String, Float> grade : transcript.entrySet()) {
+                remove(byModule, grade.getKey(), grade.getValue());
+            }
+        }
+        byStudent.remove(studentId);
+    }
+
+    /**
+     * Removes every grade given for a removed module.
+     * Looks the module up in the grades of each student, without reading the store.
+     *
+     * @param moduleCode The module code.
+     */
+    public synchronized void removeModule(String moduleCode) {
+        for (Iterator<Map.Entry<String, Map<String, Float>>> students = grades.entrySet().iterator();
+             students.hasNext(); ) {
+            Map.Entry<String, Map<String, Float>> student = students.next();
+            Float grade = student.getValue().remove(moduleCode);
+            if (grade != null) {
+                remove(byStudent, student.getKey(), grade);
+                if (student.getValue().isEmpty()) {
+                    students.remove();
+                }
+            }
+        }
+        byModule.remove(moduleCode);
+    }
+
+    /**
+     * Returns the statistics of the grades given for a module.
+     *
+     * @param moduleCode The module code.
+     * @return A snapshot of the statistics, with a count of 0 if the module has no grades.
+     */
+    public synchronized GradeSummary forModule(String moduleCode) {
+        RunningStats stats = byModule.get(moduleCode);
+        return stats != null ? stats.summary() : EMPTY;
+    }
+
+    /**
+     * Returns the statistics of the grades of a student.
+     *
+     * @param studentId The student ID.
+     * @return A snapshot of the statistics, with a count of 0 if the student has no grades.
+     */
+    public synchronized GradeSummary forStudent(String studentId) {
+        RunningStats stats = byStudent.get(studentId);
+        return stats != null ? stats.summary() : EMPTY;
+    }
+
+    private static void remove(Map<String, RunningStats> index, String key, float grade) {
+        RunningStats stats = index.get(key);
+        if (stats != null && stats.remove(grade) && stats.getCount() == 0) {
+            index.remove(key);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package college.mtu_analytics;
+
+/**
+ * The GradeSummary class is an immutable snapshot of the statistics of the grades of one module or one
+ * student. Every value but the count is NaN when there are no grades.
+ */
+public class GradeSummary {
+
+    private final int count;
+    private final double mean;
+    private final double variance;
+    private final float min;
+    private final float max;
+    private final double passRate;
+
+    /**
+     * Constructs a new GradeSummary.
+     *
+     * @param count    The number of grades.
+     * @param mean     The mean grade.
+     * @param variance The population variance of the grades.
+     * @param min      The lowest grade.
+     * @param max      The highest grade.
+     * @param passRate The share of grades that pass, from 0 to 1.
+     */
+    public GradeSummary(int count, double mean, double variance, float min, float max, double passRate) {
+        this.count = count;
+        this.mean = mean;
+        this.variance = variance;
+        this.min = min;
+        this.max = max;
+        this.passRate = passRate;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getVariance() {
+        return variance;
+    }
+
+    public double getStandardDeviation() {
+        return Math.sqrt(variance);
+    }
+
+    public float getMin() {
+        return min;
+    }
+
+    public float getMax() {
+        return max;
+    }
+
+    public double getPassRate() {
+        return passRate;
+    }
+
+    @Override
+    public String toString() {
+        if (count == 0) {
+            return "No grades";
+        }
+        return String.format("Grades: %d | Mean: %.1f | Std dev: %.1f | Min: %.1f | Max: %.1f | Passed: %.0f%%",
+                count, mean, getStandardDeviation(), min, max, passRate * 100);
+    }
+}
@@ -0,0 +1,401 @@
+package college.mtu_analytics;
+
+import college.mtu_storage.RecordStore;
+import college.mtu_storage.StorageException;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The Gradebook class holds every grade in memory as a sparse matrix of students by modules.
+ * <p>
+ * Students and modules are numbered by ordinal, in the order their IDs first appear. The grades are stored in
+ * compressed sparse row form: one float array holding every grade with each student's grades next to each
+ * other, one array holding the module of each grade, and one array holding where each student's grades start.
+ * A second set of arrays lists the grades of each module, so a module can be read as quickly as a transcript.
+ * A hash table keyed by (student, module) finds a single grade in constant time.
+ * <p>
+ * Reading a transcript, a module or the whole cohort goes through the arrays without creating an object per
+ * grade. A gradebook is a snapshot: it does not follow later changes to the store, and it is immutable,
+ * so it can be shared between threads.
+ */
+public class Gradebook {
+
+    /**
+     * Receives the grades of a transcript or module one at a time, without an object per grade.
+     */
+    @FunctionalInterface
+    public interface CellVisitor {
+
+        /**
+         * Receives one grade.
+         *
+         * @param student The ordinal of the student.
+         * @param module  The ordinal of the module.
+         * @param grade   The grade.
+         */
+        void visit(int student, int module, float grade);
+    }
+
+    private static final long NO_KEY = -1L;
+
+    private final String[] studentIds;
+    private final String[] moduleCodes;
+    private final Map<String, Integer> studentOrdinals;
+    private final Map<String, Integer> moduleOrdinals;
+
+    //compressed sparse rows: the grades of student s are at rowStart[s] to rowStart[s + 1]
+    private final int[] rowStart;
+    private final int[] columns;
+    private final float[] values;
+
+    //the same grades by module: the grades of module m are values[columnCells[columnStart[m]..columnStart[m + 1]]]
+    private final int[] columnStart;
+    private final int[] columnRows;
+    private final int[] columnCells;
+
+    //open addressing table from (student, module) to the position of the grade
+    private final long[] cellKeys;
+    private final int[] cellPositions;
+
+    private Gradebook(Builder builder) {
+        int students = builder.studentIds.size();
+        int modules = builder.moduleCodes.size();
+        int count = builder.size;
+        studentIds = new String[students];
+        moduleCodes = new String[modules];
+        for (Map.Entry<String, Integer> entry : builder.studentIds.entrySet()) {
+            studentIds[entry.getValue()] = entry.getKey();
+        }
+        for (Map.Entry<String, Integer> entry : builder.moduleCodes.entrySet()) {
+            moduleCodes[entry.getValue()] = entry.getKey();
+        }
+        studentOrdinals = builder.studentIds;
+        moduleOrdinals = builder.moduleCodes;
+
+        //counting sort of the grades by student, then by module
+        rowStart = new int[students + 1];
+        columnStart = new int[modules + 1];
+        for (int i = 0; i < count; i++) {
+            rowStart[builder.students[i] + 1]++;
+            columnStart[builder.modules[i] + 1]++;
+        }
+        for (int s = 0; s < students; s++) {
+            rowStart[s + 1] += rowStart[s];
+        }
+        for (int m = 0; m < modules; m++) {
+            columnStart[m + 1] += columnStart[m];
+        }
+
+        columns = new int[count];
+        values = new float[count];
+        int[] next = Arrays.copyOf(rowStart, students);
+        for (int i = 0; i < count; i++) {
+            int position = next[builder.students[i]]++;
+            columns[position] = builder.modules[i];
+            values[position] = builder.values[i];
+        }
+
+        columnRows = new int[count];
+        columnCells = new int[count];
+        next = Arrays.copyOf(columnStart, modules);
+        for (int s = 0; s < students; s++) {
+            for (int position = rowStart[s]; position < rowStart[s + 1]; position++) {
+                int slot = next[columns[position]]++;
+                columnRows[slot] = s;
+                columnCells[slot] = position;
+            }
+        }
+
+        int capacity = Integer.highestOneBit(Math.max(4, count) * 2 - 1) << 1;
+        cellKeys = new long[capacity];
+        cellPositions = new int[capacity];
+        Arrays.fill(cellKeys, NO_KEY);
+        for (int s = 0; s < students; s++) {
+            for (int position = rowStart[s]; position < rowStart[s + 1]; position++) {
+                long key = key(s, columns[position]);
+                int slot = slot(key);
+                while (cellKeys[slot] != NO_KEY) {
+                    if (cellKeys[slot] == key) {
+                        throw new IllegalArgumentException("Grade added twice for " + studentIds[s] + " in "
+                                + moduleCodes[columns[position]]);
+                    }
+                    slot = (slot + 1) & (capacity - 1);
+                }
+                cellKeys[slot] = key;
+                cellPositions[slot] = position;
+            }
+        }
+    }
+
+    /**
+     * Loads every grade of a store with a single scan.
+     *
+     * @param store The store to read.
+     * @return A new gradebook.
+     * @throws StorageException if the grades cannot be read.
+     */
+    public static Gradebook load(RecordStore store) throws StorageException {
+        Builder builder = new Builder();
+        store.scanGrades(builder::add);
+        return builder.build();
+    }
+
+    public int getStudentCount() {
+        return studentIds.length;
+    }
+
+    public int getModuleCount() {
+        return moduleCodes.length;
+    }
+
+    public int getGradeCount() {
+        return values.length;
+    }
+
+    /**
+     * Returns the ordinal of a student.
+     *
+     * @param studentId The student ID.
+     * @return The ordinal, or -1 if the student has no grades.
+     */
+    public int studentOrdinal(String studentId) {
+        Integer ordinal = studentOrdinals.get(studentId);
+        return ordinal != null ? ordinal : -1;
+    }
+
+    /**
+     * Returns the ordinal of a module.
+     *
+     * @param moduleCode The module code.
+     * @return The ordinal, or -1 if the module has no grades.
+     */
+    public int moduleOrdinal(String moduleCode) {
+        Integer ordinal = moduleOrdinals.get(moduleCode);
+        return ordinal != null ? ordinal : -1;
+    }
+
+    public String studentId(int student) {
+        return studentIds[student];
+    }
+
+    public String moduleCode(int module) {
+        return moduleCodes[module];
+    }
+
+    /**
+     * Returns the grade of a student for a module in constant time.
+     *
+     * @param student The ordinal of the student.
+     * @param module  The ordinal of the module.
+     * @return The grade, or NaN if the student has no grade for the module.
+     */
+    public float get(int student, int module) {
+        long key = key(student, module);
+        int slot = slot(key);
+        while (cellKeys[slot] != NO_KEY) {
+            if (cellKeys[slot] == key) {
+                return values[cellPositions[slot]];
+            }
+            slot = (slot + 1) & (cellKeys.length - 1);
+        }
+        return Float.NaN;
+    }
+
+    /**
+     * Returns the grade of a student for a module.
+     *
+     * @param studentId  The student ID.
+     * @param moduleCode The module code.
+     * @return The grade, or NaN if the student has no grade for the module.
+     */
+    public float get(String studentId, String moduleCode) {
+        int student = studentOrdinal(studentId);
+        int module = moduleOrdinal(moduleCode);
+        return student >= 0 && module >= 0 ? get(student, module) : Float.NaN;
+    }
+
+    /**
+     * Passes the grades of a student to the visitor, in the order they were loaded.
+     *
+     * @param student The ordinal of the student.
+     * @param visitor Receives each grade.
+     */
+    public void forEachInRow(int student, CellVisitor visitor) {
+        for (int position = rowStart[student]; position < rowStart[student + 1]; position++) {
+            visitor.visit(student, columns[position], values[position]);
+        }
+    }
+
+    /**
+     * Passes the grades of a module to the visitor, ordered by student ordinal.
+     *
+     * @param module  The ordinal of the module.
+     * @param visitor Receives each grade.
+     */
+    public void forEachInColumn(int module, CellVisitor visitor) {
+        for (int slot = columnStart[module]; slot < columnStart[module + 1]; slot++) {
+            visitor.visit(columnRows[slot], module, values[columnCells[slot]]);
+        }
+    }
+
+    /**
+     * Returns the number of grades of a student.
+     *
+     * @param student The ordinal of the student.
+     * @return The number of grades.
+     */
+    public int rowCount(int student) {
+        return rowStart[student + 1] - rowStart[student];
+    }
+
+    /**
+     * Returns the number of grades of a module.
+     *
+     * @param module The ordinal of the module.
+     * @return The number of grades.
+     */
+    public int columnCount(int module) {
+        return columnStart[module + 1] - columnStart[module];
+    }
+
+    /**
+     * Returns the mean grade of a student.
+     *
+     * @param student The ordinal of the student.
+     * @return The mean, or NaN if the student has no grades.
+     */
+    public double rowMean(int student) {
+        double sum = 0;
+        for (int position = rowStart[student]; position < rowStart[student + 1]; position++) {
+            sum += values[position];
+        }
+        int count = rowCount(student);
+        return count > 0 ? sum / count : Double.NaN;
+    }
+
+    /**
+     * Returns the mean grade of a module.
+     *
+     * @param module The ordinal of the module.
+     * @return The mean, or NaN if the module has no grades.
+     */
+    public double columnMean(int module) {
+        double sum = 0;
+        for (int slot = columnStart[module]; slot < columnStart[module + 1]; slot++) {
+            sum += values[columnCells[slot]];
+        }
+        int count = columnCount(module);
+        return count > 0 ? sum / count : Double.NaN;
+    }
+
+    /**
+     * Returns the share of the grades of a module that reach the pass mark.
+     *
+     * @param module   The ordinal of the module.
+     * @param passMark The lowest passing grade.
+     * @return The pass rate between 0 and 1, or NaN if the module has no grades.
+     */
+    public double columnPassRate(int module, float passMark) {
+        int passed = 0;
+        for (int slot = columnStart[module]; slot < columnStart[module + 1]; slot++) {
+            if (values[columnCells[slot]] >= passMark) {
+                passed++;
+            }
+        }
+        int count = columnCount(module);
+        return count > 0 ? (double) passed / count : Double.NaN;
+    }
+
+    /**
+     * Returns the mean of every grade of the cohort.
+     *
+     * @return The mean, or NaN if there are no grades.
+     */
+    public double mean() {
+        double sum = 0;
+        for (float value : values) {
+            sum += value;
+        }
+        return values.length > 0 ? sum / values.length : Double.NaN;
+    }
+
+    /**
+     * Counts the grades of the cohort in equal-width buckets from 0 to 100.
+     *
+     * @param buckets The number of buckets.
+     * @return The count of each bucket; a grade of 100 is counted in the last bucket.
+     */
+    public int[] histogram(int buckets) {
+        int[] counts = new int[buckets];
+        for (float value : values) {
+            int bucket = (int) (value * buckets / 100);
+            counts[Math.max(0, Math.min(buckets - 1, bucket))]++;
+        }
+        return counts;
+    }
+
+    private static long key(int student, int module) {
+        return ((long) student << 32) | (module & 0xFFFFFFFFL);
+    }
+
+    private int slot(long key) {
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed >>> 32) & (cellKeys.length - 1);
+    }
+
+    /**
+     * Collects grades into growable primitive arrays and builds a {@link Gradebook} from them.
+     */
+    public static class Builder {
+
+        private final Map<String, Integer> studentIds = new HashMap<>();
+        private final Map<String, Integer> moduleCodes = new HashMap<>();
+        private int[] students = new int[1024];
+        private int[] modules = new int[1024];
+        private float[] values = new float[1024];
+        private int size;
+
+        /**
+         * Adds a grade. Each student may have one grade per module.
+         *
+         * @param studentId  The student ID.
+         * @param moduleCode The module code.
+         * @param grade      The grade.
+         * @return This builder.
+         */
+        public Builder add(String studentId, String moduleCode, float grade) {
+            if (size == values.length) {
+                int capacity = size + (size >> 1);
+                students = Arrays.copyOf(students, capacity);
+                modules = Arrays.copyOf(modules, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+            students[size] = ordinal(studentIds, studentId);
+            modules[size] = ordinal(moduleCodes, moduleCode);
+            values[size] = grade;
+            size++;
+            return this;
+        }
+
+        /**
+         * Builds the gradebook. The builder must not be used afterwards.
+         *
+         * @return A new gradebook.
+         * @throws IllegalArgumentException if a student was given two grades for the same module.
+         */
+        public Gradebook build() {
+            return new Gradebook(this);
+        }
+
+        private static int ordinal(Map<String, Integer> ordinals, String id) {
+            Integer ordinal = ordinals.get(id);
+            if (ordinal == null) {
+                ordinal = ordinals.size();
+                ordinals.put(id, ordinal);
+            }
+            return ordinal;
+        }
+    }
+}
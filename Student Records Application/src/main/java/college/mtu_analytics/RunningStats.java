@@ -0,0 +1,135 @@
+package college.mtu_analytics;
+
+import java.util.TreeMap;
+
+/**
+ * The RunningStats class keeps the count, mean, variance, minimum, maximum and pass rate of a changing set of
+ * grades, updated one grade at a time.
+ * <p>
+ * The mean and variance follow Welford's online algorithm, which adds or removes a grade in constant time
+ * without the rounding errors of keeping a sum of squares. Each distinct grade is also counted in a sorted map,
+ * so the minimum and maximum are still known after the lowest or highest grade is removed, at the cost of one
+ * entry per distinct grade rather than per grade. Instances are not thread-safe; {@link GradeStatistics} guards
+ * them.
+ */
+public class RunningStats {
+
+    private int count;
+    private double mean;
+    //the sum of squared differences from the mean
+    private double m2;
+    private int passed;
+    //how many times each grade was added
+    private final TreeMap<Float, Integer> grades = new TreeMap<>();
+
+    /**
+     * Adds a grade.
+     *
+     * @param grade The grade to add.
+     */
+    public void add(float grade) {
+        count++;
+        double delta = grade - mean;
+        mean += delta / count;
+        m2 += delta * (grade - mean);
+        if (grade >= GradeStatistics.PASS_MARK) {
+            passed++;
+        }
+        grades.merge(grade, 1, Integer::sum);
+    }
+
+    /**
+     * Removes a grade that was added before.
+     *
+     * @param grade The grade to remove.
+     * @return true if the grade was removed, false if no such grade had been added.
+     */
+    public boolean remove(float grade) {
+        Integer times = grades.get(grade);
+        if (times == null) {
+            return false;
+        }
+        if (times == 1) {
+            grades.remove(grade);
+        } else {
+            grades.put(grade, times - 1);
+        }
+        count--;
+        if (count == 0) {
+            mean = 0;
+            m2 = 0;
+        } else {
+            double delta = grade - mean;
+            mean -= delta / count;
+            //rounding can leave a tiny negative value once every other grade is equal
+            m2 = Math.max(0, m2 - delta * (grade - mean));
+        }
+        if (grade >= GradeStatistics.PASS_MARK) {
+            passed--;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of grades.
+     *
+     * @return The number of grades added and not removed.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the mean of the grades.
+     *
+     * @return The mean, or NaN if there are no grades.
+     */
+    public double getMean() {
+        return count > 0 ? mean : Double.NaN;
+    }
+
+    /**
+     * Returns the population variance of the grades.
+     *
+     * @return The variance, or NaN if there are no grades.
+     */
+    public double getVariance() {
+        return count > 0 ? m2 / count : Double.NaN;
+    }
+
+    /**
+     * Returns the lowest grade.
+     *
+     * @return The lowest grade, or NaN if there are no grades.
+     */
+    public float getMin() {
+        return count > 0 ? grades.firstKey() : Float.NaN;
+    }
+
+    /**
+     * Returns the highest grade.
+     *
+     * @return The highest grade, or NaN if there are no grades.
+     */
+    public float getMax() {
+        return count > 0 ? grades.lastKey() : Float.NaN;
+    }
+
+    /**
+     * Returns the share of grades that pass.
+     *
+     * @return The pass rate from 0 to 1, or NaN if there are no grades.
+     */
+    public double getPassRate() {
+        return count > 0 ? (double) passed / count : Double.NaN;
+    }
+
+    /**
+     * Returns an immutable copy of the current statistics.
+     *
+     * @return The summary.
+     */
+    public GradeSummary summary() {
+        return new GradeSummary(count, getMean(), getVariance(), getMin(), getMax(), getPassRate());
+    }
+}
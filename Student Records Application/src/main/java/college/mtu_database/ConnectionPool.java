@@ -0,0 +1,338 @@
+package college.mtu_database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * The ConnectionPool class keeps a bounded set of physical connections to the database and leases them out.
+ * <p>
+ * A leased connection is validated before it is handed out, and calling close() on it returns it to the pool
+ * instead of closing the socket. Connections that sit idle for too long or that reach their maximum lifetime
+ * are closed and replaced on demand, so a dropped connection never needs an application restart.
+ * <p>
+ * Each physical connection keeps a {@link StatementCache}, so preparing the same SQL again on a later lease
+ * reuses the statement prepared earlier.
+ */
+public class ConnectionPool implements AutoCloseable {
+
+    /**
+     * Opens a new physical connection to the database.
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+
+        /**
+         * Opens a connection.
+         *
+         * @return A new connection.
+         * @throws SQLException if the connection cannot be opened.
+         */
+        Connection open() throws SQLException;
+    }
+
+    private final ConnectionFactory factory;
+    private final LongSupplier clock;
+    private final int maxSize;
+    private final long idleTimeoutMillis;
+    private final long maxLifetimeMillis;
+    private final long borrowTimeoutMillis;
+    private final int statementCacheSize;
+
+    //permits bound the number of leased connections, the deque holds the idle ones
+    private final Semaphore permits;
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    /**
+     * Constructs a new ConnectionPool for the given database.
+     *
+     * @param url                 The JDBC url of the database.
+     * @param user                The user name used to log in.
+     * @param password            The password used to log in.
+     * @param maxSize             The maximum number of connections that can be leased at the same time.
+     * @param idleTimeoutMillis   How long a connection may stay idle in the pool before it is closed.
+     * @param maxLifetimeMillis   How long a physical connection is used before it is rotated out.
+     * @param borrowTimeoutMillis How long a caller waits for a free connection before giving up.
+     * @param statementCacheSize  How many prepared statements each connection keeps for reuse.
+     */
+    public ConnectionPool(String url, String user, String password, int maxSize,
+                          long idleTimeoutMillis, long maxLifetimeMillis, long borrowTimeoutMillis,
+                          int statementCacheSize) {
+        this(() -> DriverManager.getConnection(url, user, password), maxSize, idleTimeoutMillis, maxLifetimeMillis,
+                borrowTimeoutMillis, statementCacheSize, System::currentTimeMillis);
+    }
+
+    /**
+     * Constructs a new ConnectionPool that opens its connections with the given factory and times them with the
+     * given clock.
+     *
+     * @param factory             Opens the physical connections.
+     * @param maxSize             The maximum number of connections that can be leased at the same time.
+     * @param idleTimeoutMillis   How long a connection may stay idle in the pool before it is closed.
+     * @param maxLifetimeMillis   How long a physical connection is used before it is rotated out.
+     * @param borrowTimeoutMillis How long a caller waits for a free connection before giving up.
+     * @param statementCacheSize  How many prepared statements each connection keeps for reuse.
+     * @param clock               The source of the current time in milliseconds.
+     */
+    public ConnectionPool(ConnectionFactory factory, int maxSize, long idleTimeoutMillis, long maxLifetimeMillis,
+                          long borrowTimeoutMillis, int statementCacheSize, LongSupplier clock) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1.");
+        }
+        this.factory = factory;
+        this.clock = clock;
+        this.maxSize = maxSize;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.maxLifetimeMillis = maxLifetimeMillis;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maxSize, true);
+
+        //evict idle and expired connections in the background
+        housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "connection-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1000, Math.min(idleTimeoutMillis, maxLifetimeMillis) / 2);
+        housekeeper.scheduleAtFixedRate(this::evictExpired, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Leases a connection from the pool, opening a new one if no valid idle connection is available.
+     * The returned connection must be closed by the caller, which hands it back to the pool.
+     *
+     * @return A validated connection.
+     * @throws SQLException if the pool is closed, the wait times out, or a new connection cannot be opened.
+     */
+    public Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed.");
+        }
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timed out after " + borrowTimeoutMillis + " ms waiting for a database connection.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection.", e);
+        }
+
+        try {
+            PooledConnection pooled;
+            while ((pooled = pollIdle()) != null) {
+                //validate on borrow and drop anything stale
+                if (!isExpired(pooled, clock.getAsLong()) && isValid(pooled.physical)) {
+                    return pooled.lease();
+                }
+                closeQuietly(pooled);
+            }
+            return new PooledConnection(factory.open()).lease();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the maximum number of connections this pool will lease at once.
+     *
+     * @return The configured pool size.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Returns the number of connections that are currently leased.
+     *
+     * @return The number of active connections.
+     */
+    public int getActiveCount() {
+        return maxSize - permits.availablePermits();
+    }
+
+    /**
+     * Returns the number of open connections waiting in the pool.
+     *
+     * @return The number of idle connections.
+     */
+    public synchronized int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Closes every idle connection and stops leasing new ones.
+     * Connections that are still leased are closed when they are handed back.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        List<PooledConnection> toClose;
+        synchronized (this) {
+            toClose = new ArrayList<>(idle);
+            idle.clear();
+        }
+        for (PooledConnection pooled : toClose) {
+            closeQuietly(pooled);
+        }
+    }
+
+    /**
+     * Closes the idle connections that have been idle too long or reached their maximum lifetime.
+     * This runs in the background periodically; expired connections are also dropped when they are borrowed.
+     */
+    public void evictExpired() {
+        long now = clock.getAsLong();
+        List<PooledConnection> toClose = new ArrayList<>();
+        synchronized (this) {
+            Iterator<PooledConnection> iterator = idle.iterator();
+            while (iterator.hasNext()) {
+                PooledConnection pooled = iterator.next();
+                if (isExpired(pooled, now) || now - pooled.lastUsed > idleTimeoutMillis) {
+                    iterator.remove();
+                    toClose.add(pooled);
+                }
+            }
+        }
+        for (PooledConnection pooled : toClose) {
+            closeQuietly(pooled);
+        }
+    }
+
+    private synchronized PooledConnection pollIdle() {
+        return idle.pollFirst();
+    }
+
+    private void release(PooledConnection pooled) {
+        try {
+            boolean reusable = !closed && !isExpired(pooled, clock.getAsLong()) && !pooled.physical.isClosed();
+            if (reusable) {
+                //undo anything the borrower changed so the next lease starts clean
+                if (!pooled.physical.getAutoCommit()) {
+                    pooled.physical.rollback();
+                    pooled.physical.setAutoCommit(true);
+                }
+                pooled.lastUsed = clock.getAsLong();
+                synchronized (this) {
+                    idle.addFirst(pooled);
+                }
+            } else {
+                closeQuietly(pooled);
+            }
+        } catch (SQLException e) {
+            closeQuietly(pooled);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean isExpired(PooledConnection pooled, long now) {
+        return now - pooled.createdAt > maxLifetimeMillis;
+    }
+
+    private static boolean isValid(Connection connection) {
+        try {
+            return connection.isValid(2);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private static void closeQuietly(PooledConnection pooled) {
+        pooled.statements.close();
+        try {
+            pooled.physical.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing pooled connection: " + e.getMessage());
+        }
+    }
+
+    /**
+     * A physical connection owned by the pool, along with the timestamps used for eviction.
+     */
+    private class PooledConnection {
+
+        private final Connection physical;
+        private final StatementCache statements;
+        private final long createdAt;
+        private long lastUsed;
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+            this.statements = new StatementCache(statementCacheSize);
+            this.createdAt = clock.getAsLong();
+            this.lastUsed = createdAt;
+        }
+
+        /**
+         * Wraps the physical connection in a proxy whose close() hands it back to the pool.
+         */
+        Connection lease() {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, new LeaseHandler(this));
+        }
+    }
+
+    /**
+     * Forwards calls to the physical connection until the lease is closed.
+     */
+    private class LeaseHandler implements InvocationHandler {
+
+        private final PooledConnection pooled;
+        private boolean returned;
+
+        LeaseHandler(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || pooled.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled" + pooled.physical;
+                default:
+                    if (returned) {
+                        throw new SQLException("Connection has already been returned to the pool.");
+                    }
+                    if (method.getName().equals("prepareStatement") && args.length == 1) {
+                        return pooled.statements.prepare(pooled.physical, (String) args[0]);
+                    }
+                    try {
+                        return method.invoke(pooled.physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+}
@@ -1,38 +1,167 @@
 package college.mtu_database;
 
+import java.nio.file.Paths;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 /**
- * The Database class is responsible for establishing and managing a connection to the student record system database.
- * This class provides a method for obtaining a connection object, which can then be used to interact with the database.
+ * The Database class is responsible for establishing and managing connections to the student record system database.
+ * Connections are leased from a bounded {@link ConnectionPool}, so concurrent operations do not share one socket
+ * and a dropped connection is simply replaced on the next lease.
+ * <p>
+ * The pool can be tuned with the system properties {@code college.db.poolSize}, {@code college.db.idleTimeoutMs},
+ * {@code college.db.maxLifetimeMs}, {@code college.db.borrowTimeoutMs} and {@code college.db.statementCacheSize}.
+ * Setting {@code college.db.trackLeaks=true} wraps every leased connection in a {@link ResourceTracker}, and
+ * {@code college.db.fetchSize} sets how many rows listings read from the server at a time.
+ * {@code college.db.isolation} names the {@link UnitOfWork.Isolation} that transactions run at by default
+ * (READ_COMMITTED).
+ * <p>
+ * Setting {@code college.db.slowQueryMs} turns on the {@link SlowQueryLog}: every statement taking at least that
+ * many milliseconds is written with its bind values to the file named by {@code college.db.slowQueryLog}
+ * (default slow-queries.log), which is rolled over at {@code college.db.slowQueryLogBytes} (default 10 MB)
+ * keeping {@code college.db.slowQueryLogFiles} older files (default 5).
  */
 public class Database {
 
-    private Connection connection;
+    //server side prepared statements pay off because the pool caches them per connection,
+    //and cursor fetch makes the driver honour the fetch size instead of reading whole result sets;
+    //affected rows rather than found rows tell an upsert that inserted apart from one that kept an existing row
+    private static final String URL = "jdbc:mysql://localhost:3306/studentrecordsystem"
+            + "?useServerPrepStmts=true&rewriteBatchedStatements=true&useCursorFetch=true&useAffectedRows=true";
+    private static final String USER = "root";
+    private static final String PASSWORD = "Iamgamer.1!";
+
+    private final ConnectionPool pool;
+    private final ResourceTracker tracker;
+    private final SlowQueryLog slowQueries;
+    private final int fetchSize = Integer.getInteger("college.db.fetchSize", 500);
+    private final UnitOfWork.Isolation isolation =
+            UnitOfWork.Isolation.valueOf(System.getProperty("college.db.isolation", "READ_COMMITTED"));
 
     /**
      * The constructor for the Database class.
-     * Attempts to establish a connection to the specified database using the provided connection string.
-     * In case of an error, it prints an error message and stack trace.
+     * Creates a connection pool sized from the {@code college.db.poolSize} system property (default 4).
      */
     public Database() {
+        this(Integer.getInteger("college.db.poolSize", 4), Boolean.getBoolean("college.db.trackLeaks"));
+    }
+
+    /**
+     * Creates a Database whose connection pool holds at most the given number of connections.
+     *
+     * @param poolSize    The maximum number of connections leased at the same time.
+     * @param trackLeaks  Whether statements and result sets opened through leased connections are tracked.
+     */
+    public Database(int poolSize, boolean trackLeaks) {
+        tracker = trackLeaks ? new ResourceTracker() : null;
+        long slowQueryMillis = Long.getLong("college.db.slowQueryMs", -1);
+        slowQueries = slowQueryMillis < 0 ? null : new SlowQueryLog(slowQueryMillis,
+                Paths.get(System.getProperty("college.db.slowQueryLog", "slow-queries.log")),
+                Long.getLong("college.db.slowQueryLogBytes", 10 * 1024 * 1024L),
+                Integer.getInteger("college.db.slowQueryLogFiles", 5));
+        pool = new ConnectionPool(URL, USER, PASSWORD, poolSize,
+                Long.getLong("college.db.idleTimeoutMs", 5 * 60 * 1000L),
+                Long.getLong("college.db.maxLifetimeMs", 30 * 60 * 1000L),
+                Long.getLong("college.db.borrowTimeoutMs", 10 * 1000L),
+                Integer.getInteger("college.db.statementCacheSize", 32));
+    }
+
+    /**
+     * Leases a Connection object from the pool.
+     * The connection can be used to interact with the database, such as executing SQL queries and updates,
+     * and must be closed afterwards so that it is returned to the pool.
+     *
+     * @return a validated Connection object representing a connection to the database.
+     * @throws SQLException if no connection could be leased or opened.
+     */
+    public Connection getConnection() throws SQLException {
         try {
-            connection = DriverManager.getConnection("jdbc:mysql://localhost:3306/studentrecordsystem", "root", "Iamgamer.1!");
+            Connection connection = pool.borrow();
+            if (slowQueries != null) {
+                connection = slowQueries.wrap(connection);
+            }
+            return tracker != null ? tracker.track(connection) : connection;
         } catch (SQLException e) {
             System.err.println("Error establishing a connection to the database: " + e.getMessage());
-            e.printStackTrace();
+            throw e;
         }
     }
 
     /**
-     * Returns the Connection object associated with the database.
-     * This connection object can be used to interact with the database, such as executing SQL queries and updates.
+     * Returns the connection pool backing this database.
+     *
+     * @return the ConnectionPool used to lease connections.
+     */
+    public ConnectionPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Returns the number of rows a query should read from the server at a time.
+     *
+     * @return the JDBC fetch size for listings.
+     */
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * Starts a transaction at the default isolation level on a newly leased connection.
+     *
+     * @param batchSize The number of queued statements with the same SQL sent to the database at once.
+     * @return A unit of work, which must be closed.
+     * @throws SQLException if no connection could be leased or the transaction cannot be started.
+     */
+    public UnitOfWork beginWork(int batchSize) throws SQLException {
+        return beginWork(isolation, batchSize);
+    }
+
+    /**
+     * Starts a transaction at the given isolation level on a newly leased connection.
+     *
+     * @param isolation The isolation level of the transaction.
+     * @param batchSize The number of queued statements with the same SQL sent to the database at once.
+     * @return A unit of work, which must be closed.
+     * @throws SQLException if no connection could be leased or the transaction cannot be started.
+     */
+    public UnitOfWork beginWork(UnitOfWork.Isolation isolation, int batchSize) throws SQLException {
+        return new UnitOfWork(getConnection(), isolation, batchSize);
+    }
+
+    /**
+     * Returns the isolation level transactions run at unless another one is asked for.
      *
-     * @return the Connection object representing the connection to the database.
+     * @return the isolation level named by college.db.isolation.
      */
-    public Connection getConnection() {
-        return connection;
+    public UnitOfWork.Isolation getIsolation() {
+        return isolation;
+    }
+
+    /**
+     * Returns the tracker counting the statements and result sets left open, if leak tracking is enabled.
+     *
+     * @return the ResourceTracker, or null if leak tracking is disabled.
+     */
+    public ResourceTracker getResourceTracker() {
+        return tracker;
+    }
+
+    /**
+     * Returns the log of slow statements, if it is enabled.
+     *
+     * @return the SlowQueryLog, or null if college.db.slowQueryMs is not set.
+     */
+    public SlowQueryLog getSlowQueryLog() {
+        return slowQueries;
+    }
+
+    /**
+     * Closes all pooled connections and writes out the slow statements still waiting to be logged.
+     */
+    public void close() {
+        pool.close();
+        if (slowQueries != null) {
+            slowQueries.close();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,214 @@
+package college.mtu_database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The ResourceTracker class keeps count of the statements and result sets opened through a connection.
+ * <p>
+ * A tracked connection wraps every Statement, PreparedStatement and ResultSet it creates and records the call
+ * site that created it. Closing the resource removes it from the tracker, so anything still listed after an
+ * operation has finished was leaked by that operation.
+ */
+public class ResourceTracker {
+
+    private final Map<Object, TrackedResource> open = new ConcurrentHashMap<>();
+
+    /**
+     * Wraps a connection so that the statements and result sets it creates are tracked.
+     *
+     * @param connection The connection to wrap.
+     * @return A connection that behaves like the given one but tracks its resources.
+     */
+    public Connection track(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new TrackingHandler(connection, null));
+    }
+
+    /**
+     * Returns the number of statements that have been created and not yet closed.
+     *
+     * @return The number of open statements.
+     */
+    public int getOpenStatements() {
+        return count(false);
+    }
+
+    /**
+     * Returns the number of result sets that have been created and not yet closed.
+     *
+     * @return The number of open result sets.
+     */
+    public int getOpenResultSets() {
+        return count(true);
+    }
+
+    /**
+     * Describes every open resource along with the call site that created it.
+     *
+     * @return One line per open resource.
+     */
+    public List<String> describeOpenResources() {
+        List<String> descriptions = new ArrayList<>();
+        for (TrackedResource resource : open.values()) {
+            descriptions.add(resource.describe());
+        }
+        return descriptions;
+    }
+
+    /**
+     * Reports the resources the current thread left open while running an operation.
+     * Each leak is printed with its call site once, and is not reported again by later checks.
+     *
+     * @param operation The name of the operation that has just finished.
+     * @return The number of newly found leaks.
+     */
+    public int checkLeaks(String operation) {
+        Thread current = Thread.currentThread();
+        int leaks = 0;
+        for (TrackedResource resource : open.values()) {
+            if (resource.owner == current && !resource.reported) {
+                resource.reported = true;
+                leaks++;
+                System.err.println("Resource leak in " + operation + ": " + resource.describe());
+            }
+        }
+        return leaks;
+    }
+
+    /**
+     * Fails if any tracked resource is still open. Intended for tests.
+     *
+     * @throws IllegalStateException listing the open resources and their call sites.
+     */
+    public void assertNoLeaks() {
+        if (!open.isEmpty()) {
+            throw new IllegalStateException("Unclosed JDBC resources: " + describeOpenResources());
+        }
+    }
+
+    private int count(boolean resultSets) {
+        int count = 0;
+        for (TrackedResource resource : open.values()) {
+            if (resource.resultSet == resultSets) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * An open resource, the thread that opened it and where it was opened.
+     */
+    private static class TrackedResource {
+
+        private final String type;
+        private final boolean resultSet;
+        private final String sql;
+        private final Thread owner = Thread.currentThread();
+        private final StackTraceElement callSite;
+        private volatile boolean reported;
+
+        TrackedResource(Class<?> type, String sql) {
+            this.type = type.getSimpleName();
+            this.resultSet = type == ResultSet.class;
+            this.sql = sql;
+            this.callSite = findCallSite(new Throwable().getStackTrace());
+        }
+
+        String describe() {
+            return type + (sql != null ? " [" + sql + "]" : "") + " opened at " + callSite;
+        }
+
+        /**
+         * Skips the JDBC, proxy and tracker frames to find the application code that opened the resource.
+         */
+        private static StackTraceElement findCallSite(StackTraceElement[] stack) {
+            for (StackTraceElement frame : stack) {
+                String name = frame.getClassName();
+                if (!name.startsWith("java.") && !name.startsWith("jdk.") && !name.startsWith("com.sun.")
+                        && !name.startsWith("com.mysql.") && !name.startsWith("college.mtu_database.")
+                        && !name.startsWith("$Proxy") && !name.contains(".$Proxy")) {
+                    return frame;
+                }
+            }
+            return stack.length > 0 ? stack[stack.length - 1] : null;
+        }
+    }
+
+    /**
+     * Forwards calls to the wrapped JDBC object, wrapping any statement or result set it returns.
+     */
+    private class TrackingHandler implements InvocationHandler {
+
+        private final Object target;
+        private final Set<Object> children = ConcurrentHashMap.newKeySet();
+        private final TrackedResource resource;
+
+        TrackingHandler(Object target, TrackedResource resource) {
+            this.target = target;
+            this.resource = resource;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "close":
+                    if (resource != null) {
+                        open.remove(proxy);
+                        //closing a statement also closes the result sets it produced
+                        for (Object child : children) {
+                            open.remove(child);
+                        }
+                        children.clear();
+                    }
+                    break;
+                default:
+                    break;
+            }
+
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            return wrap(result, method, args);
+        }
+
+        private Object wrap(Object result, Method method, Object[] args) {
+            Class<?> type = method.getReturnType();
+            //a result set only hands out its own statement, which is already tracked
+            boolean fromResultSet = resource != null && resource.resultSet;
+            if (result == null || fromResultSet || !(type == Statement.class || type == PreparedStatement.class
+                    || type == CallableStatement.class || type == ResultSet.class)) {
+                return result;
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+            TrackedResource tracked = new TrackedResource(type, sql);
+            Object wrapped = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                    new TrackingHandler(result, tracked));
+            open.put(wrapped, tracked);
+            if (type == ResultSet.class) {
+                children.add(wrapped);
+            }
+            return wrapped;
+        }
+    }
+}
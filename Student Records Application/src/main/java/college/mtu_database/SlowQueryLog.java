@@ -0,0 +1,531 @@
+package college.mtu_database;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The SlowQueryLog class records the SQL statements that take longer than a threshold.
+ * <p>
+ * A logged connection wraps every statement it creates. Each execution is timed from the call to execute until
+ * its result set is closed, and an execution at or over the threshold, or one that fails, is written to a ring
+ * with its SQL text, bind values, rows returned or updated, elapsed time and the operation that ran it.
+ * Writers claim a slot of the ring with a single atomic increment and never wait, so a full ring overwrites its
+ * oldest entries and counts them as dropped. A background thread drains the ring to a file, which is rolled over
+ * to numbered copies once it reaches its maximum size.
+ */
+public class SlowQueryLog implements AutoCloseable {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final long FLUSH_PERIOD_MILLIS = 1000;
+    private static final int MAX_BIND_LENGTH = 64;
+
+    //the operation the current thread is running, set by the Controller around each background operation
+    private static final ThreadLocal<String> OPERATION = new ThreadLocal<>();
+
+    private final long thresholdNanos;
+    private final Path file;
+    private final long maxFileBytes;
+    private final int maxFiles;
+    private final AtomicReferenceArray<Entry> ring;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final ScheduledExecutorService flusher;
+
+    //read position and file size, only used under the lock of flush()
+    private long flushed;
+    private long fileBytes = -1;
+
+    /**
+     * Creates a slow-query log with a ring of 1024 entries.
+     *
+     * @param thresholdMillis The elapsed time at which a statement is logged; 0 logs every statement.
+     * @param file            The file the entries are written to.
+     * @param maxFileBytes    The size at which the file is rolled over.
+     * @param maxFiles        The number of rolled over files kept besides the current one.
+     */
+    public SlowQueryLog(long thresholdMillis, Path file, long maxFileBytes, int maxFiles) {
+        this(thresholdMillis, file, maxFileBytes, maxFiles, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a slow-query log.
+     *
+     * @param thresholdMillis The elapsed time at which a statement is logged; 0 logs every statement.
+     * @param file            The file the entries are written to.
+     * @param maxFileBytes    The size at which the file is rolled over.
+     * @param maxFiles        The number of rolled over files kept besides the current one.
+     * @param capacity        The number of entries the ring holds between flushes, rounded up to a power of two.
+     */
+    public SlowQueryLog(long thresholdMillis, Path file, long maxFileBytes, int maxFiles, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Slow-query log capacity must be at least 1.");
+        }
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.file = file;
+        this.maxFileBytes = maxFileBytes;
+        this.maxFiles = maxFiles;
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.ring = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "slow-query-log");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, FLUSH_PERIOD_MILLIS, FLUSH_PERIOD_MILLIS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Names the operation the statements run by the current thread belong to, until exitOperation is called.
+     *
+     * @param operation The name of the operation.
+     */
+    public static void enterOperation(String operation) {
+        OPERATION.set(operation);
+    }
+
+    /**
+     * Clears the operation named by enterOperation on the current thread.
+     */
+    public static void exitOperation() {
+        OPERATION.remove();
+    }
+
+    /**
+     * Wraps a connection so that the statements it runs are timed and the slow ones logged.
+     *
+     * @param connection The connection to wrap.
+     * @return A connection that behaves like the given one but logs its slow statements.
+     */
+    public Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+    /**
+     * Returns the number of entries written to the ring so far.
+     *
+     * @return The number of logged statements.
+     */
+    public long getLogged() {
+        return claimed.get();
+    }
+
+    /**
+     * Returns the number of entries overwritten before they could be written to the file.
+     *
+     * @return The number of dropped entries.
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Writes the entries in the ring to the file, rolling it over when it is full.
+     * Entries still being written by another thread are left for the next flush.
+     *
+     * @throws IOException if the file cannot be written.
+     */
+    public synchronized void flush() throws IOException {
+        long end = claimed.get();
+        if (end - flushed > ring.length()) {
+            //the writers lapped the reader, so the oldest entries are gone
+            dropped.addAndGet(end - ring.length() - flushed);
+            flushed = end - ring.length();
+        }
+        if (flushed == end) {
+            return;
+        }
+        if (fileBytes < 0) {
+            fileBytes = Files.exists(file) ? Files.size(file) : 0;
+        }
+        Writer writer = null;
+        try {
+            StringBuilder line = new StringBuilder(256);
+            for (; flushed < end; flushed++) {
+                Entry entry = ring.get((int) (flushed & mask));
+                if (entry == null || entry.sequence < flushed) {
+                    break;
+                }
+                if (entry.sequence > flushed) {
+                    dropped.incrementAndGet();
+                    continue;
+                }
+                line.setLength(0);
+                entry.format(line);
+                String text = line.toString();
+                int length = text.getBytes(StandardCharsets.UTF_8).length;
+                if (fileBytes > 0 && fileBytes + length > maxFileBytes) {
+                    if (writer != null) {
+                        writer.close();
+                        writer = null;
+                    }
+                    rollOver();
+                }
+                if (writer == null) {
+                    writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                }
+                writer.write(text);
+                fileBytes += length;
+            }
+        } finally {
+            if (writer != null) {
+                writer.close();
+            }
+        }
+    }
+
+    /**
+     * Stops the background flush and writes the entries still in the ring.
+     */
+    @Override
+    public void close() {
+        flusher.shutdownNow();
+        flushQuietly();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (IOException e) {
+            System.err.println("Error writing the slow-query log: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Moves the file to name.1, name.1 to name.2 and so on, deleting the oldest copy.
+     */
+    private void rollOver() throws IOException {
+        if (maxFiles < 1) {
+            Files.deleteIfExists(file);
+        } else {
+            Files.deleteIfExists(rolled(maxFiles));
+            for (int i = maxFiles - 1; i >= 1; i--) {
+                if (Files.exists(rolled(i))) {
+                    Files.move(rolled(i), rolled(i + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(file, rolled(1), StandardCopyOption.REPLACE_EXISTING);
+        }
+        fileBytes = 0;
+    }
+
+    private Path rolled(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+
+    /**
+     * Logs an execution if it was slow or failed. Called by the thread that ran the statement.
+     */
+    private void finish(Execution execution, long rows, Throwable error) {
+        long elapsed = System.nanoTime() - execution.start;
+        if (elapsed < thresholdNanos && error == null) {
+            return;
+        }
+        long sequence = claimed.getAndIncrement();
+        ring.set((int) (sequence & mask), new Entry(sequence, execution, elapsed, rows,
+                error != null ? String.valueOf(error.getMessage()) : null));
+    }
+
+    /**
+     * A statement execution that has started but whose result set may still be read.
+     */
+    private static class Execution {
+
+        private final String sql;
+        private final Object[] binds;
+        private final int batchSize;
+        private final String operation;
+        private final long timestamp = System.currentTimeMillis();
+        private final long start = System.nanoTime();
+        private long rows;
+
+        Execution(String sql, Object[] binds, int batchSize) {
+            this.sql = sql;
+            this.binds = binds;
+            this.batchSize = batchSize;
+            String current = OPERATION.get();
+            this.operation = current != null ? current : Thread.currentThread().getName();
+        }
+    }
+
+    /**
+     * A logged execution. The bind values are only turned into text by the flushing thread.
+     */
+    private static class Entry {
+
+        private final long sequence;
+        private final Execution execution;
+        private final long elapsedNanos;
+        private final long rows;
+        private final String error;
+
+        Entry(long sequence, Execution execution, long elapsedNanos, long rows, String error) {
+            this.sequence = sequence;
+            this.execution = execution;
+            this.elapsedNanos = elapsedNanos;
+            this.rows = rows;
+            this.error = error;
+        }
+
+        void format(StringBuilder line) {
+            line.append(Instant.ofEpochMilli(execution.timestamp))
+                    .append(" operation=").append(execution.operation)
+                    .append(" elapsedMs=").append(elapsedNanos / 1000 / 1000.0)
+                    .append(" rows=").append(rows);
+            if (execution.batchSize > 0) {
+                line.append(" batch=").append(execution.batchSize);
+            }
+            if (error != null) {
+                line.append(" error=\"").append(error.replace('\n', ' ')).append('"');
+            }
+            line.append(" sql=\"").append(execution.sql != null ? execution.sql.replace('\n', ' ') : "").append('"');
+            line.append(" binds=[");
+            for (int i = 0; i < execution.binds.length; i++) {
+                if (i > 0) {
+                    line.append(", ");
+                }
+                appendBind(line, execution.binds[i]);
+            }
+            line.append("]").append(System.lineSeparator());
+        }
+
+        private static void appendBind(StringBuilder line, Object value) {
+            if (value == null) {
+                line.append("NULL");
+            } else if (value instanceof Number || value instanceof Boolean) {
+                line.append(value);
+            } else {
+                String text = value instanceof byte[] ? "<" + ((byte[]) value).length + " bytes>" : value.toString();
+                if (text.length() > MAX_BIND_LENGTH) {
+                    text = text.substring(0, MAX_BIND_LENGTH) + "...";
+                }
+                line.append('\'').append(text.replace("'", "''")).append('\'');
+            }
+        }
+    }
+
+    /**
+     * Wraps the statements a connection creates.
+     */
+    private class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            Object result = call(target, method, args);
+            Class<?> type = method.getReturnType();
+            if (result != null && (type == Statement.class || type == PreparedStatement.class
+                    || type == CallableStatement.class)) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                        new StatementHandler(result, sql));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Records the bind values of a statement and times its executions.
+     */
+    private class StatementHandler implements InvocationHandler {
+
+        private final Object target;
+        private final String sql;
+        private Object[] binds = new Object[0];
+        private int batchSize;
+        private Execution open;
+
+        StatementHandler(Object target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "clearParameters":
+                    binds = new Object[0];
+                    break;
+                case "addBatch":
+                    batchSize++;
+                    break;
+                case "clearBatch":
+                    batchSize = 0;
+                    break;
+                case "close":
+                    finishOpen();
+                    break;
+                case "executeQuery":
+                case "executeUpdate":
+                case "executeLargeUpdate":
+                case "execute":
+                case "executeBatch":
+                case "executeLargeBatch":
+                    return execute(proxy, method, args);
+                default:
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer
+                            && method.getDeclaringClass() != Statement.class) {
+                        bind((Integer) args[0], name.equals("setNull") ? null : args[1]);
+                    }
+                    break;
+            }
+            return call(target, method, args);
+        }
+
+        private Object execute(Object proxy, Method method, Object[] args) throws Throwable {
+            //an execution ends when the next one starts, as the driver closes the earlier result set
+            finishOpen();
+            String text = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : sql;
+            boolean batch = method.getName().endsWith("Batch");
+            Execution execution = new Execution(text, binds.clone(), batch ? batchSize : 0);
+            if (batch) {
+                batchSize = 0;
+            }
+            Object result;
+            try {
+                result = call(target, method, args);
+            } catch (Throwable e) {
+                finish(execution, -1, e);
+                throw e;
+            }
+            if (result instanceof ResultSet) {
+                open = execution;
+                return Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                        new ResultSetHandler((ResultSet) result, this, proxy, execution));
+            }
+            finish(execution, updated(result), null);
+            return result;
+        }
+
+        private void bind(int index, Object value) {
+            if (index > binds.length) {
+                binds = Arrays.copyOf(binds, Math.max(index, binds.length * 2));
+            }
+            if (index >= 1) {
+                binds[index - 1] = value;
+            }
+        }
+
+        private void finishOpen() {
+            if (open != null) {
+                finish(open, open.rows, null);
+                open = null;
+            }
+        }
+
+        private long updated(Object result) {
+            if (result instanceof Number) {
+                return ((Number) result).longValue();
+            }
+            long total = 0;
+            if (result instanceof int[]) {
+                for (int count : (int[]) result) {
+                    total += Math.max(count, 0);
+                }
+            } else if (result instanceof long[]) {
+                for (long count : (long[]) result) {
+                    total += Math.max(count, 0);
+                }
+            } else {
+                //execute() that returned an update count rather than a result set
+                total = -1;
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Counts the rows read from a result set and ends its execution when it is closed.
+     */
+    private static class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet target;
+        private final StatementHandler statement;
+        private final Object statementProxy;
+        private final Execution execution;
+
+        ResultSetHandler(ResultSet target, StatementHandler statement, Object statementProxy, Execution execution) {
+            this.target = target;
+            this.statement = statement;
+            this.statementProxy = statementProxy;
+            this.execution = execution;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "getStatement":
+                    return statementProxy;
+                case "close":
+                    //a result set left over from an earlier execution must not end the current one
+                    if (statement.open == execution) {
+                        statement.finishOpen();
+                    }
+                    break;
+                default:
+                    break;
+            }
+            Object result = call(target, method, args);
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                execution.rows++;
+            }
+            return result;
+        }
+    }
+
+    private static Object call(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package college.mtu_database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The StatementCache class keeps the prepared statements of one physical connection so they can be reused.
+ * <p>
+ * Statements are keyed by their SQL text and the least recently used statement is closed once the cache is full.
+ * A statement handed out by the cache can be closed as usual; closing it clears its parameters and puts it back
+ * in the cache instead of closing it on the server.
+ */
+public class StatementCache {
+
+    private final int maxSize;
+    private final LinkedHashMap<String, CachedStatement> statements;
+    private long hits;
+    private long misses;
+
+    /**
+     * Constructs a new StatementCache holding at most the given number of statements.
+     *
+     * @param maxSize The maximum number of cached statements, 0 disables caching.
+     */
+    public StatementCache(int maxSize) {
+        this.maxSize = maxSize;
+        //access order makes iteration start at the least recently used statement
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                if (size() > StatementCache.this.maxSize) {
+                    eldest.getValue().evict();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns a prepared statement for the given SQL, reusing a cached one when it is not already in use.
+     *
+     * @param connection The physical connection the statement belongs to.
+     * @param sql        The SQL text of the statement.
+     * @return A prepared statement whose close() returns it to the cache.
+     * @throws SQLException if a new statement cannot be prepared.
+     */
+    public synchronized PreparedStatement prepare(Connection connection, String sql) throws SQLException {
+        CachedStatement cached = statements.get(sql);
+        if (cached != null && !cached.inUse && !cached.statement.isClosed()) {
+            hits++;
+            cached.inUse = true;
+            return cached.lease();
+        }
+
+        misses++;
+        PreparedStatement statement = connection.prepareStatement(sql);
+        if (maxSize == 0 || cached != null && cached.inUse) {
+            //the same SQL is already open on this connection, so hand out a plain statement
+            return statement;
+        }
+        cached = new CachedStatement(statement);
+        cached.inUse = true;
+        statements.put(sql, cached);
+        return cached.lease();
+    }
+
+    /**
+     * Returns the number of statements currently cached.
+     *
+     * @return The cache size.
+     */
+    public synchronized int size() {
+        return statements.size();
+    }
+
+    /**
+     * Returns the number of times a cached statement was reused.
+     *
+     * @return The hit count.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of times a statement had to be prepared.
+     *
+     * @return The miss count.
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Closes every cached statement. Statements still in use are closed when they are handed back.
+     */
+    public synchronized void close() {
+        List<CachedStatement> toClose = new ArrayList<>(statements.values());
+        statements.clear();
+        for (CachedStatement cached : toClose) {
+            cached.evict();
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            System.err.println("Error closing cached statement: " + e.getMessage());
+        }
+    }
+
+    /**
+     * A cached statement along with whether it is currently leased.
+     */
+    private class CachedStatement {
+
+        private final PreparedStatement statement;
+        private boolean inUse;
+        private boolean evicted;
+
+        CachedStatement(PreparedStatement statement) {
+            this.statement = statement;
+        }
+
+        PreparedStatement lease() {
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, new LeaseHandler(this));
+        }
+
+        /**
+         * Closes the statement now, or once it is handed back if it is still in use.
+         * Always called while holding the cache lock.
+         */
+        void evict() {
+            evicted = true;
+            if (!inUse) {
+                closeQuietly(statement);
+            }
+        }
+
+        void release(ResultSet lastResult) {
+            if (lastResult != null) {
+                closeQuietly(lastResult);
+            }
+            synchronized (StatementCache.this) {
+                inUse = false;
+                if (evicted) {
+                    closeQuietly(statement);
+                    return;
+                }
+            }
+            try {
+                statement.clearParameters();
+                statement.clearBatch();
+            } catch (SQLException e) {
+                //a statement that cannot be reset is not worth keeping
+                synchronized (StatementCache.this) {
+                    statements.values().remove(this);
+                    evicted = true;
+                }
+                closeQuietly(statement);
+            }
+        }
+    }
+
+    /**
+     * Forwards calls to the cached statement until the lease is closed.
+     */
+    private static class LeaseHandler implements InvocationHandler {
+
+        private final CachedStatement cached;
+        private ResultSet lastResult;
+        private boolean returned;
+
+        LeaseHandler(CachedStatement cached) {
+            this.cached = cached;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        cached.release(lastResult);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || cached.statement.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Cached" + cached.statement;
+                default:
+                    if (returned) {
+                        throw new SQLException("Statement has already been closed.");
+                    }
+                    try {
+                        Object result = method.invoke(cached.statement, args);
+                        if (result instanceof ResultSet) {
+                            //remember the open result so it is closed when the statement is handed back
+                            lastResult = (ResultSet) result;
+                        }
+                        return result;
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+}
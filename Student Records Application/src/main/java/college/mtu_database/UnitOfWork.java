@@ -0,0 +1,225 @@
+package college.mtu_database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The UnitOfWork class runs related statements on one leased connection as a single transaction.
+ * <p>
+ * Nothing is visible to other connections until {@link #commit()} is called, and closing a unit that was not
+ * committed rolls every statement back, so an operation that fails half way leaves no partial changes.
+ * Statements can be run straight away with {@link #update(String, Object...)} or queued with
+ * {@link #batch(String, Object...)}, which sends them in JDBC batches: many logical operations then cost one
+ * round trip per batch and one commit. Queued statements are sent before the next update, before the commit and
+ * whenever the statements of one SQL fill a batch. They are always sent all together, grouped by SQL in the order
+ * each SQL was first queued: statements of the same SQL keep their order, but a statement is not sent before the
+ * queued statements of an SQL that was queued earlier. A statement another one depends on, such as the insert of
+ * a student before the inserts of their grades, must therefore have its SQL queued first.
+ * <p>
+ * A unit of work is used by one thread and must be closed, which returns the connection to the pool with its
+ * isolation level and auto-commit restored.
+ */
+public class UnitOfWork implements AutoCloseable {
+
+    /**
+     * The transaction isolation levels a unit of work can run at.
+     */
+    public enum Isolation {
+        READ_UNCOMMITTED(Connection.TRANSACTION_READ_UNCOMMITTED),
+        READ_COMMITTED(Connection.TRANSACTION_READ_COMMITTED),
+        REPEATABLE_READ(Connection.TRANSACTION_REPEATABLE_READ),
+        SERIALIZABLE(Connection.TRANSACTION_SERIALIZABLE);
+
+        private final int level;
+
+        Isolation(int level) {
+            this.level = level;
+        }
+
+        /**
+         * Returns the JDBC constant of this isolation level.
+         *
+         * @return One of the Connection.TRANSACTION_ constants.
+         */
+        public int getLevel() {
+            return level;
+        }
+    }
+
+    private final Connection connection;
+    private final int previousIsolation;
+    private final int isolation;
+    private final int batchSize;
+    private final Map<String, Batch> batches = new LinkedHashMap<>();
+    private boolean committed;
+
+    /**
+     * Starts a transaction on a leased connection, which the unit closes when it is closed.
+     * {@link Database#beginWork(Isolation, int)} leases the connection and creates the unit in one call.
+     *
+     * @param connection The connection to run the transaction on.
+     * @param isolation  The isolation level of the transaction.
+     * @param batchSize  The number of queued statements with the same SQL sent to the database at once.
+     * @throws SQLException if the transaction cannot be started, in which case the connection is closed.
+     */
+    public UnitOfWork(Connection connection, Isolation isolation, int batchSize) throws SQLException {
+        this.batchSize = Math.max(1, batchSize);
+        this.connection = connection;
+        this.isolation = isolation.getLevel();
+        try {
+            previousIsolation = connection.getTransactionIsolation();
+            if (previousIsolation != isolation.getLevel()) {
+                connection.setTransactionIsolation(isolation.getLevel());
+            }
+            connection.setAutoCommit(false);
+        } catch (SQLException | RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the connection of this unit, for reads that should see its uncommitted changes.
+     * The connection must not be committed or closed directly.
+     *
+     * @return The connection the transaction runs on.
+     */
+    public Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Sends the queued statements, then runs a statement straight away.
+     *
+     * @param sql        The SQL of the statement.
+     * @param parameters The values bound to its parameters, in order.
+     * @return The number of rows the statement changed.
+     * @throws SQLException if a statement fails.
+     */
+    public int update(String sql, Object... parameters) throws SQLException {
+        flush();
+        committed = false;
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            bind(statement, parameters);
+            return statement.executeUpdate();
+        }
+    }
+
+    /**
+     * Queues a statement to be sent in a batch with the other statements of the same SQL.
+     * Once the statements of this SQL fill a batch, every queued statement is sent.
+     *
+     * @param sql        The SQL of the statement.
+     * @param parameters The values bound to its parameters, in order.
+     * @throws SQLException if the queued statements are sent and one fails.
+     */
+    public void batch(String sql, Object... parameters) throws SQLException {
+        committed = false;
+        Batch batch = batches.get(sql);
+        if (batch == null) {
+            batch = new Batch(connection.prepareStatement(sql));
+            batches.put(sql, batch);
+        }
+        bind(batch.statement, parameters);
+        batch.statement.addBatch();
+        if (++batch.pending == batchSize) {
+            //sending only the full batch would run it ahead of statements of other SQL queued before it
+            flush();
+        }
+    }
+
+    /**
+     * Sends every queued statement, without committing.
+     *
+     * @return The number of rows the statements changed.
+     * @throws SQLException if a statement fails.
+     */
+    public int flush() throws SQLException {
+        int changed = 0;
+        for (Batch batch : batches.values()) {
+            if (batch.pending > 0) {
+                changed += batch.send();
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Sends the queued statements and commits the transaction.
+     *
+     * @throws SQLException if a statement or the commit fails, in which case nothing is committed.
+     */
+    public void commit() throws SQLException {
+        flush();
+        connection.commit();
+        committed = true;
+    }
+
+    /**
+     * Discards the queued statements and rolls back every statement run so far.
+     *
+     * @throws SQLException if the rollback fails.
+     */
+    public void rollback() throws SQLException {
+        for (Batch batch : batches.values()) {
+            batch.statement.clearBatch();
+            batch.pending = 0;
+        }
+        connection.rollback();
+    }
+
+    /**
+     * Rolls back the statements run since the last commit, and returns the connection to the pool.
+     *
+     * @throws SQLException if the connection cannot be reset.
+     */
+    @Override
+    public void close() throws SQLException {
+        try {
+            for (Batch batch : batches.values()) {
+                batch.statement.close();
+            }
+            batches.clear();
+            if (!committed) {
+                connection.rollback();
+            }
+            connection.setAutoCommit(true);
+            if (previousIsolation != isolation) {
+                connection.setTransactionIsolation(previousIsolation);
+            }
+        } finally {
+            connection.close();
+        }
+    }
+
+    private static void bind(PreparedStatement statement, Object[] parameters) throws SQLException {
+        for (int i = 0; i < parameters.length; i++) {
+            statement.setObject(i + 1, parameters[i]);
+        }
+    }
+
+    /**
+     * A prepared statement and the number of statements queued on it.
+     */
+    private static class Batch {
+
+        private final PreparedStatement statement;
+        private int pending;
+
+        Batch(PreparedStatement statement) {
+            this.statement = statement;
+        }
+
+        int send() throws SQLException {
+            int changed = 0;
+            for (int count : statement.executeBatch()) {
+                changed += Math.max(count, 0);
+            }
+            pending = 0;
+            return changed;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package college.mtu_export;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes text to a channel in UTF-8 through two fixed buffers, one of characters and one of bytes, so the
+ * memory used does not depend on how much is written.
+ */
+class ChannelWriter {
+
+    private final WritableByteChannel channel;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final CharBuffer chars;
+    private final ByteBuffer bytes;
+    private long bytesWritten;
+
+    /**
+     * Constructs a new ChannelWriter.
+     *
+     * @param channel    The channel to write to, which stays open.
+     * @param bufferSize The number of characters held before they are encoded and written.
+     */
+    ChannelWriter(WritableByteChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.chars = CharBuffer.allocate(Math.max(64, bufferSize));
+        this.bytes = ByteBuffer.allocateDirect(chars.capacity() * 3);
+    }
+
+    ChannelWriter append(String text) throws IOException {
+        int start = 0;
+        while (start < text.length()) {
+            if (!chars.hasRemaining()) {
+                encode(false);
+            }
+            int end = Math.min(text.length(), start + chars.remaining());
+            chars.put(text, start, end);
+            start = end;
+        }
+        return this;
+    }
+
+    ChannelWriter append(char c) throws IOException {
+        if (!chars.hasRemaining()) {
+            encode(false);
+        }
+        chars.put(c);
+        return this;
+    }
+
+    /**
+     * Appends a JSON string, quoted and escaped.
+     */
+    ChannelWriter appendJson(String text) throws IOException {
+        append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                append('\\').append(c);
+            } else if (c < ' ') {
+                append(String.format("\\u%04x", (int) c));
+            } else {
+                append(c);
+            }
+        }
+        return append('"');
+    }
+
+    /**
+     * Writes everything appended so far and ends the text. Nothing may be appended afterwards.
+     *
+     * @return The number of bytes written to the channel.
+     */
+    long finish() throws IOException {
+        encode(true);
+        while (encoder.flush(bytes).isOverflow()) {
+            drain();
+        }
+        drain();
+        return bytesWritten;
+    }
+
+    private void encode(boolean endOfInput) throws IOException {
+        chars.flip();
+        CoderResult result;
+        while ((result = encoder.encode(chars, bytes, endOfInput)).isOverflow()) {
+            drain();
+        }
+        if (result.isError()) {
+            result.throwException();
+        }
+        //a high surrogate whose pair has not been appended yet stays in the buffer
+        chars.compact();
+    }
+
+    private void drain() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            bytesWritten += channel.write(bytes);
+        }
+        bytes.clear();
+    }
+}
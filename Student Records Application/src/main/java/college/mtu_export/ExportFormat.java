@@ -0,0 +1,42 @@
+package college.mtu_export;
+
+/**
+ * The formats transcripts can be exported in.
+ */
+public enum ExportFormat {
+
+    /**
+     * One row per grade, with a header naming the columns.
+     */
+    CSV("csv"),
+
+    /**
+     * An array with one object per student, holding the student's grades.
+     */
+    JSON("json");
+
+    private final String extension;
+
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * Returns the file name extension of the format, without the dot.
+     *
+     * @return The extension.
+     */
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Picks the format of a file from its name, CSV unless it ends in .json.
+     *
+     * @param fileName The file name.
+     * @return The format of the file.
+     */
+    public static ExportFormat forFileName(String fileName) {
+        return fileName.toLowerCase().endsWith("." + JSON.extension) ? JSON : CSV;
+    }
+}
@@ -0,0 +1,63 @@
+package college.mtu_export;
+
+import java.nio.file.Path;
+
+/**
+ * The ExportResult class holds the counts of a finished transcript export.
+ */
+public class ExportResult {
+
+    private final long grades;
+    private final long students;
+    private final long bytes;
+    private final long elapsedMillis;
+    private final Path file;
+
+    /**
+     * Constructs a new ExportResult.
+     *
+     * @param grades        The number of grades written.
+     * @param students      The number of students whose transcripts were written.
+     * @param bytes         The size of the file.
+     * @param elapsedMillis The time spent on the export.
+     * @param file          The file written.
+     */
+    public ExportResult(long grades, long students, long bytes, long elapsedMillis, Path file) {
+        this.grades = grades;
+        this.students = students;
+        this.bytes = bytes;
+        this.elapsedMillis = elapsedMillis;
+        this.file = file;
+    }
+
+    public long getGrades() {
+        return grades;
+    }
+
+    public long getStudents() {
+        return students;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public String toString() {
+        return "Students: " + students +
+                " | " +
+                "Grades: " + grades +
+                " | " +
+                "Size: " + bytes + " bytes" +
+                " | " +
+                "Time: " + elapsedMillis + " ms";
+    }
+}
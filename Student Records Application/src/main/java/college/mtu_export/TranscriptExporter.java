@@ -0,0 +1,189 @@
+package college.mtu_export;
+
+import college.mtu_import.CsvImporter;
+import college.mtu_storage.RecordStore;
+import college.mtu_storage.StorageException;
+import college.mtu_storage.TranscriptScope;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The TranscriptExporter class writes the transcripts of every student, of a cohort, of a module or of a
+ * semester to a CSV or JSON file.
+ * <p>
+ * The grades are read with a single ordered query and written as they arrive through a fixed buffer to a file
+ * channel, so an export of the whole college uses the same memory as an export of one student. The file is
+ * written under a temporary name and only takes the target's name once it is complete.
+ */
+public class TranscriptExporter {
+
+    static final String CSV_HEADER = "studentId,name,moduleCode,moduleName,grade";
+
+    private final RecordStore store;
+    private final int bufferSize;
+
+    /**
+     * Constructs a new TranscriptExporter.
+     *
+     * @param store      The store to read the grades from.
+     * @param bufferSize The number of characters buffered before they are written to the file.
+     */
+    public TranscriptExporter(RecordStore store, int bufferSize) {
+        this.store = store;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Exports the transcripts in a scope.
+     *
+     * @param scope  The grades to export.
+     * @param format The format of the file.
+     * @param target The file to write. An existing file is replaced once the export is complete.
+     * @return The counts of the export.
+     * @throws IOException      if the file cannot be written, or the export was interrupted.
+     * @throws StorageException if the grades cannot be read.
+     */
+    public ExportResult export(TranscriptScope scope, ExportFormat format, Path target)
+            throws IOException, StorageException {
+        long start = System.currentTimeMillis();
+        Path temporary = target.resolveSibling(target.getFileName() + ".part");
+        Run run;
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            run = format == ExportFormat.JSON ? new JsonRun(channel) : new CsvRun(channel);
+            run.begin();
+            try {
+                store.scanTranscripts(scope, run::grade);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            run.end();
+            run.bytes = run.out.finish();
+        } catch (IOException | StorageException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return new ExportResult(run.grades, run.students, run.bytes, System.currentTimeMillis() - start, target);
+    }
+
+    /**
+     * The state of one export: the writer and the running counts.
+     */
+    private abstract class Run {
+
+        final ChannelWriter out;
+        String studentId;
+        long grades;
+        long students;
+        long bytes;
+
+        Run(FileChannel channel) {
+            out = new ChannelWriter(channel, bufferSize);
+        }
+
+        void grade(String studentId, String studentName, String moduleCode, String moduleName, float grade) {
+            try {
+                if (!studentId.equals(this.studentId)) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new InterruptedIOException("Export cancelled after " + students + " students.");
+                    }
+                    startStudent(studentId, studentName);
+                    this.studentId = studentId;
+                    students++;
+                }
+                writeGrade(studentId, studentName, moduleCode, moduleName, grade);
+                grades++;
+            } catch (IOException e) {
+                //passed out of the store's visitor, which cannot throw checked exceptions
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        abstract void begin() throws IOException;
+
+        abstract void startStudent(String studentId, String studentName) throws IOException;
+
+        abstract void writeGrade(String studentId, String studentName, String moduleCode, String moduleName,
+                                 float grade) throws IOException;
+
+        abstract void end() throws IOException;
+    }
+
+    private class CsvRun extends Run {
+
+        CsvRun(FileChannel channel) {
+            super(channel);
+        }
+
+        @Override
+        void begin() throws IOException {
+            out.append(CSV_HEADER).append('\n');
+        }
+
+        @Override
+        void startStudent(String studentId, String studentName) {
+        }
+
+        @Override
+        void writeGrade(String studentId, String studentName, String moduleCode, String moduleName, float grade)
+                throws IOException {
+            out.append(CsvImporter.quote(studentId)).append(',')
+                    .append(CsvImporter.quote(studentName)).append(',')
+                    .append(CsvImporter.quote(moduleCode)).append(',')
+                    .append(CsvImporter.quote(moduleName)).append(',')
+                    .append(Float.toString(grade)).append('\n');
+        }
+
+        @Override
+        void end() {
+        }
+    }
+
+    private class JsonRun extends Run {
+
+        boolean firstGrade;
+
+        JsonRun(FileChannel channel) {
+            super(channel);
+        }
+
+        @Override
+        void begin() throws IOException {
+            out.append('[');
+        }
+
+        @Override
+        void startStudent(String studentId, String studentName) throws IOException {
+            out.append(students == 0 ? "\n" : "]},\n");
+            out.append("{\"studentId\":").appendJson(studentId)
+                    .append(",\"name\":").appendJson(studentName)
+                    .append(",\"grades\":[");
+            firstGrade = true;
+        }
+
+        @Override
+        void writeGrade(String studentId, String studentName, String moduleCode, String moduleName, float grade)
+                throws IOException {
+            if (!firstGrade) {
+                out.append(',');
+            }
+            firstGrade = false;
+            out.append("{\"moduleCode\":").appendJson(moduleCode)
+                    .append(",\"moduleName\":").appendJson(moduleName)
+                    .append(",\"grade\":").append(Float.toString(grade)).append('}');
+        }
+
+        @Override
+        void end() throws IOException {
+            out.append(students == 0 ? "]\n" : "]}\n]\n");
+        }
+    }
+}
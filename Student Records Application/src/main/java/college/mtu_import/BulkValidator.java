@@ -0,0 +1,201 @@
+package college.mtu_import;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * The BulkValidator class checks large numbers of students, modules or grades against the import rules, using
+ * every core.
+ * <p>
+ * Rows are validated in parallel with {@link ValidationRules}, which allocate nothing for a valid row, so the
+ * work is bound by the processor rather than by memory. A file is read in chunks of lines: while one chunk is
+ * split and validated in parallel, the next is read, and only the errors are kept. Every failing field of a
+ * row is reported, not only the first, so a file can be corrected in one pass before it is imported.
+ */
+public class BulkValidator {
+
+    private final ValidationRules rules;
+    private final int chunkSize;
+
+    /**
+     * Constructs a new BulkValidator.
+     *
+     * @param rules     The validation rules.
+     * @param chunkSize The number of lines of a file read and validated together.
+     */
+    public BulkValidator(ValidationRules rules, int chunkSize) {
+        this.rules = rules;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * Validates rows that have already been split into fields.
+     *
+     * @param kind The kind of records in the rows.
+     * @param rows The rows. The row numbers in the report count from 1.
+     * @return The report of the rows.
+     */
+    public ValidationReport validate(ImportKind kind, List<String[]> rows) {
+        long start = System.currentTimeMillis();
+        List<List<RowError>> failed = IntStream.range(0, rows.size()).parallel()
+                .mapToObj(i -> check(kind, rows.get(i), i + 1))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return report(rows.size(), failed, start);
+    }
+
+    /**
+     * Validates every row of a CSV file. A first row naming the columns is skipped, as are blank lines.
+     *
+     * @param kind The kind of records in the file.
+     * @param csv  The file to validate.
+     * @return The report of the file. The row numbers in the report are line numbers.
+     * @throws IOException if the file cannot be read, or the validation was interrupted.
+     */
+    public ValidationReport validateFile(ImportKind kind, Path csv) throws IOException {
+        long start = System.currentTimeMillis();
+        List<List<RowError>> failed = new ArrayList<>();
+        long rowsChecked = 0;
+        try (BufferedReader reader = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            Chunk chunk = new Chunk(chunkSize);
+            int lineNumber = skipHeader(kind, reader, chunk);
+            CompletableFuture<List<List<RowError>>> pending = null;
+            while (true) {
+                lineNumber = chunk.fill(reader, lineNumber);
+                //the last chunk is checked while this one is being read
+                if (pending != null) {
+                    failed.addAll(pending.join());
+                }
+                if (chunk.size == 0) {
+                    break;
+                }
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException("Validation cancelled after " + rowsChecked + " rows.");
+                }
+                rowsChecked += chunk.size;
+                Chunk full = chunk;
+                pending = CompletableFuture.supplyAsync(() -> checkChunk(kind, full));
+                chunk = new Chunk(chunkSize);
+            }
+        }
+        return report(rowsChecked, failed, start);
+    }
+
+    private int skipHeader(ImportKind kind, BufferedReader reader, Chunk chunk) throws IOException {
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (!kind.isHeader(CsvImporter.parseLine(line))) {
+                chunk.add(line, lineNumber);
+            }
+            break;
+        }
+        return lineNumber;
+    }
+
+    private List<List<RowError>> checkChunk(ImportKind kind, Chunk chunk) {
+        return IntStream.range(0, chunk.size).parallel()
+                .mapToObj(i -> check(kind, CsvImporter.parseLine(chunk.lines[i]), chunk.lineNumbers[i]))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private static ValidationReport report(long rowsChecked, List<List<RowError>> failed, long start) {
+        List<RowError> errors = new ArrayList<>();
+        for (List<RowError> row : failed) {
+            errors.addAll(row);
+        }
+        return new ValidationReport(rowsChecked, failed.size(), errors, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Checks one row, returning its errors, or null if it is valid.
+     */
+    private List<RowError> check(ImportKind kind, String[] fields, long row) {
+        if (fields.length != kind.getColumnCount()) {
+            return List.of(new RowError(row, null, null,
+                    "Expected " + kind.getColumnCount() + " columns but found " + fields.length + "."));
+        }
+        List<RowError> errors = null;
+        switch (kind) {
+            case STUDENTS:
+                errors = add(errors, kind, fields, row, 0, rules.studentName(fields[0]));
+                errors = add(errors, kind, fields, row, 1, rules.studentId(fields[1]));
+                errors = add(errors, kind, fields, row, 2, rules.dateOfBirth(fields[2]));
+                errors = add(errors, kind, fields, row, 3, rules.semester(fields[3]));
+                break;
+            case MODULES:
+                errors = add(errors, kind, fields, row, 0, rules.moduleName(fields[0]));
+                errors = add(errors, kind, fields, row, 1, rules.moduleCode(fields[1]));
+                errors = add(errors, kind, fields, row, 2, rules.semester(fields[2]));
+                break;
+            case GRADES:
+                errors = add(errors, kind, fields, row, 0, rules.studentId(fields[0]));
+                errors = add(errors, kind, fields, row, 1, rules.moduleCode(fields[1]));
+                errors = add(errors, kind, fields, row, 2, rules.grade(fields[2]));
+                break;
+        }
+        return errors;
+    }
+
+    private static List<RowError> add(List<RowError> errors, ImportKind kind, String[] fields, long row, int column,
+                                      String message) {
+        if (message == null) {
+            return errors;
+        }
+        if (errors == null) {
+            errors = new ArrayList<>(2);
+        }
+        errors.add(new RowError(row, kind.getColumn(column), fields[column], message));
+        return errors;
+    }
+
+    /**
+     * A run of lines read from a file, with their line numbers.
+     */
+    private static class Chunk {
+
+        private final String[] lines;
+        private final int[] lineNumbers;
+        private int size;
+
+        Chunk(int capacity) {
+            lines = new String[capacity];
+            lineNumbers = new int[capacity];
+        }
+
+        void add(String line, int lineNumber) {
+            lines[size] = line;
+            lineNumbers[size] = lineNumber;
+            size++;
+        }
+
+        /**
+         * Reads non-blank lines until the chunk is full or the file ends, returning the last line number read.
+         */
+        int fill(BufferedReader reader, int lineNumber) throws IOException {
+            String line;
+            while (size < lines.length && (line = reader.readLine()) != null) {
+                lineNumber++;
+                if (!line.isBlank()) {
+                    add(line, lineNumber);
+                }
+            }
+            return lineNumber;
+        }
+    }
+}
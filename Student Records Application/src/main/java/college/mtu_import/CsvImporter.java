@@ -0,0 +1,264 @@
+package college.mtu_import;
+
+import college.mtu_database.Database;
+import college.mtu_records.RecordValidator;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * The CsvImporter class bulk imports students, modules or grades from a CSV file.
+ * <p>
+ * The file is streamed one line at a time, so its size is not limited by memory. Each row is checked with the
+ * same rules as the forms, and valid rows are sent to the database in batches on a single connection with
+ * auto-commit turned off, committing every few thousand rows. Rows that fail validation or are refused by the
+ * database are written, along with the reason, to a rejected-rows file next to the input.
+ */
+public class CsvImporter {
+
+    private final Database database;
+    private final RecordValidator validator;
+    private final int batchSize;
+    private final int commitInterval;
+
+    /**
+     * Constructs a new CsvImporter.
+     *
+     * @param database       The database to import into.
+     * @param validator      The validation rules applied to every row.
+     * @param batchSize      The number of rows sent to the database at once.
+     * @param commitInterval The number of rows written between commits.
+     */
+    public CsvImporter(Database database, RecordValidator validator, int batchSize, int commitInterval) {
+        this.database = database;
+        this.validator = validator;
+        this.batchSize = Math.max(1, batchSize);
+        this.commitInterval = Math.max(this.batchSize, commitInterval);
+    }
+
+    /**
+     * Imports every row of a CSV file. A first row naming the columns is skipped.
+     * <p>
+     * Rows committed before a failure or cancellation stay in the database; the rows after the last commit are
+     * rolled back.
+     *
+     * @param kind         The kind of records in the file.
+     * @param csv          The file to import.
+     * @param rejectedFile Where to write rejected rows. The file is deleted again if no row is rejected.
+     * @param progress     Receives a snapshot after every batch, may be null.
+     * @return The final counts of the import.
+     * @throws IOException  if the file cannot be read, or the import was interrupted.
+     * @throws SQLException if the database cannot be reached.
+     */
+    public ImportResult importFile(ImportKind kind, Path csv, Path rejectedFile, Consumer<ImportResult> progress)
+            throws IOException, SQLException {
+        Run run = new Run(kind, rejectedFile, progress);
+        try (BufferedReader reader = Files.newBufferedReader(csv, StandardCharsets.UTF_8);
+             BufferedWriter rejected = Files.newBufferedWriter(rejectedFile, StandardCharsets.UTF_8);
+             Connection connection = database.getConnection()) {
+            run.rejected = rejected;
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(kind.getSql())) {
+                run.connection = connection;
+                run.statement = statement;
+                readRows(run, reader);
+                run.flush();
+                connection.commit();
+            } catch (IOException | SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        } finally {
+            if (run.rowsRejected == 0) {
+                Files.deleteIfExists(rejectedFile);
+            }
+        }
+        return run.snapshot();
+    }
+
+    private void readRows(Run run, BufferedReader reader) throws IOException, SQLException {
+        String line;
+        boolean first = true;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            String[] fields = parseLine(line);
+            if (first) {
+                first = false;
+                if (run.kind.isHeader(fields)) {
+                    continue;
+                }
+            }
+            run.rowsRead++;
+
+            String error = validate(run.kind, fields);
+            if (error != null) {
+                run.reject(line, error);
+                continue;
+            }
+            run.kind.bind(run.statement, fields);
+            run.statement.addBatch();
+            run.batch.add(fields);
+            run.lines.add(line);
+
+            if (run.batch.size() >= batchSize) {
+                run.flush();
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException("Import cancelled after " + run.rowsRead + " rows.");
+                }
+            }
+            if (run.uncommitted >= commitInterval) {
+                run.connection.commit();
+                run.uncommitted = 0;
+            }
+        }
+    }
+
+    private String validate(ImportKind kind, String[] fields) {
+        if (fields.length != kind.getColumns().length) {
+            return "Expected " + kind.getColumns().length + " columns but found " + fields.length + ".";
+        }
+        return kind.validate(fields, validator);
+    }
+
+    /**
+     * Splits one CSV line into its fields. Fields may be quoted with double quotes, in which case they can
+     * contain commas, and a doubled quote inside a quoted field stands for one quote.
+     *
+     * @param line The line to split.
+     * @return The fields of the line.
+     */
+    public static String[] parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields.toArray(new String[0]);
+    }
+
+    /**
+     * Quotes a value for a CSV file if it contains a comma, quote or line break.
+     *
+     * @param value The value to write.
+     * @return The value as a CSV field.
+     */
+    public static String quote(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * The state of one import: the open statement, the pending batch and the running counts.
+     */
+    private static class Run {
+
+        private final ImportKind kind;
+        private final Path rejectedFile;
+        private final Consumer<ImportResult> progress;
+        private final long started = System.currentTimeMillis();
+        private final List<String[]> batch = new ArrayList<>();
+        private final List<String> lines = new ArrayList<>();
+
+        private Connection connection;
+        private PreparedStatement statement;
+        private BufferedWriter rejected;
+        private long rowsRead;
+        private long rowsImported;
+        private long rowsRejected;
+        private int uncommitted;
+
+        Run(ImportKind kind, Path rejectedFile, Consumer<ImportResult> progress) {
+            this.kind = kind;
+            this.rejectedFile = rejectedFile;
+            this.progress = progress;
+        }
+
+        /**
+         * Sends the pending batch. If the database refuses it, the batch is undone and retried one row at a time
+         * so that only the failing rows are rejected.
+         */
+        void flush() throws IOException, SQLException {
+            if (batch.isEmpty()) {
+                return;
+            }
+            Savepoint savepoint = connection.setSavepoint();
+            try {
+                statement.executeBatch();
+                rowsImported += batch.size();
+                uncommitted += batch.size();
+            } catch (BatchUpdateException e) {
+                connection.rollback(savepoint);
+                statement.clearBatch();
+                retryRowByRow();
+            }
+            connection.releaseSavepoint(savepoint);
+            batch.clear();
+            lines.clear();
+            if (progress != null) {
+                progress.accept(snapshot());
+            }
+        }
+
+        private void retryRowByRow() throws IOException, SQLException {
+            for (int i = 0; i < batch.size(); i++) {
+                kind.bind(statement, batch.get(i));
+                try {
+                    statement.executeUpdate();
+                    rowsImported++;
+                    uncommitted++;
+                } catch (SQLException e) {
+                    reject(lines.get(i), e.getMessage());
+                }
+            }
+        }
+
+        void reject(String line, String reason) throws IOException {
+            rowsRejected++;
+            rejected.write(line);
+            rejected.write(',');
+            rejected.write(quote(reason));
+            rejected.newLine();
+        }
+
+        ImportResult snapshot() {
+            return new ImportResult(rowsRead, rowsImported, rowsRejected, System.currentTimeMillis() - started,
+                    rowsRejected > 0 ? rejectedFile : null);
+        }
+    }
+}
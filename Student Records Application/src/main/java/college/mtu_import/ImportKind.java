@@ -0,0 +1,175 @@
+package college.mtu_import;
+
+import college.mtu_records.RecordValidator;
+import college.mtu_storage.JdbcRecordStore;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * The ImportKind enum describes the kinds of records that can be bulk imported from a CSV file.
+ * <p>
+ * Each kind knows its CSV columns, how to validate a row with the {@link RecordValidator} rules used by the
+ * forms, and how to bind a valid row to its insert statement. Grades are upserted, so importing a file of
+ * grades for a module replaces any grades already given.
+ */
+public enum ImportKind {
+
+    STUDENTS("insert into student values(?,?,?,?)", "name", "studentId", "dateOfBirth", "currentSemester") {
+        @Override
+        public String validate(String[] fields, RecordValidator validator) {
+            String error = firstError(validator.validateStudentName(fields[0]),
+                    validator.validateStudentId(fields[1]), validator.validateDob(fields[2]));
+            return error != null ? error : validateSemester(fields[3], validator);
+        }
+
+        @Override
+        public void bind(PreparedStatement statement, String[] fields) throws SQLException {
+            statement.setString(1, fields[0]);
+            statement.setString(2, fields[1]);
+            statement.setString(3, fields[2]);
+            statement.setInt(4, Integer.parseInt(fields[3].trim()));
+        }
+    },
+
+    MODULES("insert into module values(?,?,?)", "moduleName", "moduleCode", "semester") {
+        @Override
+        public String validate(String[] fields, RecordValidator validator) {
+            String error = firstError(validator.validateModuleName(fields[0]), validator.validateModuleCode(fields[1]));
+            return error != null ? error : validateSemester(fields[2], validator);
+        }
+
+        @Override
+        public void bind(PreparedStatement statement, String[] fields) throws SQLException {
+            statement.setString(1, fields[0]);
+            statement.setString(2, fields[1]);
+            statement.setInt(3, Integer.parseInt(fields[2].trim()));
+        }
+    },
+
+    GRADES(JdbcRecordStore.UPSERT_GRADE_SQL, "studentId", "moduleCode", "grade") {
+        @Override
+        public String validate(String[] fields, RecordValidator validator) {
+            String error = firstError(validator.validateStudentId(fields[0]), validator.validateModuleCode(fields[1]));
+            if (error != null) {
+                return error;
+            }
+            try {
+                if (validator.validateGrade(Double.parseDouble(fields[2].trim()))) {
+                    return null;
+                }
+            } catch (NumberFormatException e) {
+                //reported below, the same way as a grade out of range
+            }
+            return "Please enter a valid grade between 0 and 100.";
+        }
+
+        @Override
+        public void bind(PreparedStatement statement, String[] fields) throws SQLException {
+            statement.setString(1, fields[0]);
+            statement.setString(2, fields[1]);
+            statement.setDouble(3, Double.parseDouble(fields[2].trim()));
+        }
+    };
+
+    private final String sql;
+    private final String[] columns;
+
+    ImportKind(String sql, String... columns) {
+        this.sql = sql;
+        this.columns = columns;
+    }
+
+    /**
+     * Validates one CSV row, which is known to have the right number of columns.
+     *
+     * @param fields    The fields of the row.
+     * @param validator The validation rules.
+     * @return A validation error message, or null if the row is valid.
+     */
+    public abstract String validate(String[] fields, RecordValidator validator);
+
+    /**
+     * Binds a valid CSV row to the parameters of the insert statement.
+     *
+     * @param statement The insert statement returned by {@link #getSql()}.
+     * @param fields    The fields of the row.
+     * @throws SQLException if a parameter cannot be set.
+     */
+    public abstract void bind(PreparedStatement statement, String[] fields) throws SQLException;
+
+    /**
+     * Returns the SQL used to insert one row.
+     *
+     * @return The insert statement.
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * Returns the expected CSV columns, in order.
+     *
+     * @return A copy of the column names.
+     */
+    public String[] getColumns() {
+        return columns.clone();
+    }
+
+    /**
+     * Returns the number of CSV columns.
+     *
+     * @return The number of columns.
+     */
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    /**
+     * Returns the name of one CSV column.
+     *
+     * @param index The position of the column, from 0.
+     * @return The column name.
+     */
+    public String getColumn(int index) {
+        return columns[index];
+    }
+
+    /**
+     * Checks if a row is a header row naming the columns of this kind.
+     *
+     * @param fields The fields of the row.
+     * @return true if every field matches the column name at the same position.
+     */
+    public boolean isHeader(String[] fields) {
+        if (fields.length != columns.length) {
+            return false;
+        }
+        for (int i = 0; i < columns.length; i++) {
+            if (!columns[i].equalsIgnoreCase(fields[i].trim())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String firstError(String... errors) {
+        for (String error : errors) {
+            if (error != null) {
+                return error;
+            }
+        }
+        return null;
+    }
+
+    private static String validateSemester(String field, RecordValidator validator) {
+        try {
+            if (!validator.validateSemester(Integer.parseInt(field.trim()))) {
+                return null;
+            }
+        } catch (NumberFormatException e) {
+            //reported below, the same way as a semester out of range
+        }
+        return "Invalid semester. It must be between 1 and 10.";
+    }
+}
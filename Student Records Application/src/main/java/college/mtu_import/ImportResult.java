@@ -0,0 +1,65 @@
+package college.mtu_import;
+
+import java.nio.file.Path;
+
+/**
+ * The ImportResult class is a snapshot of the progress of a bulk import.
+ * It is reported while the import is running and returned once it has finished.
+ */
+public class ImportResult {
+
+    private final long rowsRead;
+    private final long rowsImported;
+    private final long rowsRejected;
+    private final long elapsedMillis;
+    private final Path rejectedFile;
+
+    /**
+     * Constructs a new ImportResult.
+     *
+     * @param rowsRead      The number of data rows read so far.
+     * @param rowsImported  The number of rows written to the database so far.
+     * @param rowsRejected  The number of rows written to the rejected-rows file so far.
+     * @param elapsedMillis The time spent on the import so far.
+     * @param rejectedFile  The rejected-rows file, or null if no row was rejected.
+     */
+    public ImportResult(long rowsRead, long rowsImported, long rowsRejected, long elapsedMillis, Path rejectedFile) {
+        this.rowsRead = rowsRead;
+        this.rowsImported = rowsImported;
+        this.rowsRejected = rowsRejected;
+        this.elapsedMillis = elapsedMillis;
+        this.rejectedFile = rejectedFile;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public long getRowsImported() {
+        return rowsImported;
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public Path getRejectedFile() {
+        return rejectedFile;
+    }
+
+    @Override
+    public String toString() {
+        return "Rows read: " + rowsRead +
+                " | " +
+                "Imported: " + rowsImported +
+                " | " +
+                "Rejected: " + rowsRejected +
+                " | " +
+                "Time: " + elapsedMillis + " ms" +
+                (rejectedFile != null ? " | Rejected rows written to " + rejectedFile : "");
+    }
+}
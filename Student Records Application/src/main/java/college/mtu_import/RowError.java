@@ -0,0 +1,48 @@
+package college.mtu_import;
+
+/**
+ * The RowError class describes one field of one row that failed validation.
+ */
+public class RowError {
+
+    private final long row;
+    private final String column;
+    private final String value;
+    private final String message;
+
+    /**
+     * Constructs a new RowError.
+     *
+     * @param row     The line number of the row in its file, or its position counted from 1 in a list.
+     * @param column  The name of the column that failed, or null if the row itself has the wrong shape.
+     * @param value   The value that failed, or null if the row itself has the wrong shape.
+     * @param message The validation error message.
+     */
+    public RowError(long row, String column, String value, String message) {
+        this.row = row;
+        this.column = column;
+        this.value = value;
+        this.message = message;
+    }
+
+    public long getRow() {
+        return row;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return "Row " + row + (column != null ? " " + column + " '" + value + "'" : "") + ": " + message;
+    }
+}
@@ -0,0 +1,70 @@
+package college.mtu_import;
+
+import java.util.List;
+
+/**
+ * The ValidationReport class holds the outcome of validating a batch or file of rows with the
+ * {@link BulkValidator}. Errors are listed in row order, with one entry for every field that failed.
+ */
+public class ValidationReport {
+
+    private final long rowsChecked;
+    private final long rowsRejected;
+    private final List<RowError> errors;
+    private final long elapsedMillis;
+
+    /**
+     * Constructs a new ValidationReport.
+     *
+     * @param rowsChecked   The number of data rows validated.
+     * @param rowsRejected  The number of rows with at least one error.
+     * @param errors        The errors in row order.
+     * @param elapsedMillis The time spent on the validation.
+     */
+    public ValidationReport(long rowsChecked, long rowsRejected, List<RowError> errors, long elapsedMillis) {
+        this.rowsChecked = rowsChecked;
+        this.rowsRejected = rowsRejected;
+        this.errors = List.copyOf(errors);
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getRowsChecked() {
+        return rowsChecked;
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    public long getRowsValid() {
+        return rowsChecked - rowsRejected;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Checks if every row passed validation.
+     *
+     * @return true if no error was found.
+     */
+    public boolean isValid() {
+        return errors.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "Rows checked: " + rowsChecked +
+                " | " +
+                "Valid: " + getRowsValid() +
+                " | " +
+                "Rejected: " + rowsRejected +
+                " | " +
+                "Time: " + elapsedMillis + " ms";
+    }
+}
@@ -0,0 +1,246 @@
+package college.mtu_import;
+
+import college.mtu_records.RecordValidator;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * The ValidationRules class holds the {@link RecordValidator} rules prepared for checking many rows.
+ * <p>
+ * The rules accept and reject exactly the same values as RecordValidator and the CSV import, with the same
+ * messages, but do the expensive parts once: today's date and the latest date of birth of a 16 year old are
+ * worked out when the rules are created, and dates in the usual dd/MM/yyyy form are read digit by digit instead
+ * of through a formatter, so a valid row allocates nothing and an invalid one no exception. The rules are
+ * immutable and can be shared between threads.
+ */
+public class ValidationRules {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final int MINIMUM_AGE = 16;
+
+    static final String STUDENT_NAME_EMPTY = "Student name cannot be empty.";
+    static final String MODULE_NAME_EMPTY = "Module name cannot be empty.";
+    static final String STUDENT_ID_EMPTY = "Student ID cannot be empty.";
+    static final String STUDENT_ID_INVALID = "Invalid student ID. It must start with 'R00' and be 9 characters long.";
+    static final String MODULE_CODE_EMPTY = "Module code cannot be empty.";
+    static final String MODULE_CODE_INVALID = "Invalid module code. It must start with 'MT' and be 5 characters long.";
+    static final String DOB_IN_FUTURE = "Date of birth cannot be greater than today's date.";
+    static final String DOB_TOO_YOUNG = "Student must be at least 16 years old.";
+    static final String DOB_INVALID = "Invalid date format. Please use the format DD/MM/YYYY.";
+    static final String SEMESTER_INVALID = "Invalid semester. It must be between 1 and 10.";
+    static final String GRADE_INVALID = "Please enter a valid grade between 0 and 100.";
+
+    private final long today;
+    private final long latestBirthDay;
+
+    /**
+     * Constructs rules that check dates of birth against the given day.
+     *
+     * @param today The day the ages are worked out on.
+     */
+    public ValidationRules(LocalDate today) {
+        this.today = today.toEpochDay();
+        this.latestBirthDay = today.minusYears(MINIMUM_AGE).toEpochDay();
+    }
+
+    /**
+     * Creates rules that check dates of birth against today's date.
+     *
+     * @return New rules.
+     */
+    public static ValidationRules forToday() {
+        return new ValidationRules(LocalDate.now());
+    }
+
+    /**
+     * Checks that a student name is not empty or only spaces.
+     *
+     * @param name The student name.
+     * @return An error message, or null if the name is valid.
+     */
+    public String studentName(String name) {
+        return blank(name) ? STUDENT_NAME_EMPTY : null;
+    }
+
+    /**
+     * Checks that a module name is not empty or only spaces.
+     *
+     * @param name The module name.
+     * @return An error message, or null if the name is valid.
+     */
+    public String moduleName(String name) {
+        return blank(name) ? MODULE_NAME_EMPTY : null;
+    }
+
+    /**
+     * Checks that a student ID is 9 characters long and contains R00.
+     *
+     * @param id The student ID.
+     * @return An error message, or null if the ID is valid.
+     */
+    public String studentId(String id) {
+        if (id == null || id.isEmpty()) {
+            return STUDENT_ID_EMPTY;
+        }
+        //contains rather than startsWith, as in RecordValidator: a file must pass exactly when the form would
+        return id.length() != 9 || !id.contains("R00") ? STUDENT_ID_INVALID : null;
+    }
+
+    /**
+     * Checks that a module code is 5 characters long and contains MT.
+     *
+     * @param code The module code.
+     * @return An error message, or null if the code is valid.
+     */
+    public String moduleCode(String code) {
+        if (code == null || code.isEmpty()) {
+            return MODULE_CODE_EMPTY;
+        }
+        return code.length() != 5 || !code.contains("MT") ? MODULE_CODE_INVALID : null;
+    }
+
+    /**
+     * Checks a date of birth in dd/MM/yyyy form, for a student at least 16 years old.
+     *
+     * @param dob The date of birth.
+     * @return An error message, or null if the date is valid.
+     */
+    public String dateOfBirth(String dob) {
+        long day;
+        if (dob != null && dob.length() == 10 && dob.charAt(2) == '/' && dob.charAt(5) == '/') {
+            int dayOfMonth = digits(dob, 0, 2);
+            int month = digits(dob, 3, 5);
+            int year = digits(dob, 6, 10);
+            if (dayOfMonth < 1 || dayOfMonth > 31 || month < 1 || month > 12 || year < 1) {
+                return DOB_INVALID;
+            }
+            //like the formatter, a day past the end of the month is moved back to its last day
+            day = epochDay(year, month, Math.min(dayOfMonth, monthLength(year, month)));
+        } else {
+            //forms the quick path does not read, such as years of more than four digits
+            try {
+                day = LocalDate.parse(dob, DATE_FORMAT).toEpochDay();
+            } catch (DateTimeParseException | NullPointerException e) {
+                return DOB_INVALID;
+            }
+        }
+        if (day > today) {
+            return DOB_IN_FUTURE;
+        }
+        return day > latestBirthDay ? DOB_TOO_YOUNG : null;
+    }
+
+    /**
+     * Checks that a semester is a whole number no greater than 10.
+     *
+     * @param semester The semester, as typed or read from a file.
+     * @return An error message, or null if the semester is valid.
+     */
+    public String semester(String semester) {
+        int value = integer(semester);
+        //the same rule as RecordValidator.validateSemester, which only refuses semesters over 10
+        return value == Integer.MIN_VALUE || value > 10 ? SEMESTER_INVALID : null;
+    }
+
+    /**
+     * Checks that a grade is a number between 0 and 100.
+     *
+     * @param grade The grade, as typed or read from a file.
+     * @return An error message, or null if the grade is valid.
+     */
+    public String grade(String grade) {
+        if (grade == null) {
+            return GRADE_INVALID;
+        }
+        try {
+            double value = Double.parseDouble(grade.trim());
+            return value >= 0 && value <= 100 ? null : GRADE_INVALID;
+        } catch (NumberFormatException e) {
+            return GRADE_INVALID;
+        }
+    }
+
+    /**
+     * Reads a run of digits, or returns -1 if any character is not a digit.
+     */
+    private static int digits(String text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Checks if text is null or only spaces, as text.trim().isEmpty() would, without copying it.
+     */
+    private static boolean blank(String text) {
+        if (text == null) {
+            return true;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads a whole number surrounded by optional spaces, as Integer.parseInt(text.trim()) would, or returns
+     * Integer.MIN_VALUE if it is not one.
+     */
+    private static int integer(String text) {
+        if (text == null) {
+            return Integer.MIN_VALUE;
+        }
+        String trimmed = text.trim();
+        int length = trimmed.length();
+        int start = length > 0 && (trimmed.charAt(0) == '-' || trimmed.charAt(0) == '+') ? 1 : 0;
+        int value = length > start && length <= 9 ? digits(trimmed, start, length) : -1;
+        if (value >= 0) {
+            return trimmed.charAt(0) == '-' ? -value : value;
+        }
+        //long numbers and digits of other scripts
+        try {
+            return Integer.parseInt(trimmed);
+        } catch (NumberFormatException e) {
+            return Integer.MIN_VALUE;
+        }
+    }
+
+    private static int monthLength(int year, int month) {
+        switch (month) {
+            case 2:
+                boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+                return leap ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * Returns the number of days from 1970-01-01, the same value as LocalDate.toEpochDay().
+     */
+    private static long epochDay(int year, int month, int day) {
+        //days from 0000-03-01, counting each year from March so the leap day comes last
+        long y = month <= 2 ? year - 1 : year;
+        long m = month <= 2 ? month + 9 : month - 3;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153 * m + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+}
@@ -0,0 +1,312 @@
+package college.mtu_memory;
+
+import college.mtu_model.GradeEntry;
+import college.mtu_model.Student;
+
+import java.lang.ref.SoftReference;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * The HeapExperiment class describes one run of the {@link HeapPressureLab}: which records are allocated,
+ * how fast their number grows and how long they are kept.
+ */
+public class HeapExperiment {
+
+    /**
+     * The records allocated by an experiment.
+     */
+    public enum ObjectModel {
+
+        /**
+         * Students with their own name, ID and date of birth strings, as read from the database.
+         */
+        STUDENT {
+            @Override
+            public Object create(long i) {
+                return new Student(NAMES[(int) (i % NAMES.length)] + " " + i, studentId(i),
+                        String.format("%02d/%02d/%d", 1 + i % 28, 1 + i % 12, 1980 + i % 20), 1 + (int) (i % 8));
+            }
+        },
+
+        /**
+         * Students sharing their name and date of birth strings, as a loader that deduplicates values would.
+         */
+        STUDENT_SHARED_STRINGS {
+            @Override
+            public Object create(long i) {
+                return new Student(NAMES[(int) (i % NAMES.length)], studentId(i),
+                        DATES[(int) (i % DATES.length)], 1 + (int) (i % 8));
+            }
+        },
+
+        /**
+         * Grade entries, the smallest record of the application.
+         */
+        GRADE_ENTRY {
+            @Override
+            public Object create(long i) {
+                return new GradeEntry(studentId(i), "MT" + (100 + i % 60), i % 101);
+            }
+        },
+
+        /**
+         * Unparsed CSV lines of students, as held by an import that buffers its input.
+         */
+        CSV_LINE {
+            @Override
+            public Object create(long i) {
+                return NAMES[(int) (i % NAMES.length)] + "," + studentId(i) + ","
+                        + DATES[(int) (i % DATES.length)] + "," + (1 + i % 8);
+            }
+        };
+
+        private static final String[] NAMES = {"Furqan Ali", "Aoife Byrne", "Alan Furlong", "Niamh Murphy"};
+        private static final String[] DATES = {"06/10/1999", "01/02/2000", "15/07/2001", "30/11/1998"};
+
+        /**
+         * Creates the i-th record of this model.
+         *
+         * @param i The number of the record.
+         * @return A new record.
+         */
+        public abstract Object create(long i);
+
+        private static String studentId(long i) {
+            return "R00" + String.format("%06d", i % 1_000_000);
+        }
+    }
+
+    /**
+     * How many records are allocated in each step of an experiment.
+     */
+    public enum GrowthPattern {
+
+        /**
+         * The same number of records in every step.
+         */
+        LINEAR {
+            @Override
+            public int batchSize(int step, int base) {
+                return base;
+            }
+        },
+
+        /**
+         * Twice as many records in every step as in the one before.
+         */
+        EXPONENTIAL {
+            @Override
+            public int batchSize(int step, int base) {
+                return (int) Math.min((long) base << Math.min(step, 30), 1 << 24);
+            }
+        },
+
+        /**
+         * A step of ten times the base number of records after every three steps of a tenth of it.
+         */
+        BURSTY {
+            @Override
+            public int batchSize(int step, int base) {
+                return step % 4 == 3 ? base * 10 : Math.max(1, base / 10);
+            }
+        };
+
+        /**
+         * Returns the number of records allocated in a step.
+         *
+         * @param step The number of the step, starting at 0.
+         * @param base The base number of records per step.
+         * @return The number of records to allocate.
+         */
+        public abstract int batchSize(int step, int base);
+    }
+
+    /**
+     * How long the allocated records are kept.
+     */
+    public enum RetentionPolicy {
+
+        /**
+         * Every record is kept until the experiment ends, like the original memory leak.
+         */
+        RETAIN_ALL,
+
+        /**
+         * Only the most recent records are kept, up to the window size, like a bounded cache.
+         */
+        WINDOW,
+
+        /**
+         * Every record is kept through a soft reference, so the garbage collector may clear it under pressure.
+         */
+        SOFT,
+
+        /**
+         * No record is kept, so the experiment only produces garbage.
+         */
+        NONE;
+
+        /**
+         * Creates the holder of the retained records.
+         *
+         * @param window The window size, used by {@link #WINDOW}.
+         * @return An empty holder.
+         */
+        Retention newRetention(int window) {
+            switch (this) {
+                case RETAIN_ALL:
+                    return new Retention() {
+                        private final List<Object> records = new ArrayList<>();
+
+                        @Override
+                        public void add(Object record) {
+                            records.add(record);
+                        }
+
+                        @Override
+                        public long size() {
+                            return records.size();
+                        }
+                    };
+                case WINDOW:
+                    return new Retention() {
+                        private final Deque<Object> records = new ArrayDeque<>();
+
+                        @Override
+                        public void add(Object record) {
+                            if (records.size() == window) {
+                                records.removeFirst();
+                            }
+                            records.addLast(record);
+                        }
+
+                        @Override
+                        public long size() {
+                            return records.size();
+                        }
+                    };
+                case SOFT:
+                    return new Retention() {
+                        private final List<SoftReference<Object>> records = new ArrayList<>();
+
+                        @Override
+                        public void add(Object record) {
+                            records.add(new SoftReference<>(record));
+                        }
+
+                        @Override
+                        public long size() {
+                            return records.stream().filter(reference -> reference.get() != null).count();
+                        }
+                    };
+                default:
+                    return new Retention() {
+                        @Override
+                        public void add(Object record) {
+                            //dropped at once
+                        }
+
+                        @Override
+                        public long size() {
+                            return 0;
+                        }
+                    };
+            }
+        }
+    }
+
+    /**
+     * Holds the records an experiment keeps alive.
+     */
+    interface Retention {
+
+        void add(Object record);
+
+        long size();
+    }
+
+    private final ObjectModel model;
+    private final GrowthPattern growth;
+    private final RetentionPolicy retention;
+    private final int batchSize;
+    private final int window;
+    private final long maxRecords;
+    private final long maxMillis;
+
+    /**
+     * Constructs a new HeapExperiment.
+     *
+     * @param model      The records allocated.
+     * @param growth     How many records are allocated in each step.
+     * @param retention  How long the records are kept.
+     * @param batchSize  The base number of records allocated per step, which is also how often a sample is taken.
+     * @param window     The number of records kept by {@link RetentionPolicy#WINDOW}.
+     * @param maxRecords The number of records after which the experiment stops, Long.MAX_VALUE for no limit.
+     * @param maxMillis  The time after which the experiment stops, Long.MAX_VALUE for no limit.
+     */
+    public HeapExperiment(ObjectModel model, GrowthPattern growth, RetentionPolicy retention, int batchSize,
+                          int window, long maxRecords, long maxMillis) {
+        this.model = model;
+        this.growth = growth;
+        this.retention = retention;
+        this.batchSize = Math.max(1, batchSize);
+        this.window = Math.max(1, window);
+        this.maxRecords = maxRecords;
+        this.maxMillis = maxMillis;
+    }
+
+    /**
+     * Creates an experiment from system properties prefixed with college.heap, for example
+     * -Dcollege.heap.model=GRADE_ENTRY. Without any property it repeats the original memory leak:
+     * students are kept until the heap runs out.
+     *
+     * @return The configured experiment.
+     */
+    public static HeapExperiment fromSystemProperties() {
+        return new HeapExperiment(
+                ObjectModel.valueOf(System.getProperty("college.heap.model", "STUDENT")),
+                GrowthPattern.valueOf(System.getProperty("college.heap.growth", "LINEAR")),
+                RetentionPolicy.valueOf(System.getProperty("college.heap.retention", "RETAIN_ALL")),
+                Integer.getInteger("college.heap.batchSize", 100_000),
+                Integer.getInteger("college.heap.window", 1_000_000),
+                Long.getLong("college.heap.maxRecords", Long.MAX_VALUE),
+                Long.getLong("college.heap.maxSeconds", Long.MAX_VALUE / 1000) * 1000);
+    }
+
+    public ObjectModel getModel() {
+        return model;
+    }
+
+    public GrowthPattern getGrowth() {
+        return growth;
+    }
+
+    public RetentionPolicy getRetention() {
+        return retention;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getWindow() {
+        return window;
+    }
+
+    public long getMaxRecords() {
+        return maxRecords;
+    }
+
+    public long getMaxMillis() {
+        return maxMillis;
+    }
+
+    @Override
+    public String toString() {
+        return model + " records, " + growth + " growth, " + retention + " retention"
+                + (retention == RetentionPolicy.WINDOW ? " of " + window : "") + ", batches of " + batchSize;
+    }
+}
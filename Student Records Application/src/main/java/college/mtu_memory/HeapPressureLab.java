@@ -0,0 +1,107 @@
+package college.mtu_memory;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The HeapPressureLab class runs a {@link HeapExperiment} and measures its effect on the heap.
+ * <p>
+ * Records are allocated in steps. After every step the heap usage is read from the {@link MemoryMXBean} and
+ * the collection count and time are read from the {@link GarbageCollectorMXBean}s. The experiment stops when
+ * it reaches its record or time limit, when the heap runs out or when its thread is interrupted. The heap
+ * taken by each kept record is found by collecting before the first step and again before the records are
+ * released, and dividing the growth by the number of records kept.
+ */
+public class HeapPressureLab {
+
+    private static final int RESERVE_BYTES = 4 * 1024 * 1024;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+
+    //released when the heap runs out, so the experiment can still be measured and reported
+    private byte[] reserve;
+
+    /**
+     * Runs an experiment on the calling thread. A lab runs one experiment at a time.
+     *
+     * @param experiment The experiment to run.
+     * @return The report of the experiment.
+     */
+    public HeapReport run(HeapExperiment experiment) {
+        HeapExperiment.Retention kept = experiment.getRetention().newRetention(experiment.getWindow());
+        List<HeapSample> samples = new ArrayList<>();
+        reserve = new byte[RESERVE_BYTES];
+
+        memory.gc();
+        long baseline = memory.getHeapMemoryUsage().getUsed();
+        long gcCountAtStart = gcCount();
+        long gcMillisAtStart = gcMillis();
+        long started = System.currentTimeMillis();
+
+        long created = 0;
+        String outcome;
+        try {
+            int step = 0;
+            while (true) {
+                if (created >= experiment.getMaxRecords()) {
+                    outcome = "Stopped at " + created + " records";
+                    break;
+                }
+                if (System.currentTimeMillis() - started >= experiment.getMaxMillis()) {
+                    outcome = "Stopped after " + experiment.getMaxMillis() / 1000 + " seconds";
+                    break;
+                }
+                if (Thread.currentThread().isInterrupted()) {
+                    outcome = "Cancelled";
+                    break;
+                }
+                long batch = Math.min(experiment.getGrowth().batchSize(step++, experiment.getBatchSize()),
+                        experiment.getMaxRecords() - created);
+                for (long i = 0; i < batch; i++) {
+                    kept.add(experiment.getModel().create(created++));
+                }
+                samples.add(sample(started, created, kept.size(), gcCountAtStart, gcMillisAtStart));
+            }
+        } catch (OutOfMemoryError e) {
+            //the kept records are still reachable, so the heap can be measured before they are released
+            reserve = null;
+            outcome = "Out of memory after " + created + " records";
+        }
+
+        memory.gc();
+        long retainedBytes = Math.max(0, memory.getHeapMemoryUsage().getUsed() - baseline);
+        samples.add(sample(started, created, kept.size(), gcCountAtStart, gcMillisAtStart));
+        //keep the records reachable until they have been measured
+        long recordsRetained = kept.size();
+        reserve = null;
+        return new HeapReport(experiment, samples, outcome, recordsRetained, retainedBytes,
+                memory.getHeapMemoryUsage().getMax());
+    }
+
+    private HeapSample sample(long started, long created, long retained, long gcCountAtStart, long gcMillisAtStart) {
+        MemoryUsage heap = memory.getHeapMemoryUsage();
+        return new HeapSample(System.currentTimeMillis() - started, created, retained, heap.getUsed(),
+                heap.getCommitted(), gcCount() - gcCountAtStart, gcMillis() - gcMillisAtStart);
+    }
+
+    private long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            count += Math.max(0, collector.getCollectionCount());
+        }
+        return count;
+    }
+
+    private long gcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            millis += Math.max(0, collector.getCollectionTime());
+        }
+        return millis;
+    }
+}
@@ -0,0 +1,145 @@
+package college.mtu_memory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * The HeapReport class holds the outcome of a heap experiment: the samples taken while it ran, the garbage
+ * collection work it caused and the heap taken by each record it kept.
+ */
+public class HeapReport {
+
+    private final HeapExperiment experiment;
+    private final List<HeapSample> samples;
+    private final String outcome;
+    private final long recordsRetained;
+    private final long retainedBytes;
+    private final long maxHeap;
+
+    /**
+     * Constructs a new HeapReport.
+     *
+     * @param experiment      The experiment that was run.
+     * @param samples         The samples taken while it ran, in order.
+     * @param outcome         Why the experiment stopped.
+     * @param recordsRetained The number of records kept when it stopped.
+     * @param retainedBytes   The growth of the heap after a collection from the start to the end of the experiment.
+     * @param maxHeap         The largest heap the JVM may use, or -1 if it has no limit.
+     */
+    public HeapReport(HeapExperiment experiment, List<HeapSample> samples, String outcome, long recordsRetained,
+                      long retainedBytes, long maxHeap) {
+        this.experiment = experiment;
+        this.samples = List.copyOf(samples);
+        this.outcome = outcome;
+        this.recordsRetained = recordsRetained;
+        this.retainedBytes = retainedBytes;
+        this.maxHeap = maxHeap;
+    }
+
+    public HeapExperiment getExperiment() {
+        return experiment;
+    }
+
+    public List<HeapSample> getSamples() {
+        return samples;
+    }
+
+    public String getOutcome() {
+        return outcome;
+    }
+
+    public long getRecordsRetained() {
+        return recordsRetained;
+    }
+
+    /**
+     * Returns the heap taken by each kept record, including the objects it refers to and its share of the
+     * collection holding it.
+     *
+     * @return The bytes per kept record, or 0 if no record was kept.
+     */
+    public double getBytesPerRecord() {
+        return recordsRetained > 0 ? (double) retainedBytes / recordsRetained : 0;
+    }
+
+    /**
+     * Returns the number of collections during the experiment.
+     *
+     * @return The collection count.
+     */
+    public long getGcCount() {
+        return samples.isEmpty() ? 0 : samples.get(samples.size() - 1).getGcCount();
+    }
+
+    /**
+     * Returns the time the collectors reported spending during the experiment.
+     *
+     * @return The collection time in milliseconds.
+     */
+    public long getGcMillis() {
+        return samples.isEmpty() ? 0 : samples.get(samples.size() - 1).getGcMillis();
+    }
+
+    /**
+     * Returns the time the experiment ran.
+     *
+     * @return The elapsed time in milliseconds.
+     */
+    public long getElapsedMillis() {
+        return samples.isEmpty() ? 0 : samples.get(samples.size() - 1).getElapsedMillis();
+    }
+
+    /**
+     * Estimates how many records of this experiment fit in the given heap, leaving nothing for the rest
+     * of the application.
+     *
+     * @param heapBytes The heap size in bytes.
+     * @return The number of records, or 0 if no record was kept.
+     */
+    public long recordsPerHeap(long heapBytes) {
+        double bytesPerRecord = getBytesPerRecord();
+        return bytesPerRecord > 0 ? (long) (heapBytes / bytesPerRecord) : 0;
+    }
+
+    /**
+     * Writes the report as a summary followed by every sample as CSV.
+     *
+     * @param file The file to write.
+     * @throws IOException if the file cannot be written.
+     */
+    public void writeTo(Path file) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("# Heap experiment: " + experiment);
+            out.newLine();
+            for (String line : toString().split("\n")) {
+                out.write("# " + line);
+                out.newLine();
+            }
+            out.write(HeapSample.CSV_HEADER);
+            out.newLine();
+            for (HeapSample sample : samples) {
+                out.write(sample.toCsv());
+                out.newLine();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder summary = new StringBuilder()
+                .append("Outcome: ").append(outcome).append('\n')
+                .append("Elapsed: ").append(getElapsedMillis()).append(" ms\n")
+                .append("Records kept: ").append(recordsRetained).append('\n')
+                .append(String.format("Bytes per kept record: %.1f%n", getBytesPerRecord()))
+                .append("Collections: ").append(getGcCount()).append(", ").append(getGcMillis()).append(" ms\n");
+        if (maxHeap > 0) {
+            summary.append("Maximum heap: ").append(maxHeap / (1024 * 1024)).append(" MB, room for about ")
+                    .append(recordsPerHeap(maxHeap)).append(" records\n");
+        }
+        return summary.toString();
+    }
+}
@@ -0,0 +1,81 @@
+package college.mtu_memory;
+
+/**
+ * The HeapSample class holds the state of the heap at one point of a heap experiment.
+ */
+public class HeapSample {
+
+    /**
+     * The column names of {@link #toCsv()}.
+     */
+    public static final String CSV_HEADER =
+            "elapsedMillis,recordsCreated,recordsRetained,heapUsed,heapCommitted,gcCount,gcMillis";
+
+    private final long elapsedMillis;
+    private final long recordsCreated;
+    private final long recordsRetained;
+    private final long heapUsed;
+    private final long heapCommitted;
+    private final long gcCount;
+    private final long gcMillis;
+
+    /**
+     * Constructs a new HeapSample.
+     *
+     * @param elapsedMillis   The time since the experiment started.
+     * @param recordsCreated  The number of records allocated so far.
+     * @param recordsRetained The number of records still kept.
+     * @param heapUsed        The heap in use, in bytes.
+     * @param heapCommitted   The heap reserved by the JVM, in bytes.
+     * @param gcCount         The number of collections since the experiment started.
+     * @param gcMillis        The time spent collecting since the experiment started.
+     */
+    public HeapSample(long elapsedMillis, long recordsCreated, long recordsRetained, long heapUsed,
+                      long heapCommitted, long gcCount, long gcMillis) {
+        this.elapsedMillis = elapsedMillis;
+        this.recordsCreated = recordsCreated;
+        this.recordsRetained = recordsRetained;
+        this.heapUsed = heapUsed;
+        this.heapCommitted = heapCommitted;
+        this.gcCount = gcCount;
+        this.gcMillis = gcMillis;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public long getRecordsCreated() {
+        return recordsCreated;
+    }
+
+    public long getRecordsRetained() {
+        return recordsRetained;
+    }
+
+    public long getHeapUsed() {
+        return heapUsed;
+    }
+
+    public long getHeapCommitted() {
+        return heapCommitted;
+    }
+
+    public long getGcCount() {
+        return gcCount;
+    }
+
+    public long getGcMillis() {
+        return gcMillis;
+    }
+
+    /**
+     * Returns the sample as one CSV line, in the column order of {@link #CSV_HEADER}.
+     *
+     * @return The CSV line.
+     */
+    public String toCsv() {
+        return elapsedMillis + "," + recordsCreated + "," + recordsRetained + "," + heapUsed + ","
+                + heapCommitted + "," + gcCount + "," + gcMillis;
+    }
+}
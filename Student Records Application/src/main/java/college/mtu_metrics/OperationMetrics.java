@@ -0,0 +1,97 @@
+package college.mtu_metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The OperationMetrics class counts the calls of one operation, how many failed, and how long they took.
+ */
+public class OperationMetrics implements OperationMetricsMXBean {
+
+    private final String operation;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+
+    /**
+     * Constructs a new OperationMetrics.
+     *
+     * @param operation The name of the operation.
+     */
+    public OperationMetrics(String operation) {
+        this.operation = operation;
+    }
+
+    /**
+     * Records one call.
+     *
+     * @param startNanos The System.nanoTime() when the call started.
+     * @param succeeded  Whether the call succeeded.
+     */
+    public void record(long startNanos, boolean succeeded) {
+        latencies.record(System.nanoTime() - startNanos);
+        if (!succeeded) {
+            errors.increment();
+        }
+    }
+
+    @Override
+    public String getOperation() {
+        return operation;
+    }
+
+    @Override
+    public long getCount() {
+        return latencies.getCount();
+    }
+
+    @Override
+    public long getSuccessCount() {
+        return latencies.getCount() - errors.sum();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    @Override
+    public double getMeanMillis() {
+        return latencies.getMeanMillis();
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return latencies.getMaxMillis();
+    }
+
+    @Override
+    public double getP50Millis() {
+        return latencies.getPercentileMillis(50);
+    }
+
+    @Override
+    public double getP90Millis() {
+        return latencies.getPercentileMillis(90);
+    }
+
+    @Override
+    public double getP99Millis() {
+        return latencies.getPercentileMillis(99);
+    }
+
+    @Override
+    public double getP999Millis() {
+        return latencies.getPercentileMillis(99.9);
+    }
+
+    @Override
+    public void reset() {
+        latencies.reset();
+        errors.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d calls, %d errors, p50 %.2f ms, p99 %.2f ms, max %.2f ms",
+                operation, getCount(), getErrorCount(), getP50Millis(), getP99Millis(), getMaxMillis());
+    }
+}
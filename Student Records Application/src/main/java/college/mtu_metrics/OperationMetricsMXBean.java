@@ -0,0 +1,33 @@
+package college.mtu_metrics;
+
+/**
+ * The management interface of {@link OperationMetrics}, published on the platform MBean server so the
+ * latencies can be read with JConsole, VisualVM or any other JMX client. Durations are in milliseconds.
+ */
+public interface OperationMetricsMXBean {
+
+    String getOperation();
+
+    long getCount();
+
+    long getSuccessCount();
+
+    long getErrorCount();
+
+    double getMeanMillis();
+
+    double getMaxMillis();
+
+    double getP50Millis();
+
+    double getP90Millis();
+
+    double getP99Millis();
+
+    double getP999Millis();
+
+    /**
+     * Forgets every recorded call, for example before a measurement.
+     */
+    void reset();
+}
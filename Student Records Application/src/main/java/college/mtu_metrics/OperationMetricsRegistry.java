@@ -0,0 +1,94 @@
+package college.mtu_metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The OperationMetricsRegistry class holds the metrics of every operation and publishes each one as a platform
+ * MBean named college.student_records:type=Operation,name=&lt;operation&gt;.
+ * <p>
+ * The metrics of an operation are created the first time it is called. Publishing is optional: when it is
+ * turned off, or the MBean server refuses a bean, the metrics are still kept and can be read directly.
+ */
+public class OperationMetricsRegistry {
+
+    static final String DOMAIN = "college.student_records";
+
+    private final Map<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+    private final MBeanServer server;
+
+    /**
+     * Constructs a new OperationMetricsRegistry.
+     *
+     * @param publish Whether to publish the metrics on the platform MBean server.
+     */
+    public OperationMetricsRegistry(boolean publish) {
+        this.server = publish ? ManagementFactory.getPlatformMBeanServer() : null;
+    }
+
+    /**
+     * Returns the metrics of an operation, creating and publishing them on first use.
+     *
+     * @param operation The name of the operation.
+     * @return The metrics of the operation.
+     */
+    public OperationMetrics operation(String operation) {
+        OperationMetrics metrics = operations.get(operation);
+        return metrics != null ? metrics : operations.computeIfAbsent(operation, this::create);
+    }
+
+    /**
+     * Returns the metrics of every operation called so far.
+     *
+     * @return A new list of the metrics.
+     */
+    public List<OperationMetrics> getAll() {
+        return new ArrayList<>(operations.values());
+    }
+
+    /**
+     * Removes the published MBeans, for example when the application closes.
+     */
+    public void unpublish() {
+        if (server == null) {
+            return;
+        }
+        for (String operation : operations.keySet()) {
+            try {
+                ObjectName name = objectName(operation);
+                if (server.isRegistered(name)) {
+                    server.unregisterMBean(name);
+                }
+            } catch (JMException e) {
+                System.err.println("Error removing metrics of " + operation + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private OperationMetrics create(String operation) {
+        OperationMetrics metrics = new OperationMetrics(operation);
+        if (server != null) {
+            try {
+                ObjectName name = objectName(operation);
+                //a second controller in the same JVM takes over the name
+                if (server.isRegistered(name)) {
+                    server.unregisterMBean(name);
+                }
+                server.registerMBean(metrics, name);
+            } catch (JMException e) {
+                System.err.println("Error publishing metrics of " + operation + ": " + e.getMessage());
+            }
+        }
+        return metrics;
+    }
+
+    static ObjectName objectName(String operation) throws JMException {
+        return new ObjectName(DOMAIN + ":type=Operation,name=" + operation);
+    }
+}
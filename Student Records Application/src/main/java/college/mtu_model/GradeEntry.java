@@ -0,0 +1,49 @@
+package college.mtu_model;
+
+/**
+ * This class represents one grade to be written for a student in a module.
+ * Unlike {@link Grade}, it only holds the IDs of the student and the module, so many entries can be
+ * submitted together without loading the students and modules first.
+ */
+public class GradeEntry {
+
+    private final String studentId;
+    private final String moduleCode;
+    private final double grade;
+
+    /**
+     * Constructs a new GradeEntry object.
+     *
+     * @param studentId  The ID of the student who received the grade.
+     * @param moduleCode The code of the module the grade was received for.
+     * @param grade      The grade received by the student.
+     */
+    public GradeEntry(String studentId, String moduleCode, double grade) {
+        this.studentId = studentId;
+        this.moduleCode = moduleCode;
+        this.grade = grade;
+    }
+
+    public String getStudentId() {
+        return studentId;
+    }
+
+    public String getModuleCode() {
+        return moduleCode;
+    }
+
+    public double getGrade() {
+        return grade;
+    }
+
+    @Override
+    public String toString() {
+
+        return "Student ID: " + studentId +
+                " | " +
+                "Module Code: " + moduleCode +
+                " | " +
+                "Grade: " + grade +
+                "\n";
+    }
+}
@@ -0,0 +1,38 @@
+package college.mtu_model;
+
+/**
+ * This class represents one row of a student's results: the name of a module and the grade received for it.
+ */
+public class ModuleGrade {
+
+    private final String moduleName;
+    private final float grade;
+
+    /**
+     * Constructs a new ModuleGrade object.
+     *
+     * @param moduleName The name of the module.
+     * @param grade      The grade received for the module.
+     */
+    public ModuleGrade(String moduleName, float grade) {
+        this.moduleName = moduleName;
+        this.grade = grade;
+    }
+
+    public String getModuleName() {
+        return moduleName;
+    }
+
+    public float getGrade() {
+        return grade;
+    }
+
+    @Override
+    public String toString() {
+
+        return "Module Name: " + moduleName +
+                " | " +
+                "Grade: " + grade +
+                "\n";
+    }
+}
@@ -0,0 +1,257 @@
+package college.mtu_model;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class holds many students in a compact, column-per-field layout for bulk work in memory.
+ * <p>
+ * Instead of one {@link Student} object with three strings per student, each field is kept in its own primitive
+ * array: the six digits after "R00" of the student ID as an int, the date of birth as a day number, the
+ * semester as a byte and the name as an index into a pool that stores each distinct name once. A student takes
+ * about 13 bytes plus its share of the name pool, and {@link Student} objects are only created when asked for.
+ * <p>
+ * Students are found by ID with a binary search while they are added in ID order, and with a scan otherwise.
+ * The table is not thread-safe.
+ */
+public class StudentTable {
+
+    private static final String ID_PREFIX = "R00";
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private int[] ids;
+    private int[] birthDays;
+    private byte[] semesters;
+    private int[] names;
+    private int size;
+    private boolean sortedById = true;
+
+    //every distinct name once, and the position of each name in that list
+    private final List<String> namePool = new ArrayList<>();
+    private final Map<String, Integer> nameIndex = new HashMap<>();
+
+    /**
+     * Constructs a new, empty StudentTable.
+     *
+     * @param capacity The number of students the table holds before it has to grow.
+     */
+    public StudentTable(int capacity) {
+        capacity = Math.max(16, capacity);
+        ids = new int[capacity];
+        birthDays = new int[capacity];
+        semesters = new byte[capacity];
+        names = new int[capacity];
+    }
+
+    /**
+     * Creates a table holding the given students, in the same order.
+     *
+     * @param students The students to copy into the table.
+     * @return A new table.
+     * @throws IllegalArgumentException if a student cannot be packed, see {@link #add(Student)}.
+     */
+    public static StudentTable of(List<Student> students) {
+        StudentTable table = new StudentTable(students.size());
+        for (Student student : students) {
+            table.add(student);
+        }
+        return table;
+    }
+
+    /**
+     * Adds a student to the end of the table.
+     *
+     * @param student The student to add.
+     * @return The row of the student.
+     * @throws IllegalArgumentException if the ID is not "R00" followed by six digits, the date of birth is not
+     *                                  in dd/MM/yyyy form or the semester does not fit in a byte.
+     */
+    public int add(Student student) {
+        return add(student.getStudentName(), student.getStudentId(), student.getDateOfBirth(),
+                student.getCurrentSemester());
+    }
+
+    /**
+     * Adds a student to the end of the table.
+     *
+     * @param studentName     The name of the student.
+     * @param studentId       The ID of the student.
+     * @param dateOfBirth     The date of birth of the student.
+     * @param currentSemester The current semester of the student.
+     * @return The row of the student.
+     * @throws IllegalArgumentException if a field cannot be packed, see {@link #add(Student)}.
+     */
+    public int add(String studentName, String studentId, String dateOfBirth, int currentSemester) {
+        int id = packId(studentId);
+        int birthDay = packDate(dateOfBirth);
+        if (currentSemester < Byte.MIN_VALUE || currentSemester > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Semester out of range: " + currentSemester);
+        }
+        if (size == ids.length) {
+            grow();
+        }
+        if (size > 0 && id <= ids[size - 1]) {
+            sortedById = false;
+        }
+        ids[size] = id;
+        birthDays[size] = birthDay;
+        semesters[size] = (byte) currentSemester;
+        names[size] = poolName(studentName);
+        return size++;
+    }
+
+    /**
+     * Returns the number of students in the table.
+     *
+     * @return The number of students.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of distinct names in the table.
+     *
+     * @return The size of the name pool.
+     */
+    public int getNameCount() {
+        return namePool.size();
+    }
+
+    /**
+     * Creates a Student object for a row. The table keeps no reference to it, so changing it does not change
+     * the table.
+     *
+     * @param row The row of the student.
+     * @return A new Student.
+     */
+    public Student get(int row) {
+        return new Student(getStudentName(row), getStudentId(row), getDateOfBirth(row), getCurrentSemester(row));
+    }
+
+    public String getStudentName(int row) {
+        return namePool.get(names[check(row)]);
+    }
+
+    public String getStudentId(int row) {
+        String digits = Integer.toString(ids[check(row)]);
+        return ID_PREFIX + "000000".substring(digits.length()) + digits;
+    }
+
+    public String getDateOfBirth(int row) {
+        return LocalDate.ofEpochDay(birthDays[check(row)]).format(DATE_FORMAT);
+    }
+
+    /**
+     * Returns the date of birth of a row as a day number, for comparing ages without creating dates.
+     *
+     * @param row The row of the student.
+     * @return The number of days from 1970-01-01 to the date of birth.
+     */
+    public int getBirthDay(int row) {
+        return birthDays[check(row)];
+    }
+
+    public int getCurrentSemester(int row) {
+        return semesters[check(row)];
+    }
+
+    /**
+     * Finds the row of the student with the given ID.
+     *
+     * @param studentId The student ID.
+     * @return The row, or -1 if the table holds no such student or the ID cannot be packed.
+     */
+    public int indexOf(String studentId) {
+        int id;
+        try {
+            id = packId(studentId);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+        if (sortedById) {
+            int row = Arrays.binarySearch(ids, 0, size, id);
+            return row >= 0 ? row : -1;
+        }
+        for (int row = 0; row < size; row++) {
+            if (ids[row] == id) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Creates a Student object for every row, in row order.
+     *
+     * @return A new list of students.
+     */
+    public List<Student> toList() {
+        List<Student> students = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            students.add(get(row));
+        }
+        return students;
+    }
+
+    /**
+     * Packs a student ID into the number after its "R00" prefix.
+     *
+     * @param studentId The student ID.
+     * @return The packed ID.
+     * @throws IllegalArgumentException if the ID is not "R00" followed by six digits.
+     */
+    public static int packId(String studentId) {
+        if (studentId == null || studentId.length() != 9 || !studentId.startsWith(ID_PREFIX)) {
+            throw new IllegalArgumentException("Student ID must be R00 followed by six digits: " + studentId);
+        }
+        int id = 0;
+        for (int i = ID_PREFIX.length(); i < studentId.length(); i++) {
+            char c = studentId.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new IllegalArgumentException("Student ID must be R00 followed by six digits: " + studentId);
+            }
+            id = id * 10 + (c - '0');
+        }
+        return id;
+    }
+
+    private static int packDate(String dateOfBirth) {
+        try {
+            return (int) LocalDate.parse(dateOfBirth, DATE_FORMAT).toEpochDay();
+        } catch (DateTimeParseException | NullPointerException e) {
+            throw new IllegalArgumentException("Date of birth must be in dd/MM/yyyy form: " + dateOfBirth, e);
+        }
+    }
+
+    private int poolName(String studentName) {
+        Integer index = nameIndex.get(studentName);
+        if (index == null) {
+            index = namePool.size();
+            namePool.add(studentName);
+            nameIndex.put(studentName, index);
+        }
+        return index;
+    }
+
+    private int check(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " of " + size);
+        }
+        return row;
+    }
+
+    private void grow() {
+        int capacity = ids.length + (ids.length >> 1);
+        ids = Arrays.copyOf(ids, capacity);
+        birthDays = Arrays.copyOf(birthDays, capacity);
+        semesters = Arrays.copyOf(semesters, capacity);
+        names = Arrays.copyOf(names, capacity);
+    }
+}
@@ -0,0 +1,41 @@
+package college.mtu_model;
+
+import java.util.Comparator;
+
+/**
+ * This enum lists the orders a student's transcript can be shown in.
+ * Each order compares on a second key when the first is equal, so equal rows keep a predictable place.
+ * The comparators are created once and shared.
+ */
+public enum TranscriptOrder {
+
+    /**
+     * By module name from A to Z, ignoring case, then by highest grade.
+     */
+    ALPHABETICAL(Comparator.comparing(ModuleGrade::getModuleName, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(Comparator.comparingDouble(ModuleGrade::getGrade).reversed())),
+
+    /**
+     * By highest grade first, then by module name from A to Z.
+     */
+    NUMERICAL(Comparator.comparingDouble(ModuleGrade::getGrade).reversed()
+            .thenComparing(ModuleGrade::getModuleName, String.CASE_INSENSITIVE_ORDER));
+
+    private final Comparator<ModuleGrade> comparator;
+    private final Comparator<ModuleGrade> reversed;
+
+    TranscriptOrder(Comparator<ModuleGrade> comparator) {
+        this.comparator = comparator;
+        this.reversed = comparator.reversed();
+    }
+
+    /**
+     * Returns the comparator of this order.
+     *
+     * @param reverse Whether to return the order reversed.
+     * @return The shared comparator.
+     */
+    public Comparator<ModuleGrade> comparator(boolean reverse) {
+        return reverse ? reversed : comparator;
+    }
+}
@@ -0,0 +1,137 @@
+package college.mtu_records;
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyStringProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleStringProperty;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The BackgroundTasks class runs database work away from the JavaFX application thread.
+ * <p>
+ * Every submitted task returns a CompletableFuture. While any task is running the running count
+ * and description properties can be bound by the view to show an in-progress state, and every
+ * running task can be cancelled, which interrupts its worker thread and discards its result.
+ */
+public class BackgroundTasks {
+
+    //executor used to hand results back to the JavaFX application thread
+    public static final Executor FX = BackgroundTasks::runOnFx;
+
+    private final ExecutorService executor;
+    private final Set<CompletableFuture<?>> running = ConcurrentHashMap.newKeySet();
+    private final SimpleIntegerProperty runningCount = new SimpleIntegerProperty(0);
+    private final SimpleStringProperty description = new SimpleStringProperty("");
+
+    /**
+     * Constructs a new BackgroundTasks with the given number of worker threads.
+     *
+     * @param threads The number of tasks that can run at the same time.
+     */
+    public BackgroundTasks(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "controller-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Runs the given work on a worker thread.
+     *
+     * @param description A short description of the work, shown while it is running.
+     * @param work        The work to run.
+     * @param <T>         The type of the result.
+     * @return A future completed with the result of the work, or exceptionally if it fails or is cancelled.
+     */
+    public <T> CompletableFuture<T> submit(String description, Callable<T> work) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> worker = executor.submit(() -> {
+            try {
+                result.complete(work.call());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+
+        running.add(result);
+        runOnFx(() -> {
+            runningCount.set(runningCount.get() + 1);
+            this.description.set(description);
+        });
+
+        result.whenComplete((value, error) -> {
+            //cancelling the future interrupts the worker so blocking calls can give up early
+            if (result.isCancelled()) {
+                worker.cancel(true);
+            }
+            running.remove(result);
+            runOnFx(() -> {
+                runningCount.set(runningCount.get() - 1);
+                if (runningCount.get() == 0) {
+                    this.description.set("");
+                }
+            });
+        });
+        return result;
+    }
+
+    /**
+     * Cancels every task that is still running.
+     */
+    public void cancelAll() {
+        for (CompletableFuture<?> future : running) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * Returns the number of running tasks, updated on the JavaFX application thread.
+     *
+     * @return A property holding the number of running tasks.
+     */
+    public ReadOnlyIntegerProperty runningCountProperty() {
+        return runningCount;
+    }
+
+    /**
+     * Returns the description of the most recently started task, or an empty string when idle.
+     *
+     * @return A property holding the task description.
+     */
+    public ReadOnlyStringProperty descriptionProperty() {
+        return description;
+    }
+
+    /**
+     * Stops the worker threads.
+     */
+    public void shutdown() {
+        cancelAll();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Runs the given action on the JavaFX application thread, immediately if already on it.
+     *
+     * @param action The action to run.
+     */
+    public static void runOnFx(Runnable action) {
+        if (Platform.isFxApplicationThread()) {
+            action.run();
+        } else {
+            Platform.runLater(action);
+        }
+    }
+}
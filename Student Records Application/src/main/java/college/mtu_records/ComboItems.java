@@ -0,0 +1,94 @@
+package college.mtu_records;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The ComboItems class keeps the items of a combo box sorted while single records are added and removed.
+ * <p>
+ * Items have the form "ID | name", so sorting them as strings sorts them by ID. Adding or removing one record
+ * only touches one item, instead of replacing every item of the combo box.
+ */
+public final class ComboItems {
+
+    private static final String SEPARATOR = " | ";
+
+    private ComboItems() {
+    }
+
+    /**
+     * Builds the combo box item for a record.
+     *
+     * @param id   The record ID.
+     * @param name The record name.
+     * @return The item shown in the combo box.
+     */
+    public static String item(String id, String name) {
+        return id + SEPARATOR + name;
+    }
+
+    /**
+     * Inserts an item at its sorted position, replacing an item with the same ID.
+     *
+     * @param items The sorted items.
+     * @param id    The record ID.
+     * @param name  The record name.
+     */
+    public static void insert(List<String> items, String id, String name) {
+        String item = item(id, name);
+        int index = find(items, id);
+        if (index >= 0) {
+            items.set(index, item);
+        } else {
+            items.add(-index - 1, item);
+        }
+    }
+
+    /**
+     * Removes the item with the given ID.
+     *
+     * @param items The sorted items.
+     * @param id    The record ID.
+     * @return true if an item was removed.
+     */
+    public static boolean remove(List<String> items, String id) {
+        int index = find(items, id);
+        if (index < 0) {
+            return false;
+        }
+        items.remove(index);
+        return true;
+    }
+
+    /**
+     * Finds the item with the given ID with a binary search.
+     *
+     * @param items The sorted items.
+     * @param id    The record ID.
+     * @return The index of the item, or (-(insertion point) - 1) if there is none, as in Collections.binarySearch.
+     */
+    public static int find(List<String> items, String id) {
+        String prefix = id + SEPARATOR;
+        //every item with this ID sorts at or after the bare prefix
+        int index = Collections.binarySearch(items, prefix);
+        if (index >= 0) {
+            return index;
+        }
+        int insertion = -index - 1;
+        if (insertion < items.size() && items.get(insertion).startsWith(prefix)) {
+            return insertion;
+        }
+        return index;
+    }
+
+    /**
+     * Returns the ID part of a combo box item.
+     *
+     * @param item The item shown in the combo box.
+     * @return The record ID.
+     */
+    public static String id(String item) {
+        int end = item.indexOf(SEPARATOR);
+        return end < 0 ? item : item.substring(0, end);
+    }
+}
@@ -1,29 +1,66 @@
 package college.mtu_records;
 
+import college.mtu_analytics.GradeStatistics;
 import college.mtu_database.Database;
-import college.mtu_model.Grade;
+import college.mtu_database.ResourceTracker;
+import college.mtu_database.SlowQueryLog;
+import college.mtu_export.ExportFormat;
+import college.mtu_export.TranscriptExporter;
+import college.mtu_import.CsvImporter;
+import college.mtu_import.ImportKind;
+import college.mtu_memory.HeapExperiment;
+import college.mtu_memory.HeapPressureLab;
+import college.mtu_memory.HeapReport;
+import college.mtu_metrics.OperationMetrics;
+import college.mtu_metrics.OperationMetricsRegistry;
+import college.mtu_model.GradeEntry;
 import college.mtu_model.Module;
+import college.mtu_model.ModuleGrade;
 import college.mtu_model.Student;
+import college.mtu_model.TranscriptOrder;
+import college.mtu_reports.CohortReports;
+import college.mtu_reports.ModuleFailures;
+import college.mtu_reports.ReportCache;
+import college.mtu_reports.SemesterPassRates;
+import college.mtu_repository.GradeRepository;
+import college.mtu_repository.ModuleRepository;
+import college.mtu_repository.PrefixIndex;
+import college.mtu_repository.RecordCache;
+import college.mtu_repository.StudentRepository;
+import college.mtu_storage.JdbcRecordStore;
+import college.mtu_storage.LogRecordStore;
+import college.mtu_storage.RecordStore;
+import college.mtu_storage.StorageException;
+import college.mtu_storage.TranscriptScope;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.scene.control.*;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.ButtonType;
+import javafx.stage.FileChooser;
 
-import java.sql.*;
-import java.time.LocalDate;
-import java.time.Period;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
 
 /**
  * The Controller class manages the logic for the student record system.
  * <p>
- * It holds references to the view, student, module, grade and connection objects.
+ * It holds references to the view, student, module and database objects.
  * <p>
  * It also maintains lists for students, modules, grades, and list box components.
+ * <p>
+ * Database work runs on background threads and its results are applied on the JavaFX application thread,
+ * so every data operation returns a CompletableFuture that completes once the view has been updated.
  */
 public class Controller {
 
@@ -31,41 +68,90 @@ public class Controller {
     private View view;
     private Student student;
     private Module module;
-    private Grade grade;
-    private Statement statement;
-    private Connection connection;
-
-
-    //list box components for displaying records
-    protected TextArea list1, list2, list3, list4;
-
-    //lists for managing records
-    protected ArrayList<Student> studentsList = new ArrayList<>();
-    protected ArrayList<Module> modulesList = new ArrayList<>();
-    protected ArrayList<String> gradesList = new ArrayList<>();
-    protected ArrayList<String> studentListCombo = new ArrayList<>();
-    protected ArrayList<String> moduleListCombo = new ArrayList<>();
-    protected ObservableList<String> observableList = FXCollections.observableArrayList(studentListCombo);
-    protected ObservableList<String> observableListModule = FXCollections.observableArrayList(moduleListCombo);
+    private Database database;
+    private RecordStore store;
+    private StudentRepository studentRepository;
+    private ModuleRepository moduleRepository;
+    private GradeRepository gradeRepository;
+    private GradeStatistics statistics;
+    private CohortReports reports;
+    //latencies of the operations, published over JMX unless college.metrics.jmx is false
+    private final OperationMetricsRegistry metrics =
+            new OperationMetricsRegistry(Boolean.parseBoolean(System.getProperty("college.metrics.jmx", "true")));
+    private BackgroundTasks tasks;
+    private final RecordValidator validator = new RecordValidator();
+
+    //lookups that are superseded whenever the selection changes
+    private CompletableFuture<ModuleChoices> pendingModules;
+    private CompletableFuture<String> pendingModifyCheck;
+
+    //finds students by a prefix of their ID or name, kept in step with the student combo box
+    private PrefixIndex<String> studentIndex = new PrefixIndex<>();
+
+    //the highest semester of the modules shown in the module combo box, so added modules can be placed in it
+    private int visibleModuleSemester = Integer.MIN_VALUE;
+
+    //listings are read one page at a time, continuing after the last record shown
+    private final int pageSize = Integer.getInteger("college.list.pageSize", 200);
+    private String lastStudentListed;
+    private String lastModuleListed;
+
+    //the order the transcript in list4 was last sorted in, null until it is sorted
+    private TranscriptOrder transcriptOrder;
+    private boolean transcriptReversed;
+
+    //the outcome of the last operation, shown in the status bar
+    private final StringProperty message = new SimpleStringProperty("");
+
+
+    //tables and list box components for displaying records
+    protected TableView<Student> list1;
+    protected TableView<Module> list2;
+    protected TextArea list3;
+    protected TableView<ModuleGrade> list4;
+    protected Label studentDetails;
+
+    //lists for managing records, shown by the tables above
+    protected ObservableList<Student> studentsList = FXCollections.observableArrayList();
+    protected ObservableList<Module> modulesList = FXCollections.observableArrayList();
+    protected ObservableList<ModuleGrade> gradesList = FXCollections.observableArrayList();
+    //combo box items, kept sorted by ID and updated one record at a time, see ComboItems
+    protected ObservableList<String> observableList = FXCollections.observableArrayList();
+    protected ObservableList<String> observableListModule = FXCollections.observableArrayList();
 
     /**
-     * Constructor that sets the view and establishes a database connection.
+     * Constructor that sets the view, opens the record store and creates the background workers.
+     * <p>
+     * Records are kept in the MySQL database, where each operation leases its own connection from the pool,
+     * unless the system property college.storage is set to "embedded". The records are then kept in local
+     * files in the directory named by college.storage.dir, so no database server is needed.
      *
      * @param v The view to be associated with the controller.
      */
     public Controller(View v) {
         this.view = v;
-        Database database = new Database();
-        this.connection = database.getConnection();
-        try {
-            if (connection != null) {
-                statement = connection.createStatement();
-            } else {
-                System.err.println("Error: Connection is null. Cannot create statement.");
+        if ("embedded".equalsIgnoreCase(System.getProperty("college.storage", "mysql"))) {
+            try {
+                this.store = new LogRecordStore(Paths.get(System.getProperty("college.storage.dir", "records")));
+            } catch (StorageException e) {
+                throw new IllegalStateException(e.getMessage(), e);
             }
-        } catch (Exception e) {
-            e.printStackTrace();
+            this.tasks = new BackgroundTasks(Integer.getInteger("college.workers", 4));
+        } else {
+            this.database = new Database();
+            this.store = new JdbcRecordStore(database, Integer.getInteger("college.import.batchSize", 1000));
+            this.tasks = new BackgroundTasks(database.getPool().getMaxSize());
         }
+        long cacheTtl = Long.getLong("college.cache.ttlMs", 5 * 60 * 1000L);
+        this.studentRepository = new StudentRepository(store,
+                new RecordCache<>(Integer.getInteger("college.cache.students", 10000), cacheTtl));
+        this.moduleRepository = new ModuleRepository(store,
+                new RecordCache<>(Integer.getInteger("college.cache.modules", 1000), cacheTtl));
+        this.statistics = new GradeStatistics();
+        this.gradeRepository = new GradeRepository(store, statistics);
+        this.reports = new CohortReports(store,
+                new ReportCache(Integer.getInteger("college.reports.cacheSize", 1000)));
+        reloadStatistics();
     }
 
     /**
@@ -81,11 +167,7 @@ public class Controller {
      * @return A validation error message if the name is empty, otherwise null.
      */
     public String validateStudentName(String name) {
-        if (name == null || name.trim().isEmpty()) {
-            return "Student name cannot be empty.";
-        }
-        //null indicates student name is valid
-        return null;
+        return validator.validateStudentName(name);
     }
 
     /**
@@ -95,11 +177,7 @@ public class Controller {
      * @return A validation error message if the name is empty, otherwise null.
      */
     public String validateModuleName(String name) {
-        if (name == null || name.trim().isEmpty()) {
-            return "Module name cannot be empty.";
-        }
-        //null indicates module name is valid
-        return null;
+        return validator.validateModuleName(name);
     }
 
     /**
@@ -109,14 +187,7 @@ public class Controller {
      * @return A validation error message if the ID is empty or does not follow the required format, otherwise null.
      */
     public String validateStudentId(String id) {
-        if (id == null || id.isEmpty()) {
-            return "Student ID cannot be empty.";
-        }
-        if (!id.contains("R00") || id.length() != 9) {
-            return "Invalid student ID. It must start with 'R00' and be 9 characters long.";
-        }
-        //null indicates student ID is valid
-        return null;
+        return validator.validateStudentId(id);
     }
 
     /**
@@ -126,14 +197,7 @@ public class Controller {
      * @return A validation error message if the code is empty or does not follow the required format, otherwise null.
      */
     public String validateModuleCode(String code) {
-        if (code == null || code.isEmpty()) {
-            return "Module code cannot be empty.";
-        }
-        if (!code.contains("MT") || code.length() != 5) {
-            return "Invalid module code. It must start with 'MT' and be 5 characters long.";
-        }
-        //null indicates module code is valid
-        return null;
+        return validator.validateModuleCode(code);
     }
 
     /**
@@ -143,7 +207,7 @@ public class Controller {
      * @return true if the grade is valid, otherwise false.
      */
     public boolean validateGrade(double grade) {
-        return grade >= 0 && grade <= 100;
+        return validator.validateGrade(grade);
     }
 
     /**
@@ -153,27 +217,7 @@ public class Controller {
      * @return A validation error message if the date format is incorrect or the age is not within the required range, otherwise null.
      */
     public String validateDob(String dob) {
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-        try {
-            LocalDate parsedDate = LocalDate.parse(dob, dateFormatter);
-
-            //check if the date is not after the current local date
-            if (parsedDate.isAfter(LocalDate.now())) {
-                return "Date of birth cannot be greater than today's date.";
-            }
-
-            //calculate the age based on the date of birth
-            int age = Period.between(parsedDate, LocalDate.now()).getYears();
-
-            //ensure the minimum age is 16 years
-            if (age < 16) {
-                return "Student must be at least 16 years old.";
-            }
-            //null indicates date of birth is valid
-            return null;
-        } catch (DateTimeParseException e) {
-            return "Invalid date format. Please use the format DD/MM/YYYY.";
-        }
+        return validator.validateDob(dob);
     }
 
     /**
@@ -183,20 +227,21 @@ public class Controller {
      * @return true if the semester is valid, otherwise false.
      */
     public boolean validateSemester(int semester) {
-        return (semester > 10);
+        return validator.validateSemester(semester);
     }
 
     /**
      * Adds a new student to the ArrayList and the database if the provided information is valid.
      * It validates the input data, displays a warning message if there are any errors, and adds
-     * the student to the database if all input data is valid.
+     * the student to the database in the background if all input data is valid.
      *
      * @param name       The TextField containing the student's name.
      * @param id         The TextField containing the student's ID.
      * @param dob        The TextField containing the student's date of birth.
      * @param currentSem The TextField containing the student's current semester.
+     * @return A future that completes once the student has been added and the view updated.
      */
-    public void addStudent(TextField name, TextField id, TextField dob, TextField currentSem) {
+    public CompletableFuture<Void> addStudent(TextField name, TextField id, TextField dob, TextField currentSem) {
         String nameError = validateStudentName(name.getText());
         String dobError = validateDob(dob.getText());
 
@@ -231,33 +276,32 @@ public class Controller {
 
             alert.setContentText(errorMessage.toString());
             alert.showAndWait();
-        } else {
-            student = new Student(name.getText(), id.getText(), dob.getText(), Integer.parseInt(currentSem.getText()));
-            String sqlAdd = "insert into student " + "values(?,?,?,?)";
-            try {
-                PreparedStatement preparedStatement = connection.prepareStatement(sqlAdd, Statement.RETURN_GENERATED_KEYS);
-                preparedStatement.setString(1, student.getStudentName());
-                preparedStatement.setString(2, student.getStudentId());
-                preparedStatement.setString(3, student.getDateOfBirth());
-                preparedStatement.setInt(4, student.getCurrentSemester());
-
-                preparedStatement.executeUpdate();
-                comboBox();
-                list1.setText("New student added");
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
+            return CompletableFuture.completedFuture(null);
         }
+
+        Student newStudent = new Student(name.getText(), id.getText(), dob.getText(), Integer.parseInt(currentSem.getText()));
+        return inBackground("addStudent", "Adding student " + newStudent.getStudentId(), () -> {
+            studentRepository.add(newStudent);
+            return null;
+        }).thenRunAsync(() -> {
+            student = newStudent;
+            ComboItems.insert(observableList, newStudent.getStudentId(), newStudent.getStudentName());
+            studentIndex.put(newStudent.getStudentId(),
+                    ComboItems.item(newStudent.getStudentId(), newStudent.getStudentName()),
+                    newStudent.getStudentId(), newStudent.getStudentName());
+            message.set("New student added");
+        }, BackgroundTasks.FX).exceptionally(e -> logFailure("Error adding student: ", e));
     }
 
     /**
      * Removes a student from the database if the provided student ID is valid.
      * It validates the input student ID, displays a warning message if there are any errors,
-     * and removes the student from the database if the input student ID is valid.
+     * and removes the student from the database in the background if the input student ID is valid.
      *
      * @param id The TextField containing the student's ID to be removed.
+     * @return A future that completes once the student has been removed and the view updated.
      */
-    public void removeStudent(TextField id) {
+    public CompletableFuture<Void> removeStudent(TextField id) {
         String studentIdError = validateStudentId(id.getText());
 
         if (studentIdError != null) {
@@ -266,59 +310,106 @@ public class Controller {
             alert.setHeaderText("Incomplete Information");
             alert.setContentText(studentIdError);
             alert.showAndWait();
-        } else {
-            try {
-                String sqlRemoveGrade = "DELETE FROM grade WHERE studentId = ?";
-                String sqlRemoveStudent = "DELETE FROM student WHERE studentId = ?";
-
-                PreparedStatement preparedStatement = connection.prepareStatement(sqlRemoveGrade, Statement.RETURN_GENERATED_KEYS);
-                preparedStatement.setString(1, id.getText());
-
-                preparedStatement.executeUpdate();
-
-                preparedStatement = connection.prepareStatement(sqlRemoveStudent, Statement.RETURN_GENERATED_KEYS);
-                preparedStatement.setString(1, id.getText());
+            return CompletableFuture.completedFuture(null);
+        }
 
-                preparedStatement.executeUpdate();
-                list1.setText("Existing student removed");
-            } catch (Exception e) {
+        String studentId = id.getText();
+        return inBackground("removeStudent", "Removing student " + studentId, () -> {
+            try {
+                studentRepository.remove(studentId);
+            } finally {
+                reports.getCache().invalidateStudent(studentId);
+            }
+            return null;
+        }).handleAsync((result, e) -> {
+            if (e == null) {
+                //the student's grades were removed along with them
+                statistics.removeStudent(studentId);
+                ComboItems.remove(observableList, studentId);
+                studentIndex.remove(studentId);
+                message.set("Existing student removed");
+                return null;
+            }
+            if (!isCancellation(e)) {
                 Alert alert = new Alert(AlertType.ERROR);
                 alert.setTitle("Error");
                 alert.setHeaderText("Error removing student");
-                alert.setContentText("An error occurred while trying to remove the student: " + e.getMessage());
+                alert.setContentText("An error occurred while trying to remove the student: " + unwrap(e).getMessage());
                 alert.showAndWait();
             }
-            comboBox();
-        }
+            //the repository dropped the student from its cache, so read the records back
+            refreshCombos();
+            return null;
+        }, BackgroundTasks.FX);
     }
 
     /**
-     * Lists all students from the database in the list box.
-     * Fetches all student records from the database, adds them to the studentsList ArrayList,
-     * and displays them in the list box (list1).
+     * Removes many students at once, along with their grades.
+     * Asks for a list of student IDs or a filter on the current semester such as "semester > 8", shows how many
+     * students it selects and, once confirmed, removes them in one transaction. The statistics, reports and combo
+     * boxes are refreshed once at the end rather than once per student.
+     *
+     * @return A future that completes once the students have been removed and the view updated.
      */
-    public void listStudent() {
-        studentsList.clear();
+    public CompletableFuture<Void> removeStudents() {
+        RecordSelection selection = askSelection("students", "Student IDs, or a filter such as semester > 8:",
+                this::validateStudentId);
+        if (selection == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return inBackground("removeStudents", "Finding students to remove", () -> {
+            if (!selection.isFilter()) {
+                return selection.getIds();
+            }
+            List<String> studentIds = new ArrayList<>();
+            for (Student listed : studentRepository.findAll()) {
+                if (selection.matches(listed.getCurrentSemester())) {
+                    studentIds.add(listed.getStudentId());
+                }
+            }
+            return studentIds;
+        }).thenComposeAsync(studentIds -> removeSelected("students", "removeStudents", studentIds,
+                () -> studentRepository.removeAll(studentIds)), BackgroundTasks.FX)
+                .exceptionally(e -> logFailure("Error removing students: ", e));
+    }
 
-        String sqlSelectStudents = "select * from student";
-        try {
-            PreparedStatement preparedStatement = connection.prepareStatement(sqlSelectStudents);
-            ResultSet resultSet = preparedStatement.executeQuery();
+    /**
+     * Lists the first page of students in the list box.
+     * Fetches the students with the lowest student IDs in the background and puts them in the studentsList,
+     * which is shown by the student table (list1). Further pages are loaded with {@link #moreStudents()}.
+     *
+     * @return A future that completes once the list box has been updated.
+     */
+    public CompletableFuture<Void> listStudent() {
+        return listStudentPage(null);
+    }
 
-            StringBuilder studentListBuilder = new StringBuilder();
-            while (resultSet.next()) {
-                student = new Student(resultSet.getString("name"), resultSet.getString("studentId"),
-                        resultSet.getString("dateOfBirth"), resultSet.getInt("currentSemester"));
-                studentsList.add(student);
+    /**
+     * Appends the next page of students to the student table.
+     *
+     * @return A future that completes once the list box has been updated.
+     */
+    public CompletableFuture<Void> moreStudents() {
+        //disabled until the page has loaded so the same page is not requested twice
+        view.moreStudents.setDisable(true);
+        return listStudentPage(lastStudentListed);
+    }
 
-                //append the student to the list without adding a newline character
-                studentListBuilder.append(student);
-            }
+    private CompletableFuture<Void> listStudentPage(String after) {
+        return inBackground(after == null ? "listStudent" : "moreStudents", "Listing students", () -> studentRepository.findPage(after, pageSize))
+                .thenAcceptAsync(students -> {
+                    if (after == null) {
+                        studentsList.setAll(students);
+                    } else {
+                        studentsList.addAll(students);
+                    }
 
-            list1.setText(studentListBuilder.toString());
-        } catch (SQLException e) {
-            System.err.println("Error fetching students: " + e.getMessage());
-        }
+                    if (!students.isEmpty()) {
+                        lastStudentListed = students.get(students.size() - 1).getStudentId();
+                    }
+                    //a short page means the last student has been listed
+                    view.moreStudents.setDisable(students.size() < pageSize);
+                }, BackgroundTasks.FX).exceptionally(e -> logFailure("Error fetching students: ", e));
     }
 
     /**
@@ -342,84 +433,164 @@ public class Controller {
 
         //if condition for when "no" is pressed which closes the program
         if (option.isPresent() && option.get() == yesButton) {
+            try {
+                store.close();
+            } catch (Exception e) {
+                System.err.println("Error closing the record store: " + e.getMessage());
+            }
+            metrics.unpublish();
             System.exit(0);
         }
     }
 
+    /**
+     * Cancels every database operation that is still running in the background.
+     * Results of cancelled operations are discarded and the view is left as it was.
+     */
+    public void cancel() {
+        tasks.cancelAll();
+    }
+
+    /**
+     * Returns the repository of students, whose cache exposes hit, miss and eviction counters.
+     *
+     * @return The StudentRepository of this controller.
+     */
+    public StudentRepository getStudentRepository() {
+        return studentRepository;
+    }
+
+    /**
+     * Returns the repository of modules, whose cache exposes hit, miss and eviction counters.
+     *
+     * @return The ModuleRepository of this controller.
+     */
+    public ModuleRepository getModuleRepository() {
+        return moduleRepository;
+    }
+
+    /**
+     * Returns the latency histograms and error counts of the operations, the same values published over JMX.
+     *
+     * @return The metrics registry of this controller.
+     */
+    public OperationMetricsRegistry getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns the outcome of the last operation, such as a record being added, so the view can show it.
+     *
+     * @return The message property of this controller.
+     */
+    public StringProperty messageProperty() {
+        return message;
+    }
+
+    /**
+     * Returns the background task runner used for database work, so the view can show its progress.
+     *
+     * @return The BackgroundTasks of this controller.
+     */
+    public BackgroundTasks getTasks() {
+        return tasks;
+    }
+
     /**
      * Submits a grade for a selected student and module.
      * Validates that both a student and module have been selected and a grade has been entered.
      * If any input is missing or invalid, a warning alert is displayed.
-     * If the grade for the selected student and module already exists, the grade is updated;
-     * otherwise, a new grade entry is created.
+     * The grade is written with a single upsert: if the grade for the selected student and module already
+     * exists, it is updated; otherwise, a new grade entry is created.
      *
      * @param selectedStudent The student ID of the selected student.
      * @param selectedModule  The module code of the selected module.
      * @param gradeInput      The TextField containing the input grade.
+     * @return A future that completes once the grade has been written and the view updated.
      */
-    public void submit(String selectedStudent, String selectedModule, TextField gradeInput) {
+    public CompletableFuture<Void> submit(String selectedStudent, String selectedModule, TextField gradeInput) {
         if (selectedStudent == null || selectedModule == null) {
             Alert alert = new Alert(Alert.AlertType.WARNING);
             alert.setTitle("Warning");
             alert.setHeaderText("Selection Missing");
             alert.setContentText("Please select both a student and a module before submitting.");
             alert.showAndWait();
-        } else if (gradeInput.getText().isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (gradeInput.getText().isEmpty()) {
             Alert alert = new Alert(Alert.AlertType.WARNING);
             alert.setTitle("Warning");
             alert.setHeaderText("Empty Grade");
             alert.setContentText("Please enter a grade before submitting.");
             alert.showAndWait();
-        } else {
-            try {
-                double grade = Double.parseDouble(gradeInput.getText());
-                if (!validateGrade(grade)) {
-                    Alert alert = new Alert(Alert.AlertType.WARNING);
-                    alert.setTitle("Warning");
-                    alert.setHeaderText("Invalid Grade");
-                    alert.setContentText("Please enter a valid grade between 0 and 100.");
-                    alert.showAndWait();
-                } else {
-                    try {
-                        String sqlCheckDuplicate = "select count(*) from grade where studentId=? and moduleCode=?";
-                        PreparedStatement checkDuplicateStatement = connection.prepareStatement(sqlCheckDuplicate);
-                        checkDuplicateStatement.setString(1, selectedStudent);
-                        checkDuplicateStatement.setString(2, selectedModule);
-                        ResultSet resultSet = checkDuplicateStatement.executeQuery();
-                        resultSet.next();
-                        int count = resultSet.getInt(1);
-
-                        if (count > 0) {
-                            String sqlUpdateGrade = "update grade set grade=? where studentId=? and moduleCode=?";
-                            PreparedStatement updateStatement = connection.prepareStatement(sqlUpdateGrade);
-                            updateStatement.setDouble(1, grade);
-                            updateStatement.setString(2, selectedStudent);
-                            updateStatement.setString(3, selectedModule);
-                            updateStatement.executeUpdate();
-                            list3.setText("Grade for Module with module code " + selectedModule + " changed to " + grade);
-                        } else {
-                            String sqlAddGrade = "insert into grade values(?,?,?)";
-                            PreparedStatement addStatement = connection.prepareStatement(sqlAddGrade);
-                            addStatement.setString(1, selectedStudent);
-                            addStatement.setString(2, selectedModule);
-                            addStatement.setDouble(3, grade);
-                            addStatement.executeUpdate();
-                            list3.setText("Grade for Module with module code " + selectedModule + " added as " + grade);
-                        }
-                    } catch (Exception e) {
-                        e.printStackTrace();
-                    }
-                }
-            } catch (NumberFormatException e) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        double grade;
+        try {
+            grade = Double.parseDouble(gradeInput.getText());
+        } catch (NumberFormatException e) {
+            //an unparsable grade is reported the same way as one out of range
+            grade = -1;
+        }
+        if (!validateGrade(grade)) {
+            Alert alert = new Alert(Alert.AlertType.WARNING);
+            alert.setTitle("Warning");
+            alert.setHeaderText("Invalid Grade");
+            alert.setContentText("Please enter a valid grade between 0 and 100.");
+            alert.showAndWait();
+            return CompletableFuture.completedFuture(null);
+        }
+
+        double submittedGrade = grade;
+        return inBackground("submit", "Submitting grade for " + selectedStudent, () -> {
+            String saved = gradeRepository.save(selectedStudent, selectedModule, submittedGrade)
+                    ? "Grade for Module with module code " + selectedModule + " added as " + submittedGrade
+                    : "Grade for Module with module code " + selectedModule + " changed to " + submittedGrade;
+            invalidateGradeReports(selectedStudent, selectedModule);
+            return saved + "\n" + selectedModule + " " + statistics.forModule(selectedModule);
+        }).thenAcceptAsync(text -> list3.setText(text), BackgroundTasks.FX)
+                .exceptionally(e -> logFailure("Error submitting grade: ", e));
+    }
+
+    /**
+     * Submits many grades at once, for example the grades of a whole class for one module.
+     * Every grade is validated first; if any is invalid a warning alert is displayed and nothing is written.
+     * Otherwise the grades are written as batched upserts in a single transaction.
+     *
+     * @param entries The grades to submit.
+     * @return A future that completes once the grades have been written and the view updated.
+     */
+    public CompletableFuture<Void> submitGrades(List<GradeEntry> entries) {
+        for (GradeEntry entry : entries) {
+            String validationMessage = validateStudentId(entry.getStudentId());
+            if (validationMessage == null) {
+                validationMessage = validateModuleCode(entry.getModuleCode());
+            }
+            if (validationMessage == null && !validateGrade(entry.getGrade())) {
+                validationMessage = "Please enter a valid grade between 0 and 100.";
+            }
+            if (validationMessage != null) {
                 Alert alert = new Alert(Alert.AlertType.WARNING);
                 alert.setTitle("Warning");
                 alert.setHeaderText("Invalid Grade");
-                alert.setContentText("Please enter a valid grade between 0 and 100.");
+                alert.setContentText(entry.getStudentId() + " " + entry.getModuleCode() + ": " + validationMessage);
                 alert.showAndWait();
-            } catch (Exception e) {
-                e.printStackTrace();
+                return CompletableFuture.completedFuture(null);
             }
         }
+
+        List<GradeEntry> toSave = new ArrayList<>(entries);
+        return inBackground("submitGrades", "Submitting " + toSave.size() + " grades", () -> {
+            //either every grade is saved or none is
+            int saved = gradeRepository.saveAll(toSave);
+            for (GradeEntry entry : toSave) {
+                invalidateGradeReports(entry.getStudentId(), entry.getModuleCode());
+            }
+            return saved;
+        })
+                .thenAcceptAsync(saved -> list3.setText(saved + " grades submitted"), BackgroundTasks.FX)
+                .exceptionally(e -> logFailure("Error submitting grades: ", e));
     }
 
     /**
@@ -429,128 +600,239 @@ public class Controller {
      *
      * @param id     The student ID.
      * @param module The module code.
+     * @return A future that completes once the grade has been deleted and the view updated.
      */
-    public void delete(String id, String module) {
+    public CompletableFuture<Void> delete(String id, String module) {
         if (id == null || id.trim().isEmpty() || module == null || module.trim().isEmpty()) {
             Alert alert = new Alert(AlertType.WARNING);
             alert.setTitle("Warning");
             alert.setHeaderText("Incomplete Information");
             alert.setContentText("Please provide both the student ID and module code before deleting a grade.");
             alert.showAndWait();
-        } else {
-            String checkGradeExists = "select * from grade where studentId = ? and moduleCode = ?";
-            String deleteGrade = "delete from grade where studentId = ? and moduleCode = ?";
-            try {
-                PreparedStatement checkStatement = connection.prepareStatement(checkGradeExists, Statement.RETURN_GENERATED_KEYS);
-                checkStatement.setString(1, id);
-                checkStatement.setString(2, module);
-                ResultSet resultSet = checkStatement.executeQuery();
-
-                if (resultSet.next()) {
-                    PreparedStatement deleteStatement = connection.prepareStatement(deleteGrade, Statement.RETURN_GENERATED_KEYS);
-                    deleteStatement.setString(1, id);
-                    deleteStatement.setString(2, module);
-                    deleteStatement.executeUpdate();
-                    list3.setText("Grade deleted for selected module");
-                    view.gradeInput.clear();
-                } else {
-                    Alert alert = new Alert(AlertType.WARNING);
-                    alert.setTitle("Warning");
-                    alert.setHeaderText("Grade not found");
-                    alert.setContentText("There is no grade for the specified student ID and module. Please add a grade before deleting.");
-                    alert.showAndWait();
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
+            return CompletableFuture.completedFuture(null);
         }
+
+        return inBackground("delete", "Deleting grade for " + id, () -> {
+            boolean deleted = gradeRepository.delete(id, module);
+            if (deleted) {
+                invalidateGradeReports(id, module);
+            }
+            return deleted;
+        })
+                .thenAcceptAsync(deleted -> {
+                    if (deleted) {
+                        list3.setText("Grade deleted for selected module");
+                        view.gradeInput.clear();
+                    } else {
+                        Alert alert = new Alert(AlertType.WARNING);
+                        alert.setTitle("Warning");
+                        alert.setHeaderText("Grade not found");
+                        alert.setContentText("There is no grade for the specified student ID and module. Please add a grade before deleting.");
+                        alert.showAndWait();
+                    }
+                }, BackgroundTasks.FX).exceptionally(e -> logFailure("Error deleting grade: ", e));
     }
 
     /**
      * Populates the student ComboBox with student IDs and names.
-     * Fetches the students from the database and updates the observable list
-     * with the student ID and name in a formatted string.
+     * Fetches the students in the background, from the student cache when it holds every student,
+     * and replaces the observable list with the student ID and name in a formatted string.
+     * The prefix index used by {@link #findStudents(String, int)} is rebuilt from the same students.
+     * Adding and removing a student only updates its own item, so this is needed only for a full reload.
+     *
+     * @return A future that completes once the observable list has been updated.
      */
-    public void comboBox() {
-        studentListCombo.clear();
-
-        String sqlStudent = "select studentId, name from student";
-        try {
-            PreparedStatement preparedStatement = connection.prepareStatement(sqlStudent);
-            ResultSet resultSet = preparedStatement.executeQuery();
-
-            while (resultSet.next()) {
-                studentListCombo.add(resultSet.getString("studentId") + " | " + resultSet.getString("name"));
+    public CompletableFuture<Void> comboBox() {
+        return inBackground("comboBox", "Loading students", () -> {
+            List<String> students = new ArrayList<>();
+            PrefixIndex<String> index = new PrefixIndex<>();
+            for (Student listed : studentRepository.findAll()) {
+                String item = ComboItems.item(listed.getStudentId(), listed.getStudentName());
+                students.add(item);
+                index.put(listed.getStudentId(), item, listed.getStudentId(), listed.getStudentName());
             }
+            return new StudentChoices(students, index);
+        }).thenAcceptAsync(choices -> {
+            observableList.setAll(choices.items);
+            studentIndex = choices.index;
+        }, BackgroundTasks.FX).exceptionally(e -> logFailure("Error fetching students for the combo box: ", e));
+    }
 
-            observableList.setAll(studentListCombo);
-        } catch (SQLException e) {
-            System.err.println("Error fetching students for the combo box: " + e.getMessage());
-        }
+    /**
+     * Finds the students whose ID, full name or any word of their name starts with the given text.
+     * The lookup runs on the in-memory prefix index, so it is fast enough to run on every key press.
+     *
+     * @param prefix The typed text.
+     * @param limit  The maximum number of students returned.
+     * @return The combo box items of the matching students.
+     */
+    public List<String> findStudents(String prefix, int limit) {
+        return studentIndex.search(prefix, limit);
     }
 
     /**
      * Populates the module ComboBox with module codes and names based on the state.
-     * If the state is true, all modules are fetched from the database.
-     * If the state is false, only modules that are available for the specified student ID are fetched.
+     * If the state is true, all modules are shown.
+     * If the state is false, only modules that are available for the specified student ID are shown.
+     * Modules and students are read through the repository caches and filtered in memory, so changing
+     * the selection does not query the database once the caches are warm.
+     * A newer call cancels one that is still running, so the list always matches the latest selection.
      *
      * @param id    The student ID.
      * @param state The state indicating whether to fetch all modules or only available modules for the student.
+     * @return A future that completes once the observable list has been updated.
      */
-    public void comboBox_2(String id, boolean state) {
-        moduleListCombo.clear();
-        String sqlModule;
-
-        if (state) {
-            sqlModule = "select moduleCode, moduleName from module";
-        } else {
-            sqlModule = "select name, currentSemester, module.semester, module.moduleCode, module.moduleName from student join module where student.currentSemester >= module.semester and student.studentId = ?";
+    public CompletableFuture<Void> comboBox_2(String id, boolean state) {
+        if (pendingModules != null) {
+            pendingModules.cancel(true);
         }
-
-        try {
-            PreparedStatement preparedStatement = connection.prepareStatement(sqlModule);
-
+        CompletableFuture<ModuleChoices> modulesFuture = inBackground("comboBox_2", "Loading modules", () -> {
+            int maxSemester = Integer.MAX_VALUE;
             if (!state) {
-                preparedStatement.setString(1, id);
+                Student selected = studentRepository.findById(id);
+                //a student that no longer exists has no available modules
+                maxSemester = selected != null ? selected.getCurrentSemester() : Integer.MIN_VALUE;
             }
-
-            ResultSet resultSet = preparedStatement.executeQuery();
-            while (resultSet.next()) {
-                moduleListCombo.add(resultSet.getString("moduleCode") + " | " + resultSet.getString("moduleName"));
+            List<String> modules = new ArrayList<>();
+            for (Module listed : moduleRepository.findAll()) {
+                if (listed.getSemester() <= maxSemester) {
+                    modules.add(ComboItems.item(listed.getModuleCode(), listed.getModuleName()));
+                }
             }
+            return new ModuleChoices(maxSemester, modules);
+        });
+        pendingModules = modulesFuture;
+        return modulesFuture.thenAcceptAsync(choices -> {
+            visibleModuleSemester = choices.maxSemester;
+            observableListModule.setAll(choices.items);
+        }, BackgroundTasks.FX).exceptionally(e -> logFailure("Error fetching modules for the combo box: ", e));
+    }
 
-            observableListModule.setAll(moduleListCombo);
-            System.out.println(moduleListCombo);
-        } catch (SQLException e) {
-            System.err.println("Error fetching modules for the combo box: " + e.getMessage());
+    /**
+     * Reloads both combo boxes from the database, dropping the cached students and modules first.
+     *
+     * @return A future that completes once both observable lists have been updated.
+     */
+    public CompletableFuture<Void> refreshCombos() {
+        studentRepository.getCache().clear();
+        moduleRepository.getCache().clear();
+        return reloadCombos();
+    }
+
+    /**
+     * Reloads both combo boxes through the repository caches.
+     */
+    private CompletableFuture<Void> reloadCombos() {
+        CompletableFuture<Void> students = comboBox();
+        if (view.selectedStudent == null) {
+            return students;
+        }
+        return CompletableFuture.allOf(students, comboBox_2(view.selectedStudent, view.state));
+    }
+
+    /**
+     * Asks which records to remove in bulk, and checks every listed ID.
+     * A warning alert is displayed if the selection is empty or an ID is invalid.
+     *
+     * @param kind     The records, such as "students".
+     * @param prompt   The text shown next to the input field.
+     * @param validate Returns the error of an invalid ID, or null.
+     * @return The selection, or null if the dialog was cancelled or the selection is invalid.
+     */
+    private RecordSelection askSelection(String kind, String prompt, Function<String, String> validate) {
+        TextInputDialog input = new TextInputDialog();
+        input.setTitle("Remove");
+        input.setHeaderText("Remove many " + kind);
+        input.setContentText(prompt);
+        Optional<String> text = input.showAndWait();
+        if (text.isEmpty()) {
+            return null;
+        }
+
+        RecordSelection selection = RecordSelection.parse(text.get());
+        String error = selection.isFilter() || !selection.getIds().isEmpty() ? null
+                : "Enter at least one ID, or a filter such as semester > 8.";
+        for (Iterator<String> ids = selection.getIds().iterator(); error == null && ids.hasNext(); ) {
+            error = validate.apply(ids.next());
+        }
+        if (error != null) {
+            Alert alert = new Alert(AlertType.WARNING);
+            alert.setTitle("Warning");
+            alert.setHeaderText("Invalid Selection");
+            alert.setContentText(error);
+            alert.showAndWait();
+            return null;
         }
+        return selection;
+    }
+
+    /**
+     * Asks to confirm a bulk removal, then runs it in the background.
+     * The grades of the removed records go with them, so the statistics and reports are rebuilt and the combo
+     * boxes reloaded once the removal has finished. A failed removal changes nothing, as it runs in one
+     * transaction.
+     *
+     * @param kind      The records, such as "students".
+     * @param operation The name of the Controller operation, under which the work is timed.
+     * @param ids       The IDs of the selected records.
+     * @param removal   Removes the records and returns how many were removed.
+     * @return A future that completes once the records have been removed and the view updated.
+     */
+    private CompletableFuture<Void> removeSelected(String kind, String operation, List<String> ids,
+                                                  Callable<Integer> removal) {
+        if (ids.isEmpty()) {
+            message.set("No " + kind + " match the selection");
+            return CompletableFuture.completedFuture(null);
+        }
+        Alert confirm = new Alert(AlertType.CONFIRMATION);
+        confirm.setTitle("Remove");
+        confirm.setHeaderText("You are about to remove " + ids.size() + " " + kind + "!");
+        confirm.setContentText("Their grades will be removed as well. Are you sure?");
+        Optional<ButtonType> option = confirm.showAndWait();
+        if (option.isEmpty() || option.get() != ButtonType.OK) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return inBackground(operation, "Removing " + ids.size() + " " + kind, removal).handleAsync((removed, e) -> {
+            if (e == null) {
+                reloadStatistics();
+                reports.getCache().clear();
+                reloadCombos();
+                message.set(removed + " " + kind + " removed");
+                return null;
+            }
+            if (!isCancellation(e)) {
+                Alert alert = new Alert(AlertType.ERROR);
+                alert.setTitle("Error");
+                alert.setHeaderText("Error removing " + kind);
+                alert.setContentText("An error occurred while trying to remove the " + kind + ": "
+                        + unwrap(e).getMessage());
+                alert.showAndWait();
+            }
+            return null;
+        }, BackgroundTasks.FX);
     }
 
     /**
      * Checks if a grade exists for the specified student and module.
      * If the grade exists, it sets the grade input field with the fetched grade.
      * If the grade does not exist, it clears the grade input field.
+     * A newer call cancels one that is still running, so the field always matches the latest selection.
      *
      * @param selectedStudent The selected student ID.
      * @param selectedModule  The selected module code.
+     * @return A future that completes once the grade input field has been updated.
      */
-    public void modifyCheck(String selectedStudent, String selectedModule) {
-        String sqlModifyCheck = "select grade from grade where studentId = ? and moduleCode = ?";
-
-        try {
-            PreparedStatement preparedStatement = connection.prepareStatement(sqlModifyCheck);
-            preparedStatement.setString(1, selectedStudent);
-            preparedStatement.setString(2, selectedModule);
-            ResultSet resultSet = preparedStatement.executeQuery();
-
-            if (resultSet.next()) {
-                view.gradeInput.setText(resultSet.getString("grade"));
-            } else {
-                view.gradeInput.setText("");
-            }
-        } catch (SQLException e) {
-            System.err.println("Error fetching grade: " + e.getMessage());
+    public CompletableFuture<Void> modifyCheck(String selectedStudent, String selectedModule) {
+        if (pendingModifyCheck != null) {
+            pendingModifyCheck.cancel(true);
         }
+        pendingModifyCheck = inBackground("modifyCheck", "Checking grade", () -> {
+            Float existingGrade = store.findGrade(selectedStudent, selectedModule);
+            return existingGrade != null ? String.valueOf(existingGrade) : "";
+        });
+        return pendingModifyCheck.thenAcceptAsync(existingGrade -> view.gradeInput.setText(existingGrade), BackgroundTasks.FX)
+                .exceptionally(e -> logFailure("Error fetching grade: ", e));
     }
 
     /**
@@ -561,8 +843,9 @@ public class Controller {
      * @param name       The module name TextField.
      * @param code       The module code TextField.
      * @param currentSem The current semester TextField.
+     * @return A future that completes once the module has been added and the view updated.
      */
-    public void addModule(TextField name, TextField code, TextField currentSem) {
+    public CompletableFuture<Void> addModule(TextField name, TextField code, TextField currentSem) {
         String nameError = validateModuleName(name.getText());
         String codeError = validateModuleCode(code.getText());
 
@@ -592,21 +875,20 @@ public class Controller {
 
             alert.setContentText(errorMessage.toString());
             alert.showAndWait();
-        } else {
-            module = new Module(name.getText(), code.getText(), Integer.parseInt(currentSem.getText()));
-            String sqlAdd = "insert into module " + "values(?,?,?)";
-            try {
-                PreparedStatement preparedStatement = connection.prepareStatement(sqlAdd, Statement.RETURN_GENERATED_KEYS);
-                preparedStatement.setString(1, module.getModuleName());
-                preparedStatement.setString(2, module.getModuleCode());
-                preparedStatement.setInt(3, module.getSemester());
+            return CompletableFuture.completedFuture(null);
+        }
 
-                preparedStatement.executeUpdate();
-                list2.setText("New module added");
-            } catch (Exception e) {
-                e.printStackTrace();
+        Module newModule = new Module(name.getText(), code.getText(), Integer.parseInt(currentSem.getText()));
+        return inBackground("addModule", "Adding module " + newModule.getModuleCode(), () -> {
+            moduleRepository.add(newModule);
+            return null;
+        }).thenRunAsync(() -> {
+            module = newModule;
+            if (newModule.getSemester() <= visibleModuleSemester) {
+                ComboItems.insert(observableListModule, newModule.getModuleCode(), newModule.getModuleName());
             }
-        }
+            message.set("New module added");
+        }, BackgroundTasks.FX).exceptionally(e -> logFailure("Error adding module: ", e));
     }
 
     /**
@@ -615,8 +897,9 @@ public class Controller {
      * If there are any validation errors, a warning alert is displayed.
      *
      * @param code The module code TextField.
+     * @return A future that completes once the module has been removed and the view updated.
      */
-    public void removeModule(TextField code) {
+    public CompletableFuture<Void> removeModule(TextField code) {
         String moduleCodeError = validateModuleCode(code.getText());
 
         if (moduleCodeError != null) {
@@ -625,58 +908,251 @@ public class Controller {
             alert.setHeaderText("Incomplete Information");
             alert.setContentText(moduleCodeError);
             alert.showAndWait();
-        } else {
-            try {
-                String sqlRemoveGrade = "DELETE FROM grade WHERE moduleCode = ?";
-                String sqlRemoveModule = "DELETE FROM module WHERE moduleCode = ?";
-
-                PreparedStatement preparedStatement = connection.prepareStatement(sqlRemoveGrade, Statement.RETURN_GENERATED_KEYS);
-                preparedStatement.setString(1, code.getText());
-
-                preparedStatement.executeUpdate();
-
-                preparedStatement = connection.prepareStatement(sqlRemoveModule, Statement.RETURN_GENERATED_KEYS);
-                preparedStatement.setString(1, code.getText());
+            return CompletableFuture.completedFuture(null);
+        }
 
-                preparedStatement.executeUpdate();
-                list2.setText("Existing module removed");
-            } catch (Exception e) {
+        String moduleCode = code.getText();
+        return inBackground("removeModule", "Removing module " + moduleCode, () -> {
+            Module removed = moduleRepository.findByCode(moduleCode);
+            try {
+                moduleRepository.remove(moduleCode);
+            } finally {
+                invalidateModuleReports(moduleCode, removed);
+            }
+            return null;
+        }).handleAsync((result, e) -> {
+            if (e == null) {
+                //the grades of the module were removed along with it
+                statistics.removeModule(moduleCode);
+                ComboItems.remove(observableListModule, moduleCode);
+                message.set("Existing module removed");
+                return null;
+            }
+            if (!isCancellation(e)) {
                 Alert alert = new Alert(AlertType.ERROR);
                 alert.setTitle("Error");
                 alert.setHeaderText("Error removing module");
-                alert.setContentText("An error occurred while trying to remove the module: " + e.getMessage());
+                alert.setContentText("An error occurred while trying to remove the module: " + unwrap(e).getMessage());
                 alert.showAndWait();
             }
-            comboBox();
+            //the repository dropped the module from its cache, so read the records back
+            refreshCombos();
+            return null;
+        }, BackgroundTasks.FX);
+    }
+
+    /**
+     * Removes many modules at once, along with every grade recorded for them.
+     * Asks for a list of module codes or a filter on the semester such as "semester > 8", shows how many modules
+     * it selects and, once confirmed, removes them in one transaction. The statistics, reports and combo boxes
+     * are refreshed once at the end rather than once per module.
+     *
+     * @return A future that completes once the modules have been removed and the view updated.
+     */
+    public CompletableFuture<Void> removeModules() {
+        RecordSelection selection = askSelection("modules", "Module codes, or a filter such as semester > 8:",
+                this::validateModuleCode);
+        if (selection == null) {
+            return CompletableFuture.completedFuture(null);
         }
+        return inBackground("removeModules", "Finding modules to remove", () -> {
+            if (!selection.isFilter()) {
+                return selection.getIds();
+            }
+            List<String> moduleCodes = new ArrayList<>();
+            for (Module listed : moduleRepository.findAll()) {
+                if (selection.matches(listed.getSemester())) {
+                    moduleCodes.add(listed.getModuleCode());
+                }
+            }
+            return moduleCodes;
+        }).thenComposeAsync(moduleCodes -> removeSelected("modules", "removeModules", moduleCodes,
+                () -> moduleRepository.removeAll(moduleCodes)), BackgroundTasks.FX)
+                .exceptionally(e -> logFailure("Error removing modules: ", e));
     }
 
     /**
-     * Retrieves the list of modules from the database and displays them in the 'list2' TextArea.
-     * The list of modules is cleared before fetching the updated list from the database.
+     * Retrieves the first page of modules and displays them in the 'list2' table.
+     * The list of modules is replaced with the modules with the lowest module codes once they have been
+     * fetched in the background. Further pages are loaded with {@link #moreModules()}.
+     *
+     * @return A future that completes once the list box has been updated.
      */
-    public void listModule() {
-        modulesList.clear();
+    public CompletableFuture<Void> listModule() {
+        return listModulePage(null);
+    }
 
-        String sqlSelectModules = "SELECT * FROM module";
-        try {
-            PreparedStatement preparedStatement = connection.prepareStatement(sqlSelectModules);
-            ResultSet resultSet = preparedStatement.executeQuery();
+    /**
+     * Appends the next page of modules to the 'list2' table.
+     *
+     * @return A future that completes once the list box has been updated.
+     */
+    public CompletableFuture<Void> moreModules() {
+        //disabled until the page has loaded so the same page is not requested twice
+        view.moreModules.setDisable(true);
+        return listModulePage(lastModuleListed);
+    }
+
+    private CompletableFuture<Void> listModulePage(String after) {
+        return inBackground(after == null ? "listModule" : "moreModules", "Listing modules", () -> moduleRepository.findPage(after, pageSize))
+                .thenAcceptAsync(modules -> {
+                    if (after == null) {
+                        modulesList.setAll(modules);
+                    } else {
+                        modulesList.addAll(modules);
+                    }
+
+                    if (!modules.isEmpty()) {
+                        lastModuleListed = modules.get(modules.size() - 1).getModuleCode();
+                    }
+                    //a short page means the last module has been listed
+                    view.moreModules.setDisable(modules.size() < pageSize);
+                }, BackgroundTasks.FX).exceptionally(e -> logFailure("Error fetching modules: ", e));
+    }
+
+    /**
+     * Imports students, modules or grades from a CSV file chosen by the user.
+     * The file is imported in batches on a background thread and the progress is shown in the list box of the
+     * status bar. Rows that cannot be imported are written to a ".rejected.csv" file next to the input.
+     *
+     * @param kind The kind of records in the file.
+     * @return A future that completes once the import has finished and the lists have been refreshed.
+     */
+    public CompletableFuture<Void> importRecords(ImportKind kind) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Import " + kind.name().toLowerCase() + " (" + String.join(", ", kind.getColumns()) + ")");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV files", "*.csv"));
+        File file = chooser.showOpenDialog(view.getScene().getWindow());
+        if (file == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        if (database == null) {
+            Alert alert = new Alert(AlertType.INFORMATION);
+            alert.setTitle("Import");
+            alert.setHeaderText("Import not available");
+            alert.setContentText("CSV files can only be imported into the MySQL database.");
+            alert.showAndWait();
+            return CompletableFuture.completedFuture(null);
+        }
 
-            StringBuilder moduleListBuilder = new StringBuilder();
-            while (resultSet.next()) {
-                module = new Module(resultSet.getString("moduleName"), resultSet.getString("moduleCode"),
-                        resultSet.getInt("semester"));
-                modulesList.add(module);
+        Path csv = file.toPath();
+        Path rejectedFile = csv.resolveSibling(csv.getFileName() + ".rejected.csv");
+        CsvImporter importer = new CsvImporter(database, validator,
+                Integer.getInteger("college.import.batchSize", 1000),
+                Integer.getInteger("college.import.commitInterval", 10000));
 
-                //append the module to the list without adding a newline character
-                moduleListBuilder.append(module);
+        message.set("Importing " + csv.getFileName() + "...");
+        return inBackground("importRecords", "Importing " + csv.getFileName(), () -> {
+            try {
+                return importer.importFile(kind, csv, rejectedFile,
+                        progress -> BackgroundTasks.runOnFx(() ->
+                                message.set("Importing " + csv.getFileName() + ": " + progress)));
+            } finally {
+                //committed rows stay in the database even if the import fails part way
+                studentRepository.getCache().clear();
+                moduleRepository.getCache().clear();
+                reports.getCache().clear();
             }
+        }).handleAsync((result, error) -> {
+            //the imported grades did not go through the grade repository
+            reloadStatistics();
+            if (result != null) {
+                message.set("Imported " + csv.getFileName() + ": " + result);
+            } else if (!isCancellation(error)) {
+                message.set("Import of " + csv.getFileName() + " failed: " + unwrap(error).getMessage());
+            } else {
+                message.set("Import of " + csv.getFileName() + " cancelled.");
+            }
+            return null;
+        }, BackgroundTasks.FX).thenCompose(ignored -> refreshCombos());
+    }
+
+    /**
+     * Exports transcripts to a CSV or JSON file chosen by the user, for every student, a cohort of students, a
+     * module, or the modules of a semester. The format follows the file name extension.
+     * The grades are streamed from the store to the file on a background thread, so exports of any size use
+     * the same memory, and the outcome is shown in the status bar.
+     *
+     * @return A future that completes once the export has finished.
+     */
+    public CompletableFuture<Void> exportTranscripts() {
+        String all = "All students";
+        String cohort = "Cohort of a semester";
+        String oneModule = "Module";
+        String semester = "Modules of a semester";
+        ChoiceDialog<String> choice = new ChoiceDialog<>(all, all, cohort, oneModule, semester);
+        choice.setTitle("Export");
+        choice.setHeaderText("Export transcripts");
+        choice.setContentText("Transcripts of:");
+        Optional<String> picked = choice.showAndWait();
+        if (picked.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        TranscriptScope scope = TranscriptScope.all();
+        if (!picked.get().equals(all)) {
+            TextInputDialog input = new TextInputDialog();
+            input.setTitle("Export");
+            input.setHeaderText("Export transcripts of a " + picked.get().toLowerCase());
+            input.setContentText(picked.get().equals(oneModule) ? "Module code:" : "Semester:");
+            Optional<String> value = input.showAndWait();
+            if (value.isEmpty()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            String error;
+            if (picked.get().equals(oneModule)) {
+                error = validator.validateModuleCode(value.get().trim());
+                scope = TranscriptScope.module(value.get().trim());
+            } else {
+                try {
+                    int number = Integer.parseInt(value.get().trim());
+                    error = validator.validateSemester(number) ? "Semester must be between 1 and 10." : null;
+                    scope = picked.get().equals(cohort) ? TranscriptScope.cohort(number)
+                            : TranscriptScope.semester(number);
+                } catch (NumberFormatException e) {
+                    error = "Semester must be a number.";
+                }
+            }
+            if (error != null) {
+                Alert alert = new Alert(AlertType.WARNING);
+                alert.setTitle("Warning");
+                alert.setHeaderText("Invalid Export");
+                alert.setContentText(error);
+                alert.showAndWait();
+                return CompletableFuture.completedFuture(null);
+            }
+        }
 
-            list2.setText(moduleListBuilder.toString());
-        } catch (SQLException e) {
-            System.err.println("Error fetching modules: " + e.getMessage());
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Export transcripts of " + scope);
+        for (ExportFormat format : ExportFormat.values()) {
+            chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter(format.name() + " files",
+                    "*." + format.getExtension()));
         }
+        chooser.setInitialFileName("transcripts." + ExportFormat.CSV.getExtension());
+        File file = chooser.showSaveDialog(view.getScene().getWindow());
+        if (file == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        Path target = file.toPath();
+        TranscriptScope exported = scope;
+        TranscriptExporter exporter = new TranscriptExporter(store,
+                Integer.getInteger("college.export.bufferSize", 64 * 1024));
+        message.set("Exporting transcripts of " + exported + "...");
+        return inBackground("exportTranscripts", "Exporting transcripts of " + exported, () ->
+                exporter.export(exported, ExportFormat.forFileName(target.getFileName().toString()), target)
+        ).handleAsync((result, error) -> {
+            if (result != null) {
+                message.set("Exported " + target.getFileName() + ": " + result);
+            } else if (!isCancellation(error)) {
+                message.set("Export of " + target.getFileName() + " failed: " + unwrap(error).getMessage());
+            } else {
+                message.set("Export of " + target.getFileName() + " cancelled.");
+            }
+            return null;
+        }, BackgroundTasks.FX);
     }
 
     /**
@@ -686,8 +1162,9 @@ public class Controller {
      *
      * @param id          The student ID TextField.
      * @param statePassed A boolean value to determine if only passing grades should be displayed.
+     * @return A future that completes once the search results have been displayed.
      */
-    public void search(TextField id, boolean statePassed) {
+    public CompletableFuture<Void> search(TextField id, boolean statePassed) {
         String studentId = id.getText();
 
         String validationMessage = validateStudentId(studentId);
@@ -697,91 +1174,57 @@ public class Controller {
             alert.setHeaderText("Invalid Student ID");
             alert.setContentText(validationMessage);
             alert.showAndWait();
-            return;
-        }
-
-        String sqlSearchStudent = "SELECT * FROM student WHERE studentId = ?";
-        String sqlSearchGrade = statePassed ?
-                "SELECT module.moduleName, grade.grade " +
-                        "FROM module JOIN grade ON module.moduleCode = grade.moduleCode " +
-                        "WHERE grade.studentId = ? AND grade >= 40" :
-                "SELECT module.moduleName, grade.grade " +
-                        "FROM module JOIN grade ON module.moduleCode = grade.moduleCode " +
-                        "WHERE grade.studentId = ?";
-
-        gradesList.clear();
-
-        try (PreparedStatement preparedStatement = connection.prepareStatement(sqlSearchStudent)) {
-            preparedStatement.setString(1, studentId);
-            ResultSet resultSet = preparedStatement.executeQuery();
-
-            if (resultSet.next()) {
-                student = new Student(resultSet.getString("name"), resultSet.getString("studentId"),
-                        resultSet.getString("dateOfBirth"), resultSet.getInt("currentSemester"));
-                gradesList.add(student.toString());
-
-                try (PreparedStatement preparedStatementGrade = connection.prepareStatement(sqlSearchGrade)) {
-                    preparedStatementGrade.setString(1, studentId);
-                    ResultSet resultSetGrade = preparedStatementGrade.executeQuery();
-
-                    while (resultSetGrade.next()) {
-                        grade = new Grade(resultSetGrade.getFloat("grade"));
-                        module = new Module(resultSetGrade.getString("moduleName"));
-                        gradesList.add(module.toString2());
-                        gradesList.add(grade.toString2());
-                    }
-                }
+            return CompletableFuture.completedFuture(null);
+        }
 
-                list4.setText(gradesList.toString()
-                        .replace(",", "")
-                        .replace("[", "")
-                        .replace("]", ""));
-            } else {
+        return inBackground("search", "Searching for " + studentId, () -> {
+            Student found = studentRepository.findById(studentId);
+            if (found == null) {
+                //null indicates the student was not found
+                return null;
+            }
+            return new SearchResult(found, store.findGrades(studentId, statePassed));
+        }).thenAcceptAsync(results -> {
+            if (results == null) {
                 Alert alert = new Alert(AlertType.ERROR);
                 alert.setTitle("Error");
                 alert.setHeaderText("Error finding student");
                 alert.setContentText("Searched student not found in database");
                 alert.showAndWait();
+                return;
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+            studentDetails.setText(results.student.toString().trim());
+            message.set(results.student.getStudentId() + " " + statistics.forStudent(results.student.getStudentId()));
+            //a new transcript is shown in the order it was read, so the next sort starts afresh
+            transcriptOrder = null;
+            transcriptReversed = false;
+            gradesList.setAll(results.grades);
+        }, BackgroundTasks.FX).exceptionally(e -> logFailure("Error searching for student: ", e));
     }
 
     /**
-     * Sorts the displayed grades based on the provided input and sort order.
-     * The sorted list is then displayed in the 'list4' TextArea.
+     * Sorts the grades found by the last search in memory, without reading them from the database again.
+     * Choosing the order that is already shown reverses it. The sort is stable, and it drops any order picked
+     * by clicking a column header.
      *
-     * @param id    The student ID TextField.
-     * @param input The column to be sorted in the SQL query.
-     * @param sort  The sort order (ASC or DESC) for the SQL query.
+     * @param order The order to show the grades in.
      */
-    public void sort(TextField id, String input, String sort) {
-        String studentDetails = gradesList.get(0);
-        String sqlSearchGrade = "select module.moduleName," +
-                "grade.grade from module join grade on module.moduleCode = grade.moduleCode where grade.studentId ='" + id.getText() + "'" + " order by " + input + " " + sort;
-        gradesList.clear();
-        try {
-            gradesList.add(studentDetails);
-            ResultSet resultSet = statement.executeQuery(sqlSearchGrade);
-            while (resultSet.next()) {
-                grade = new Grade(resultSet.getFloat("grade"));
-                module = new Module(resultSet.getString("moduleName"));
-                gradesList.add(module.toString2());
-                gradesList.add(grade.toString2());
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-
-        list4.setText(gradesList.toString()
-                .replace(",", "")
-                .replace("[", "")
-                .replace("]", ""));
+    public void sort(TranscriptOrder order) {
+        long start = System.nanoTime();
+        transcriptReversed = order == transcriptOrder && !transcriptReversed;
+        transcriptOrder = order;
+        list4.getSortOrder().clear();
+        FXCollections.sort(gradesList, order.comparator(transcriptReversed));
+        metrics.operation("sort").record(start, true);
     }
 
     /**
-     * Creates an infinite loop that will cause an OutOfMemoryError.
+     * Runs a heap-pressure experiment after a confirmation, then shows its outcome in the status bar and writes
+     * a report with every heap sample to a heap-report file in the working directory.
+     * <p>
+     * The experiment is configured with the college.heap system properties, see
+     * {@link HeapExperiment#fromSystemProperties()}. By default it keeps adding students until the heap runs out.
+     * The experiment runs on a worker thread so the window stays responsive, and it can be cancelled.
      */
     public void memoryLeak() {
 
@@ -791,23 +1234,188 @@ public class Controller {
         alert.setContentText("Running this method may crash the program. Are you sure you want to continue?");
 
         Optional<ButtonType> result = alert.showAndWait();
-        long startTime;
-        long endTime;
         if (result.isPresent() && result.get() == ButtonType.OK) {
-            ArrayList<Student> studentList = new ArrayList<>();
-            startTime = System.currentTimeMillis();
+            HeapExperiment experiment = HeapExperiment.fromSystemProperties();
+            Path reportFile = Paths.get("heap-report-" + System.currentTimeMillis() + ".csv");
+            inBackground("memoryLeak", "Running heap experiment", () -> {
+                HeapReport report = new HeapPressureLab().run(experiment);
+                report.writeTo(reportFile);
+                return report;
+            }).thenAcceptAsync(report -> message.set(report.getOutcome() + String.format(
+                    ", %.1f bytes per record, %d collections taking %d ms. Report written to %s.",
+                    report.getBytesPerRecord(), report.getGcCount(), report.getGcMillis(), reportFile)),
+                    BackgroundTasks.FX).exceptionally(e -> logFailure("Error running heap experiment: ", e));
+        }
+    }
+
+    /**
+     * Shows the report of a module in an information alert: the students failing it and the pass rates of
+     * the modules of its semester. The reports are built in the background, or read from the report cache if
+     * nothing they depend on has changed since they were last shown.
+     *
+     * @param code The module code TextField.
+     * @return A future that completes once the report has been shown.
+     */
+    public CompletableFuture<Void> moduleReport(TextField code) {
+        String moduleCode = code.getText();
+        String moduleCodeError = validateModuleCode(moduleCode);
+        if (moduleCodeError != null) {
+            Alert alert = new Alert(AlertType.WARNING);
+            alert.setTitle("Warning");
+            alert.setHeaderText("Incomplete Information");
+            alert.setContentText(moduleCodeError);
+            alert.showAndWait();
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return inBackground("moduleReport", "Reporting on module " + moduleCode, () -> {
+            Module found = moduleRepository.findByCode(moduleCode);
+            if (found == null) {
+                //null indicates the module was not found
+                return null;
+            }
+            ModuleFailures failures = reports.failingStudents(moduleCode);
+            SemesterPassRates passRates = reports.semesterPassRates(found.getSemester());
+            return failures + "\n\n" + passRates;
+        }).thenAcceptAsync(report -> {
+            Alert alert = new Alert(report != null ? AlertType.INFORMATION : AlertType.ERROR);
+            alert.setTitle("Report");
+            alert.setHeaderText(report != null ? "Module " + moduleCode : "Error finding module");
+            alert.setContentText(report != null ? report : "Module not found in database");
+            alert.showAndWait();
+        }, BackgroundTasks.FX).exceptionally(e -> logFailure("Error reporting on module: ", e));
+    }
+
+    /**
+     * Drops the cached reports built from a grade that has been saved or deleted.
+     */
+    private void invalidateGradeReports(String studentId, String moduleCode) throws StorageException {
+        reports.getCache().invalidateStudent(studentId);
+        invalidateModuleReports(moduleCode, moduleRepository.findByCode(moduleCode));
+    }
+
+    /**
+     * Drops the cached reports built from a module, and from the modules of its semester if it is known.
+     */
+    private void invalidateModuleReports(String moduleCode, Module module) {
+        reports.getCache().invalidateModule(moduleCode);
+        if (module != null) {
+            reports.getCache().invalidateSemester(module.getSemester());
+        }
+    }
+
+    /**
+     * Builds the grade statistics again from every grade in the store, on a background thread.
+     * The statistics follow grades submitted and deleted in the application by themselves; this is needed at
+     * startup and after changes that remove or add grades in bulk.
+     *
+     * @return A future that completes once the statistics have been built.
+     */
+    public CompletableFuture<Void> reloadStatistics() {
+        return inBackground("reloadStatistics", "Loading grade statistics", () -> {
+            statistics.reload(store);
+            return (Void) null;
+        }).exceptionally(e -> logFailure("Error loading grade statistics: ", e));
+    }
+
+    /**
+     * Runs database work on a background thread.
+     * The time from submitting the work until it finishes, including any wait for a free worker, is recorded
+     * in the metrics of the operation, along with whether it succeeded.
+     * If leak tracking is enabled, statements and result sets the work left open are reported once it finishes.
+     * Statements the work runs are logged under the operation name if the slow-query log is enabled.
+     *
+     * @param operation   The name of the Controller operation, under which the work is timed.
+     * @param description A short description of the work, shown while it is running.
+     * @param work        The work to run.
+     * @param <T>         The type of the result.
+     * @return A future completed with the result of the work.
+     */
+    private <T> CompletableFuture<T> inBackground(String operation, String description, Callable<T> work) {
+        ResourceTracker tracker = database != null ? database.getResourceTracker() : null;
+        OperationMetrics timer = metrics.operation(operation);
+        long start = System.nanoTime();
+        return tasks.submit(description, () -> {
+            boolean succeeded = false;
+            SlowQueryLog.enterOperation(operation);
             try {
-                while (true) {
-                    studentList.add(new Student("Furqan Ali", "R00163178", "06/10/1999", 3));
+                T result = work.call();
+                succeeded = true;
+                return result;
+            } finally {
+                SlowQueryLog.exitOperation();
+                timer.record(start, succeeded);
+                if (tracker != null) {
+                    tracker.checkLeaks(description);
                 }
-            } catch (OutOfMemoryError e) {
-                e.printStackTrace();
-                System.err.println("Out of memory error: " + e.getMessage());
-                endTime = System.currentTimeMillis();
             }
-            //this shows the time taken to crash in seconds
-            long timeElapsed = (endTime - startTime) / 1000;
-            System.err.println("The time it took to crash: " + timeElapsed + " seconds.");
+        });
+    }
+
+    /**
+     * Prints the cause of a failed background operation, unless the operation was cancelled.
+     *
+     * @param message The message printed before the cause.
+     * @param error   The error the operation completed with.
+     * @return null, so it can be used directly in CompletableFuture.exceptionally.
+     */
+    private static Void logFailure(String message, Throwable error) {
+        if (!isCancellation(error)) {
+            System.err.println(message + unwrap(error).getMessage());
+        }
+        return null;
+    }
+
+    private static boolean isCancellation(Throwable error) {
+        return unwrap(error) instanceof CancellationException;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        while (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+
+    /**
+     * A student found by a search along with their module grades.
+     */
+    private static class SearchResult {
+
+        private final Student student;
+        private final List<ModuleGrade> grades;
+
+        SearchResult(Student student, List<ModuleGrade> grades) {
+            this.student = student;
+            this.grades = grades;
+        }
+    }
+
+    /**
+     * The items of the module combo box and the highest semester they were filtered by.
+     */
+    private static class ModuleChoices {
+
+        private final int maxSemester;
+        private final List<String> items;
+
+        ModuleChoices(int maxSemester, List<String> items) {
+            this.maxSemester = maxSemester;
+            this.items = items;
+        }
+    }
+
+    /**
+     * The items of the student combo box and the prefix index built from the same students.
+     */
+    private static class StudentChoices {
+
+        private final List<String> items;
+        private final PrefixIndex<String> index;
+
+        StudentChoices(List<String> items, PrefixIndex<String> index) {
+            this.items = items;
+            this.index = index;
         }
     }
-}
\ No newline at end of file
+}
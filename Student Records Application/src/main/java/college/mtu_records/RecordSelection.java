@@ -0,0 +1,99 @@
+package college.mtu_records;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The RecordSelection class holds the records a bulk removal applies to, as typed by the user.
+ * <p>
+ * The text is either a list of IDs separated by commas, spaces or new lines, or a filter on the semester such
+ * as "semester &gt; 8", with one of the operators &lt;, &lt;=, =, &gt;= and &gt;. A filter is matched against
+ * the current semester of students and the semester of modules.
+ */
+public final class RecordSelection {
+
+    private static final Pattern FILTER =
+            Pattern.compile("\\s*semester\\s*(<=|>=|<|>|=)\\s*(\\d{1,9})\\s*", Pattern.CASE_INSENSITIVE);
+    private static final Pattern SEPARATORS = Pattern.compile("[,\\s]+");
+
+    private final List<String> ids;
+    private final String operator;
+    private final int semester;
+
+    private RecordSelection(List<String> ids, String operator, int semester) {
+        this.ids = ids;
+        this.operator = operator;
+        this.semester = semester;
+    }
+
+    /**
+     * Reads a selection. Text that is not a semester filter is read as a list of IDs, each listed once.
+     *
+     * @param text The typed text.
+     * @return The selection.
+     */
+    public static RecordSelection parse(String text) {
+        Matcher filter = FILTER.matcher(text);
+        if (filter.matches()) {
+            return new RecordSelection(List.of(), filter.group(1), Integer.parseInt(filter.group(2)));
+        }
+        Set<String> ids = new LinkedHashSet<>();
+        for (String id : SEPARATORS.split(text.trim())) {
+            if (!id.isEmpty()) {
+                ids.add(id);
+            }
+        }
+        return new RecordSelection(new ArrayList<>(ids), null, 0);
+    }
+
+    /**
+     * Checks if this selection is a semester filter rather than a list of IDs.
+     *
+     * @return true for a filter.
+     */
+    public boolean isFilter() {
+        return operator != null;
+    }
+
+    /**
+     * Returns the listed IDs, in the order they were typed.
+     *
+     * @return The IDs, empty for a filter.
+     */
+    public List<String> getIds() {
+        return ids;
+    }
+
+    /**
+     * Checks if a record of the given semester is selected by the filter.
+     *
+     * @param recordSemester The current semester of a student or the semester of a module.
+     * @return true if the filter selects the record, false if it does not or this is not a filter.
+     */
+    public boolean matches(int recordSemester) {
+        if (operator == null) {
+            return false;
+        }
+        switch (operator) {
+            case "<":
+                return recordSemester < semester;
+            case "<=":
+                return recordSemester <= semester;
+            case "=":
+                return recordSemester == semester;
+            case ">=":
+                return recordSemester >= semester;
+            default:
+                return recordSemester > semester;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return isFilter() ? "semester " + operator + " " + semester : ids.size() + " listed";
+    }
+}
@@ -0,0 +1,128 @@
+package college.mtu_records;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * The RecordValidator class holds the validation rules for students, modules and grades.
+ * <p>
+ * Each rule returns an error message, or a flag, describing what is wrong with the input.
+ * The same rules are used by the forms in the view and by bulk imports.
+ */
+public class RecordValidator {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    /**
+     * Validates if the given student name is not empty.
+     *
+     * @param name The student name to validate.
+     * @return A validation error message if the name is empty, otherwise null.
+     */
+    public String validateStudentName(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            return "Student name cannot be empty.";
+        }
+        //null indicates student name is valid
+        return null;
+    }
+
+    /**
+     * Validates if the given module name is not empty.
+     *
+     * @param name The module name to validate.
+     * @return A validation error message if the name is empty, otherwise null.
+     */
+    public String validateModuleName(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            return "Module name cannot be empty.";
+        }
+        //null indicates module name is valid
+        return null;
+    }
+
+    /**
+     * Validates if the given student ID is not empty and follows the required format.
+     *
+     * @param id The student ID to validate.
+     * @return A validation error message if the ID is empty or does not follow the required format, otherwise null.
+     */
+    public String validateStudentId(String id) {
+        if (id == null || id.isEmpty()) {
+            return "Student ID cannot be empty.";
+        }
+        if (!id.contains("R00") || id.length() != 9) {
+            return "Invalid student ID. It must start with 'R00' and be 9 characters long.";
+        }
+        //null indicates student ID is valid
+        return null;
+    }
+
+    /**
+     * Validates if the given module code is not empty and follows the required format.
+     *
+     * @param code The module code to validate.
+     * @return A validation error message if the code is empty or does not follow the required format, otherwise null.
+     */
+    public String validateModuleCode(String code) {
+        if (code == null || code.isEmpty()) {
+            return "Module code cannot be empty.";
+        }
+        if (!code.contains("MT") || code.length() != 5) {
+            return "Invalid module code. It must start with 'MT' and be 5 characters long.";
+        }
+        //null indicates module code is valid
+        return null;
+    }
+
+    /**
+     * Validates if the given grade is within the acceptable range (0-100).
+     *
+     * @param grade The grade to validate.
+     * @return true if the grade is valid, otherwise false.
+     */
+    public boolean validateGrade(double grade) {
+        return grade >= 0 && grade <= 100;
+    }
+
+    /**
+     * Validates if the given date of birth is in the correct format and follows the age requirements.
+     *
+     * @param dob The date of birth to validate.
+     * @return A validation error message if the date format is incorrect or the age is not within the required range, otherwise null.
+     */
+    public String validateDob(String dob) {
+        try {
+            LocalDate parsedDate = LocalDate.parse(dob, DATE_FORMAT);
+
+            //check if the date is not after the current local date
+            if (parsedDate.isAfter(LocalDate.now())) {
+                return "Date of birth cannot be greater than today's date.";
+            }
+
+            //calculate the age based on the date of birth
+            int age = Period.between(parsedDate, LocalDate.now()).getYears();
+
+            //ensure the minimum age is 16 years
+            if (age < 16) {
+                return "Student must be at least 16 years old.";
+            }
+            //null indicates date of birth is valid
+            return null;
+        } catch (DateTimeParseException e) {
+            return "Invalid date format. Please use the format DD/MM/YYYY.";
+        }
+    }
+
+    /**
+     * Validates if the given semester value is greater than 10.
+     *
+     * @param semester The semester to validate.
+     * @return true if the semester is valid, otherwise false.
+     */
+    public boolean validateSemester(int semester) {
+        return (semester > 10);
+    }
+}
@@ -1,23 +1,41 @@
 package college.mtu_records;
 
+import college.mtu_import.ImportKind;
+import college.mtu_model.Module;
+import college.mtu_model.ModuleGrade;
+import college.mtu_model.Student;
+import college.mtu_model.TranscriptOrder;
+import javafx.beans.binding.Bindings;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.SortedList;
 import javafx.geometry.HPos;
 import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.geometry.Side;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
 
+import java.util.function.Function;
+
 
 /**
  * The View class represents the graphical user interface for the student record system.
  * <p>
  * It contains buttons, text fields, and combo boxes for adding, removing, listing, searching,
- * and sorting records. It also holds the scene object for displaying the interface.
+ * and sorting records. It also holds the scene object for displaying the interface, and a status bar
+ * that shows database work running in the background and lets the user cancel it.
  * <p>
  * The class has a reference to the controller object and stores the selected student and module,
  * as well as their corresponding states.
  */
 public class View {
 
+    //the number of matching students suggested while typing
+    private static final int SUGGESTIONS = 20;
+
     //initialize the scene
     private Scene scene;
 
@@ -42,13 +60,20 @@ public class View {
 
     //initializing the buttons
     //tab 1 buttons
-    protected Button add, remove, list, exitTab1;
+    protected Button add, remove, removeStudents, list, moreStudents, importStudents, exitTab1;
     //tab 2 buttons
-    protected Button addModule, removeModule, listModule, exitTab2;
+    protected Button addModule, removeModule, listModule, moreModules, importModules, moduleReport, exitTab2;
+    protected Button removeModules;
     //tab 3 buttons
-    protected Button submit, delete, exitTab3;
+    protected Button submit, delete, refresh, importGrades, exitTab3;
     //tab 4 buttons
-    protected Button search, alphabetical_sort, numerical_sort, memoryLeak, exitTab4;
+    protected Button search, alphabetical_sort, numerical_sort, export, memoryLeak, exitTab4;
+    //status bar button
+    protected Button cancel;
+
+    //status bar showing running database work
+    protected ProgressIndicator progress;
+    protected Label status;
 
     //initializing all text fields
     //tab 1 text fields
@@ -56,7 +81,7 @@ public class View {
     //tab 2 text fields
     protected TextField moduleNameInput, moduleCodeInput, moduleSemesterInput;
     //tab 3 text fields
-    protected TextField gradeInput;
+    protected TextField gradeInput, studentFilter;
     //tab 4 text fields
     protected TextField searchInput;
 
@@ -77,32 +102,57 @@ public class View {
         addModule = new Button("Add");
         remove = new Button("Remove");
         removeModule = new Button("Remove");
+        removeStudents = new Button("Remove Many");
+        removeModules = new Button("Remove Many");
+        moduleReport = new Button("Report");
         list = new Button("List");
         listModule = new Button("List");
+        moreStudents = new Button("More");
+        moreModules = new Button("More");
+        //enabled once a listing shows there are more records to load
+        moreStudents.setDisable(true);
+        moreModules.setDisable(true);
+        importStudents = new Button("Import");
+        importModules = new Button("Import");
+        importGrades = new Button("Import");
         exitTab1 = new Button("Exit");
         exitTab2 = new Button("Exit");
         exitTab3 = new Button("Exit");
         exitTab4 = new Button("Exit");
         submit = new Button("Submit");
         delete = new Button("Delete Grade");
+        refresh = new Button("Refresh");
         alphabetical_sort = new Button("Alphabetical");
         numerical_sort = new Button("Numerical");
         search = new Button("Search");
+        export = new Button("Export");
         memoryLeak = new Button("Memory Leak");
+        cancel = new Button("Cancel");
 
 
-        //setting the list to the textarea where the arraylist is displayed
-        controller.list1 = new TextArea();
-        controller.list2 = new TextArea();
-        controller.list3 = new TextArea();
-        controller.list4 = new TextArea();
+        //setting the tables where the lists of records are displayed
+        //a table only creates cells for the rows that are visible, so large listings stay responsive
+        controller.list1 = table(controller.studentsList);
+        controller.list1.getColumns().add(column("Name", Student::getStudentName));
+        controller.list1.getColumns().add(column("Student ID", Student::getStudentId));
+        controller.list1.getColumns().add(column("Date of Birth", Student::getDateOfBirth));
+        controller.list1.getColumns().add(column("Semester", Student::getCurrentSemester));
+
+        controller.list2 = table(controller.modulesList);
+        controller.list2.getColumns().add(column("Module Name", Module::getModuleName));
+        controller.list2.getColumns().add(column("Module Code", Module::getModuleCode));
+        controller.list2.getColumns().add(column("Semester", Module::getSemester));
 
+        controller.list4 = table(controller.gradesList);
+        controller.list4.getColumns().add(column("Module Name", ModuleGrade::getModuleName));
+        controller.list4.getColumns().add(column("Grade", ModuleGrade::getGrade));
+        controller.studentDetails = new Label();
+
+        //setting the list to the textarea where grade changes are displayed
+        controller.list3 = new TextArea();
 
         //setting the textarea to not be editable
-        controller.list1.setEditable(false);
-        controller.list2.setEditable(false);
         controller.list3.setEditable(false);
-        controller.list4.setEditable(false);
 
 
         //splitting application into tabs
@@ -138,8 +188,8 @@ public class View {
         ButtonBar buttonBarTab1Row2 = new ButtonBar();
 
         //adding the buttons to the button bars
-        buttonBarTab1Row1.getButtons().addAll(add, remove, list);
-        buttonBarTab1Row2.getButtons().addAll(exitTab1);
+        buttonBarTab1Row1.getButtons().addAll(add, remove, removeStudents, list);
+        buttonBarTab1Row2.getButtons().addAll(moreStudents, importStudents, exitTab1);
 
         //adding everything to the layout of tab 1
         layout_1.add(lblName, 0, 0, 1, 1);
@@ -153,7 +203,7 @@ public class View {
         layout_1.add(buttonBarTab1Row1, 0, 4, 2, 1);
         layout_1.add(controller.list1, 0, 5, 2, 1);
 
-        //setting preferred width and height fot the text box
+        //setting preferred width and height fot the table
         controller.list1.setPrefWidth(100);
         controller.list1.setPrefHeight(200);
         layout_1.add(buttonBarTab1Row2, 0, 6, 2, 1);
@@ -217,8 +267,8 @@ public class View {
         ButtonBar buttonBarTab2Row2 = new ButtonBar();
 
         //adding the buttons to the button bars
-        buttonBarTab2Row1.getButtons().addAll(addModule, removeModule, listModule);
-        buttonBarTab2Row2.getButtons().addAll(exitTab2);
+        buttonBarTab2Row1.getButtons().addAll(addModule, removeModule, removeModules, listModule);
+        buttonBarTab2Row2.getButtons().addAll(moreModules, importModules, moduleReport, exitTab2);
 
         //adding everything to the layout of tab 2
         layout_2.add(lblModuleName, 0, 1);
@@ -230,7 +280,7 @@ public class View {
         layout_2.add(buttonBarTab2Row1, 0, 4, 2, 1);
         layout_2.add(controller.list2, 0, 5, 2, 1);
 
-        //setting preferred width and height fot the text box
+        //setting preferred width and height fot the table
         controller.list2.setPrefWidth(100);
         controller.list2.setPrefHeight(200);
         layout_2.add(buttonBarTab2Row2, 0, 6, 2, 1);
@@ -274,10 +324,13 @@ public class View {
         //calls combo box
         controller.comboBox();
         comboBox.setPromptText("Select a student");
-        comboBox.getItems().addAll(controller.studentListCombo);
         comboBox.setItems(controller.observableList);
         //add listener to combo box
         comboBox.getSelectionModel().selectedItemProperty().addListener((observable, oldValue, newValue) -> {
+            //the selection is cleared when the selected student is removed
+            if (newValue == null) {
+                return;
+            }
             //temp to split selected student into array of strings which are separated by a space
             String[] temp = newValue.split(" ");
             //assigns the selected student to the first string
@@ -291,12 +344,28 @@ public class View {
         });
 
 
+        //filter the student combo box as the user types, using the controller's prefix index
+        studentFilter = new TextField();
+        studentFilter.setPromptText("Filter by ID or name");
+        studentFilter.textProperty().addListener((observable, oldValue, newValue) -> {
+            if (newValue.isBlank()) {
+                comboBox.setItems(controller.observableList);
+            } else {
+                comboBox.setItems(FXCollections.observableArrayList(controller.findStudents(newValue, SUGGESTIONS)));
+                comboBox.show();
+            }
+        });
+
+
         //start of second combo box
         comboBox_2.setPromptText("Select a module");
-        comboBox_2.getItems().addAll(controller.moduleListCombo);
         comboBox_2.setItems(controller.observableListModule);
         //add listener to second combo box
         comboBox_2.getSelectionModel().selectedItemProperty().addListener((observable, oldValue, newValue) -> {
+            //the selection is cleared when the module list changes
+            if (newValue == null) {
+                return;
+            }
             //temp to split selected module into array of strings which are separated by a space
             String[] temp = newValue.split(" ");
             //assigns the selected module to the first string
@@ -318,10 +387,11 @@ public class View {
 
         //adding the buttons to the button bars
         buttonBarTab3Row1.getButtons().addAll(modifyGrade, submit, delete);
-        buttonBarTab3Row2.getButtons().addAll(exitTab3);
+        buttonBarTab3Row2.getButtons().addAll(refresh, importGrades, exitTab3);
 
         //adding everything to the layout of tab 3
         layout_3.add(comboBox, 0, 0);
+        layout_3.add(studentFilter, 1, 0);
         layout_3.add(comboBox_2, 0, 1);
         layout_3.add(lblGrade, 0, 2);
         layout_3.add(gradeInput, 0, 3);
@@ -356,7 +426,33 @@ public class View {
 
         //naming text fields for tab 4
         searchInput = new TextField();
-        searchInput.setPromptText("R00XXXXXX");
+        searchInput.setPromptText("R00XXXXXX or name");
+
+        //suggest matching students while a student ID or name is typed in the search field
+        ContextMenu suggestions = new ContextMenu();
+        searchInput.textProperty().addListener((observable, oldValue, newValue) -> {
+            suggestions.getItems().clear();
+            if (!newValue.isBlank() && searchInput.isFocused()) {
+                for (String item : controller.findStudents(newValue, SUGGESTIONS)) {
+                    String studentId = ComboItems.id(item);
+                    //nothing to suggest once the full ID has been typed or picked
+                    if (studentId.equalsIgnoreCase(newValue.trim())) {
+                        continue;
+                    }
+                    MenuItem suggestion = new MenuItem(item);
+                    suggestion.setOnAction(actionEvent -> {
+                        searchInput.setText(studentId);
+                        controller.search(searchInput, statePassed);
+                    });
+                    suggestions.getItems().add(suggestion);
+                }
+            }
+            if (suggestions.getItems().isEmpty()) {
+                suggestions.hide();
+            } else if (!suggestions.isShowing()) {
+                suggestions.show(searchInput, Side.BOTTOM, 0, 0);
+            }
+        });
 
         //naming labels for tab 4
         Label lblSearch = new Label("Search for Student");
@@ -375,17 +471,18 @@ public class View {
         ButtonBar buttonBarTab4Row1 = new ButtonBar();
 
         //adding the buttons to the button bars
-        buttonBarTab4Row1.getButtons().addAll(lblSort, alphabetical_sort, numerical_sort, memoryLeak, exitTab4);
+        buttonBarTab4Row1.getButtons().addAll(lblSort, alphabetical_sort, numerical_sort, export, memoryLeak, exitTab4);
 
         //adding everything to the layout of tab 4
         layout_4.add(lblSearch, 0, 0);
         layout_4.add(searchInput, 0, 1);
         layout_4.add(search, 0, 2);
         layout_4.add(tickBoxPassedModules, 0, 3);
-        layout_4.add(controller.list4, 0, 4);
+        layout_4.add(controller.studentDetails, 0, 4);
+        layout_4.add(controller.list4, 0, 5);
         controller.list4.setPrefWidth(100);
         controller.list4.setPrefHeight(200);
-        layout_4.add(buttonBarTab4Row1, 0, 5);
+        layout_4.add(buttonBarTab4Row1, 0, 6);
 
         //setting the constraints for the column
         ColumnConstraints column7 = new ColumnConstraints();
@@ -408,14 +505,23 @@ public class View {
         addModule.setOnAction(actionEvent -> controller.addModule(moduleNameInput, moduleCodeInput, moduleSemesterInput));
         remove.setOnAction(actionEvent -> controller.removeStudent(studentIdInput));
         removeModule.setOnAction(actionEvent -> controller.removeModule(moduleCodeInput));
+        removeStudents.setOnAction(actionEvent -> controller.removeStudents());
+        removeModules.setOnAction(actionEvent -> controller.removeModules());
+        moduleReport.setOnAction(actionEvent -> controller.moduleReport(moduleCodeInput));
         list.setOnAction(actionEvent -> controller.listStudent());
         listModule.setOnAction(actionEvent -> controller.listModule());
+        moreStudents.setOnAction(actionEvent -> controller.moreStudents());
+        moreModules.setOnAction(actionEvent -> controller.moreModules());
+        importStudents.setOnAction(actionEvent -> controller.importRecords(ImportKind.STUDENTS));
+        importModules.setOnAction(actionEvent -> controller.importRecords(ImportKind.MODULES));
+        importGrades.setOnAction(actionEvent -> controller.importRecords(ImportKind.GRADES));
         exitTab1.setOnAction(actionEvent -> controller.exit());
         exitTab2.setOnAction(actionEvent -> controller.exit());
         exitTab3.setOnAction(actionEvent -> controller.exit());
         exitTab4.setOnAction(actionEvent -> controller.exit());
         submit.setOnAction(actionEvent -> controller.submit(selectedStudent, selectedModule, gradeInput));
         delete.setOnAction(actionEvent -> controller.delete(selectedStudent, selectedModule));
+        refresh.setOnAction(actionEvent -> controller.refreshCombos());
         search.setOnAction(actionEvent -> controller.search(searchInput, statePassed));
         tickBoxPassedModules.setOnAction(actionEvent ->
                 tickBoxPassedModules.selectedProperty().addListener((o, oldValue, newValue) -> {
@@ -429,20 +535,72 @@ public class View {
                 }));
 
         memoryLeak.setOnAction(event -> controller.memoryLeak());
-        alphabetical_sort.setOnAction(actionEvent -> {
-            String input = "moduleName";
-            String sort = "asc";
-            controller.sort(searchInput, input, sort);
-        });
-        numerical_sort.setOnAction(actionEvent -> {
-            String input = "grade";
-            String sort = "desc";
-            controller.sort(searchInput, input, sort);
-        });
+        alphabetical_sort.setOnAction(actionEvent -> controller.sort(TranscriptOrder.ALPHABETICAL));
+        numerical_sort.setOnAction(actionEvent -> controller.sort(TranscriptOrder.NUMERICAL));
+        export.setOnAction(actionEvent -> controller.exportTranscripts());
 
         //add all tabs to tab pane
         tabPane.getTabs().addAll(tab1, tab2, tab3, tab4);
-        scene = new Scene(tabPane, 500, 350);
 
+        //status bar that is visible while database work is running in the background
+        progress = new ProgressIndicator();
+        progress.setPrefSize(16, 16);
+        status = new Label();
+        HBox statusBar = new HBox(10, progress, status, cancel);
+        statusBar.setAlignment(Pos.CENTER_LEFT);
+        statusBar.setPadding(new Insets(0, 10, 5, 10));
+        HBox.setHgrow(status, Priority.ALWAYS);
+        status.setMaxWidth(Double.MAX_VALUE);
+
+        BackgroundTasks tasks = controller.getTasks();
+        progress.visibleProperty().bind(tasks.runningCountProperty().greaterThan(0));
+        cancel.disableProperty().bind(tasks.runningCountProperty().isEqualTo(0));
+        //the running work is shown while there is any, followed by the outcome of the last operation
+        status.textProperty().bind(Bindings.createStringBinding(() -> {
+            String message = controller.messageProperty().get();
+            if (tasks.runningCountProperty().get() == 0) {
+                return message;
+            }
+            return message.isEmpty() ? tasks.descriptionProperty().get()
+                    : tasks.descriptionProperty().get() + " - " + message;
+        }, tasks.runningCountProperty(), tasks.descriptionProperty(), controller.messageProperty()));
+        cancel.setOnAction(actionEvent -> controller.cancel());
+
+        BorderPane root = new BorderPane(tabPane);
+        root.setBottom(statusBar);
+        scene = new Scene(root, 500, 380);
+
+    }
+
+    /**
+     * Creates a read-only table showing the given records.
+     * Clicking a column header sorts the rows in memory, including rows added to the list later.
+     *
+     * @param records The records to show.
+     * @param <S>     The type of the records.
+     * @return A new table.
+     */
+    private static <S> TableView<S> table(ObservableList<S> records) {
+        SortedList<S> sorted = new SortedList<>(records);
+        TableView<S> table = new TableView<>(sorted);
+        sorted.comparatorProperty().bind(table.comparatorProperty());
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
+        table.setPlaceholder(new Label("No records"));
+        return table;
+    }
+
+    /**
+     * Creates a table column showing one property of a record.
+     *
+     * @param title The column header.
+     * @param value Reads the property from a record.
+     * @param <S>   The type of the records.
+     * @param <T>   The type of the property, which decides how the column sorts.
+     * @return A new column.
+     */
+    private static <S, T> TableColumn<S, T> column(String title, Function<S, T> value) {
+        TableColumn<S, T> column = new TableColumn<>(title);
+        column.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(value.apply(cell.getValue())));
+        return column;
     }
-}
\ No newline at end of file
+}
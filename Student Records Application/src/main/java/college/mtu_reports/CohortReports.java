@@ -0,0 +1,129 @@
+package college.mtu_reports;
+
+import college.mtu_analytics.GradeStatistics;
+import college.mtu_model.GradeEntry;
+import college.mtu_storage.RecordStore;
+import college.mtu_storage.StorageException;
+import college.mtu_storage.TranscriptScope;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The CohortReports class answers registrar questions about the grades: the average of a student, the students
+ * failing a module and the pass rates of a semester.
+ * <p>
+ * Each report is built with one scan of the grades it covers and kept in a {@link ReportCache}, so it is read
+ * from memory until one of the students or modules it was built from changes. The code making a change must
+ * tell the cache, see {@link #getCache()}.
+ */
+public class CohortReports {
+
+    private final RecordStore store;
+    private final ReportCache cache;
+
+    /**
+     * Constructs a new CohortReports.
+     *
+     * @param store The store to read the grades from.
+     * @param cache The cache of built reports.
+     */
+    public CohortReports(RecordStore store, ReportCache cache) {
+        this.store = store;
+        this.cache = cache;
+    }
+
+    /**
+     * Returns the average grade of a student.
+     *
+     * @param studentId The student ID.
+     * @return The report.
+     * @throws StorageException if the grades cannot be read.
+     */
+    public StudentAverage studentAverage(String studentId) throws StorageException {
+        return cache.get("student average " + studentId, dependencies -> {
+            dependencies.student(studentId);
+            String[] name = new String[1];
+            double[] sum = new double[1];
+            int[] counts = new int[2];
+            store.scanTranscripts(TranscriptScope.student(studentId), (id, studentName, moduleCode, module, grade) -> {
+                dependencies.module(moduleCode);
+                name[0] = studentName;
+                sum[0] += grade;
+                counts[0]++;
+                if (grade >= GradeStatistics.PASS_MARK) {
+                    counts[1]++;
+                }
+            });
+            return new StudentAverage(studentId, name[0], counts[0], counts[1],
+                    counts[0] > 0 ? sum[0] / counts[0] : Double.NaN);
+        });
+    }
+
+    /**
+     * Returns the students failing a module.
+     *
+     * @param moduleCode The module code.
+     * @return The report.
+     * @throws StorageException if the grades cannot be read.
+     */
+    public ModuleFailures failingStudents(String moduleCode) throws StorageException {
+        return cache.get("failing students " + moduleCode, dependencies -> {
+            dependencies.module(moduleCode);
+            List<GradeEntry> failing = new ArrayList<>();
+            int[] graded = new int[1];
+            store.scanTranscripts(TranscriptScope.module(moduleCode), (studentId, name, code, module, grade) -> {
+                //removing any graded student changes the count
+                dependencies.student(studentId);
+                graded[0]++;
+                if (grade < GradeStatistics.PASS_MARK) {
+                    failing.add(new GradeEntry(studentId, code, grade));
+                }
+            });
+            return new ModuleFailures(moduleCode, graded[0], failing);
+        });
+    }
+
+    /**
+     * Returns the pass rates of the modules taught in a semester.
+     *
+     * @param semester The semester of the modules.
+     * @return The report.
+     * @throws StorageException if the grades cannot be read.
+     */
+    public SemesterPassRates semesterPassRates(int semester) throws StorageException {
+        return cache.get("semester pass rates " + semester, dependencies -> {
+            dependencies.semester(semester);
+            //the graded and passed counts of each module
+            Map<String, int[]> counts = new HashMap<>();
+            int[] total = new int[2];
+            store.scanTranscripts(TranscriptScope.semester(semester), (studentId, name, moduleCode, module, grade) -> {
+                dependencies.student(studentId);
+                int[] moduleCounts = counts.computeIfAbsent(moduleCode, code -> {
+                    dependencies.module(code);
+                    return new int[2];
+                });
+                moduleCounts[0]++;
+                total[0]++;
+                if (grade >= GradeStatistics.PASS_MARK) {
+                    moduleCounts[1]++;
+                    total[1]++;
+                }
+            });
+            Map<String, Double> passRates = new HashMap<>();
+            counts.forEach((code, moduleCounts) -> passRates.put(code, (double) moduleCounts[1] / moduleCounts[0]));
+            return new SemesterPassRates(semester, passRates, total[0], total[1]);
+        });
+    }
+
+    /**
+     * Returns the cache of built reports, which must be told about changes.
+     *
+     * @return The cache.
+     */
+    public ReportCache getCache() {
+        return cache;
+    }
+}
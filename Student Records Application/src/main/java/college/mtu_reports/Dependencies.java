@@ -0,0 +1,46 @@
+package college.mtu_reports;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Collects the students, modules and semesters a report was built from, while it is being built.
+ * A change to any of them makes {@link ReportCache} drop the report.
+ */
+public class Dependencies {
+
+    private final Set<String> keys = new HashSet<>();
+
+    public void student(String studentId) {
+        keys.add(studentKey(studentId));
+    }
+
+    public void module(String moduleCode) {
+        keys.add(moduleKey(moduleCode));
+    }
+
+    /**
+     * Records that the report covers every module of a semester, including modules that have no grades yet.
+     *
+     * @param semester The semester.
+     */
+    public void semester(int semester) {
+        keys.add(semesterKey(semester));
+    }
+
+    Set<String> getKeys() {
+        return keys;
+    }
+
+    static String studentKey(String studentId) {
+        return "student " + studentId;
+    }
+
+    static String moduleKey(String moduleCode) {
+        return "module " + moduleCode;
+    }
+
+    static String semesterKey(int semester) {
+        return "semester " + semester;
+    }
+}
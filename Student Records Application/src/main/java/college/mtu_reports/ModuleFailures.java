@@ -0,0 +1,49 @@
+package college.mtu_reports;
+
+import college.mtu_model.GradeEntry;
+
+import java.util.List;
+
+/**
+ * The ModuleFailures class is the report of the students failing one module.
+ */
+public class ModuleFailures {
+
+    private final String moduleCode;
+    private final int graded;
+    private final List<GradeEntry> failing;
+
+    /**
+     * Constructs a new ModuleFailures.
+     *
+     * @param moduleCode The module code.
+     * @param graded     The number of students with a grade for the module.
+     * @param failing    The grades below the pass mark, ordered by student ID.
+     */
+    public ModuleFailures(String moduleCode, int graded, List<GradeEntry> failing) {
+        this.moduleCode = moduleCode;
+        this.graded = graded;
+        this.failing = List.copyOf(failing);
+    }
+
+    public String getModuleCode() {
+        return moduleCode;
+    }
+
+    public int getGraded() {
+        return graded;
+    }
+
+    public List<GradeEntry> getFailing() {
+        return failing;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(moduleCode + ": " + failing.size() + " of " + graded + " failing");
+        for (GradeEntry entry : failing) {
+            text.append('\n').append(entry.getStudentId()).append(' ').append(entry.getGrade());
+        }
+        return text.toString();
+    }
+}
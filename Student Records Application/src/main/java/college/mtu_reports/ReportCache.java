@@ -0,0 +1,199 @@
+package college.mtu_reports;
+
+import college.mtu_storage.StorageException;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The ReportCache class keeps built reports in memory along with the students, modules and semesters each one
+ * was built from.
+ * <p>
+ * When a grade, student or module changes, only the reports that depend on it are dropped; every other report
+ * is still served from memory. Once the cache is full the least recently used report is dropped. A report
+ * built while a change was being made may already be out of date, so it is returned but not cached.
+ */
+public class ReportCache {
+
+    /**
+     * Builds a report, recording what it was built from.
+     *
+     * @param <T> The type of the report.
+     */
+    @FunctionalInterface
+    public interface Loader<T> {
+
+        /**
+         * Builds the report.
+         *
+         * @param dependencies Receives the students, modules and semesters read.
+         * @return The report.
+         * @throws StorageException if the records cannot be read.
+         */
+        T load(Dependencies dependencies) throws StorageException;
+    }
+
+    private final int maxSize;
+    private final LinkedHashMap<String, Entry> entries;
+    //the reports depending on each student, module or semester
+    private final Map<String, Set<String>> dependents = new HashMap<>();
+    //counts changes, so a report built across a change is not cached
+    private long generation;
+
+    private long hits;
+    private long misses;
+    private long invalidations;
+
+    /**
+     * Constructs a new ReportCache.
+     *
+     * @param maxSize The maximum number of reports held.
+     */
+    public ReportCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > ReportCache.this.maxSize) {
+                    unlink(eldest.getKey(), eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns a cached report, or builds and caches it.
+     *
+     * @param key    The name of the report, which decides its type.
+     * @param loader Builds the report if it is not cached.
+     * @param <T>    The type of the report.
+     * @return The report.
+     * @throws StorageException if the report had to be built and the records cannot be read.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Loader<T> loader) throws StorageException {
+        long started;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                hits++;
+                return (T) entry.report;
+            }
+            misses++;
+            started = generation;
+        }
+        //built without the lock, so a slow report does not hold up others
+        Dependencies dependencies = new Dependencies();
+        T report = loader.load(dependencies);
+        synchronized (this) {
+            if (generation == started) {
+                Entry entry = new Entry(report, dependencies.getKeys());
+                entries.put(key, entry);
+                for (String dependency : entry.dependencies) {
+                    dependents.computeIfAbsent(dependency, d -> new HashSet<>()).add(key);
+                }
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Drops the reports built from a student, after their grades change or they are removed.
+     *
+     * @param studentId The student ID.
+     */
+    public synchronized void invalidateStudent(String studentId) {
+        invalidate(Dependencies.studentKey(studentId));
+    }
+
+    /**
+     * Drops the reports built from a module, after its grades change or it is removed.
+     *
+     * @param moduleCode The module code.
+     */
+    public synchronized void invalidateModule(String moduleCode) {
+        invalidate(Dependencies.moduleKey(moduleCode));
+    }
+
+    /**
+     * Drops the reports covering the modules of a semester, after one of them changes or a module is added.
+     *
+     * @param semester The semester.
+     */
+    public synchronized void invalidateSemester(int semester) {
+        invalidate(Dependencies.semesterKey(semester));
+    }
+
+    /**
+     * Drops every report, after changes whose extent is not known, such as imports.
+     */
+    public synchronized void clear() {
+        generation++;
+        invalidations += entries.size();
+        entries.clear();
+        dependents.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getInvalidations() {
+        return invalidations;
+    }
+
+    private void invalidate(String dependency) {
+        generation++;
+        Set<String> keys = dependents.remove(dependency);
+        if (keys == null) {
+            return;
+        }
+        for (String key : keys) {
+            Entry entry = entries.remove(key);
+            if (entry != null) {
+                unlink(key, entry);
+                invalidations++;
+            }
+        }
+    }
+
+    private void unlink(String key, Entry entry) {
+        for (String dependency : entry.dependencies) {
+            Set<String> keys = dependents.get(dependency);
+            //the set being invalidated has already been taken out of the map
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    dependents.remove(dependency);
+                }
+            }
+        }
+    }
+
+    /**
+     * A cached report and what it was built from.
+     */
+    private static class Entry {
+
+        private final Object report;
+        private final Set<String> dependencies;
+
+        Entry(Object report, Set<String> dependencies) {
+            this.report = report;
+            this.dependencies = dependencies;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package college.mtu_reports;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The SemesterPassRates class is the report of the pass rates of the modules of one semester.
+ */
+public class SemesterPassRates {
+
+    private final int semester;
+    private final Map<String, Double> passRates;
+    private final int graded;
+    private final int passed;
+
+    /**
+     * Constructs a new SemesterPassRates.
+     *
+     * @param semester  The semester.
+     * @param passRates The pass rate of each module with grades, from 0 to 1, by module code.
+     * @param graded    The number of grades given for the modules of the semester.
+     * @param passed    The number of those grades that pass.
+     */
+    public SemesterPassRates(int semester, Map<String, Double> passRates, int graded, int passed) {
+        this.semester = semester;
+        this.passRates = Collections.unmodifiableMap(new TreeMap<>(passRates));
+        this.graded = graded;
+        this.passed = passed;
+    }
+
+    public int getSemester() {
+        return semester;
+    }
+
+    public Map<String, Double> getPassRates() {
+        return passRates;
+    }
+
+    public int getGraded() {
+        return graded;
+    }
+
+    /**
+     * Returns the share of all grades of the semester that pass.
+     *
+     * @return The pass rate from 0 to 1, or NaN if the semester has no grades.
+     */
+    public double getPassRate() {
+        return graded > 0 ? (double) passed / graded : Double.NaN;
+    }
+
+    @Override
+    public String toString() {
+        if (graded == 0) {
+            return "Semester " + semester + " has no grades";
+        }
+        StringBuilder text = new StringBuilder(String.format("Semester %d: %.0f%% of %d grades passed",
+                semester, getPassRate() * 100, graded));
+        for (Map.Entry<String, Double> module : passRates.entrySet()) {
+            text.append(String.format("%n%s %.0f%%", module.getKey(), module.getValue() * 100));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,59 @@
+package college.mtu_reports;
+
+/**
+ * The StudentAverage class is the report of the average grade of one student.
+ */
+public class StudentAverage {
+
+    private final String studentId;
+    private final String studentName;
+    private final int graded;
+    private final int passed;
+    private final double average;
+
+    /**
+     * Constructs a new StudentAverage.
+     *
+     * @param studentId   The student ID.
+     * @param studentName The name of the student, or null if they have no grades.
+     * @param graded      The number of modules the student has a grade for.
+     * @param passed      The number of those modules the student passed.
+     * @param average     The average grade, or NaN if the student has no grades.
+     */
+    public StudentAverage(String studentId, String studentName, int graded, int passed, double average) {
+        this.studentId = studentId;
+        this.studentName = studentName;
+        this.graded = graded;
+        this.passed = passed;
+        this.average = average;
+    }
+
+    public String getStudentId() {
+        return studentId;
+    }
+
+    public String getStudentName() {
+        return studentName;
+    }
+
+    public int getGraded() {
+        return graded;
+    }
+
+    public int getPassed() {
+        return passed;
+    }
+
+    public double getAverage() {
+        return average;
+    }
+
+    @Override
+    public String toString() {
+        if (graded == 0) {
+            return studentId + " has no grades";
+        }
+        return String.format("%s %s: average %.1f over %d modules, %d passed",
+                studentId, studentName, average, graded, passed);
+    }
+}
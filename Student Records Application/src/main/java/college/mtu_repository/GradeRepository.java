@@ -0,0 +1,107 @@
+package college.mtu_repository;
+
+import college.mtu_analytics.GradeStatistics;
+import college.mtu_model.GradeEntry;
+import college.mtu_storage.RecordStore;
+import college.mtu_storage.StorageException;
+
+import java.util.List;
+
+/**
+ * The GradeRepository class writes grades with a single store operation per grade.
+ * <p>
+ * Saving a grade adds it, or replaces the grade the student already has for the module, in one step.
+ * Many grades can be saved at once with {@link #saveAll(List)}, which writes them together.
+ * <p>
+ * If the repository is given {@link GradeStatistics}, every change made through it is also applied to the
+ * statistics once the store has been written. The statistics know the grade each save replaces, so a write
+ * still costs a single store operation and readers of the statistics never wait on the store.
+ */
+public class GradeRepository {
+
+    private final RecordStore store;
+    private final GradeStatistics statistics;
+
+    /**
+     * Constructs a new GradeRepository.
+     *
+     * @param store The store the grades are kept in.
+     */
+    public GradeRepository(RecordStore store) {
+        this(store, null);
+    }
+
+    /**
+     * Constructs a new GradeRepository that keeps statistics up to date.
+     *
+     * @param store      The store the grades are kept in.
+     * @param statistics The statistics to update, or null.
+     */
+    public GradeRepository(RecordStore store, GradeStatistics statistics) {
+        this.store = store;
+        this.statistics = statistics;
+    }
+
+    /**
+     * Saves the grade of a student for a module, replacing any existing grade.
+     *
+     * @param studentId  The student ID.
+     * @param moduleCode The module code.
+     * @param grade      The grade.
+     * @return true if a new grade was added, false if an existing grade was replaced.
+     * @throws StorageException if the grade cannot be written.
+     */
+    public boolean save(String studentId, String moduleCode, double grade) throws StorageException {
+        boolean added = store.saveGrade(studentId, moduleCode, grade);
+        if (statistics != null) {
+            statistics.put(studentId, moduleCode, (float) grade);
+        }
+        return added;
+    }
+
+    /**
+     * Saves many grades at once, replacing any existing grades.
+     * Either every grade is saved or, if any grade is refused, none of them are.
+     *
+     * @param entries The grades to save.
+     * @return The number of grades saved.
+     * @throws StorageException if the grades cannot be written.
+     */
+    public int saveAll(List<GradeEntry> entries) throws StorageException {
+        int saved = store.saveGrades(entries);
+        if (statistics != null) {
+            //applied as one change, so readers never see half of the batch
+            synchronized (statistics) {
+                for (GradeEntry entry : entries) {
+                    statistics.put(entry.getStudentId(), entry.getModuleCode(), (float) entry.getGrade());
+                }
+            }
+        }
+        return saved;
+    }
+
+    /**
+     * Deletes the grade of a student for a module.
+     *
+     * @param studentId  The student ID.
+     * @param moduleCode The module code.
+     * @return true if a grade was deleted, false if the student had no grade for the module.
+     * @throws StorageException if the grade cannot be deleted.
+     */
+    public boolean delete(String studentId, String moduleCode) throws StorageException {
+        boolean deleted = store.deleteGrade(studentId, moduleCode);
+        if (deleted && statistics != null) {
+            statistics.remove(studentId, moduleCode);
+        }
+        return deleted;
+    }
+
+    /**
+     * Returns the statistics kept up to date by this repository.
+     *
+     * @return The statistics, or null if none are kept.
+     */
+    public GradeStatistics getStatistics() {
+        return statistics;
+    }
+}
@@ -0,0 +1,147 @@
+package college.mtu_repository;
+
+import college.mtu_model.Module;
+import college.mtu_storage.RecordStore;
+import college.mtu_storage.StorageException;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The ModuleRepository class reads and writes modules, keeping recently used modules in a {@link RecordCache}.
+ * <p>
+ * Writes go to the {@link RecordStore} first and then to the cache, so the cache never holds a module the store
+ * does not. Lookups by module code and full listings are served from memory whenever possible.
+ */
+public class ModuleRepository {
+
+    private static final Comparator<Module> BY_CODE = Comparator.comparing(Module::getModuleCode);
+
+    private final RecordStore store;
+    private final RecordCache<String, Module> cache;
+
+    /**
+     * Constructs a new ModuleRepository.
+     *
+     * @param store The store the modules are kept in.
+     * @param cache The cache holding recently used modules.
+     */
+    public ModuleRepository(RecordStore store, RecordCache<String, Module> cache) {
+        this.store = store;
+        this.cache = cache;
+    }
+
+    /**
+     * Finds the module with the given code.
+     *
+     * @param moduleCode The module code.
+     * @return The module, or null if there is no such module.
+     * @throws StorageException if the module cannot be read.
+     */
+    public Module findByCode(String moduleCode) throws StorageException {
+        Module module = cache.get(moduleCode);
+        if (module != null) {
+            return module;
+        }
+
+        module = store.findModule(moduleCode);
+        if (module != null) {
+            cache.put(moduleCode, module);
+        }
+        return module;
+    }
+
+    /**
+     * Returns every module ordered by module code.
+     *
+     * @return A new list of every module.
+     * @throws StorageException if the modules cannot be read.
+     */
+    public List<Module> findAll() throws StorageException {
+        List<Module> modules = cache.getAll();
+        if (modules == null) {
+            long modifications = cache.getModifications();
+            modules = store.findModules(null, Integer.MAX_VALUE);
+            Map<String, Module> loaded = new LinkedHashMap<>();
+            for (Module module : modules) {
+                loaded.put(module.getModuleCode(), module);
+            }
+            cache.loadAll(loaded, modifications);
+        }
+        modules.sort(BY_CODE);
+        return modules;
+    }
+
+    /**
+     * Returns one page of modules ordered by moduleCode, starting after the given moduleCode.
+     * Pages are found by key, so reading a later page costs the same as reading the first.
+     *
+     * @param after    The moduleCode of the last module of the previous page, or null for the first page.
+     * @param pageSize The maximum number of modules returned.
+     * @return A new list of at most pageSize modules; fewer means there are no more modules.
+     * @throws StorageException if the modules cannot be read.
+     */
+    public List<Module> findPage(String after, int pageSize) throws StorageException {
+        List<Module> page = store.findModules(after, pageSize);
+        for (Module module : page) {
+            cache.put(module.getModuleCode(), module);
+        }
+        return page;
+    }
+
+    /**
+     * Inserts a new module.
+     *
+     * @param module The module to insert.
+     * @throws StorageException if the module cannot be inserted.
+     */
+    public void add(Module module) throws StorageException {
+        store.addModule(module);
+        cache.put(module.getModuleCode(), module);
+    }
+
+    /**
+     * Removes a module along with every grade recorded for it.
+     *
+     * @param moduleCode The code of the module to remove.
+     * @throws StorageException if the module cannot be removed.
+     */
+    public void remove(String moduleCode) throws StorageException {
+        try {
+            store.removeModule(moduleCode);
+        } catch (StorageException e) {
+            //the delete may have partly succeeded, so read the real state back on the next lookup
+            cache.invalidate(moduleCode);
+            throw e;
+        }
+        cache.remove(moduleCode);
+    }
+
+    /**
+     * Removes many modules along with their grades in one change, then drops them from the cache.
+     *
+     * @param moduleCodes The codes of the modules to remove.
+     * @return The number of modules removed.
+     * @throws StorageException if the modules cannot be removed, in which case none of them are.
+     */
+    public int removeAll(Collection<String> moduleCodes) throws StorageException {
+        int removed = store.removeModules(moduleCodes);
+        for (String moduleCode : moduleCodes) {
+            cache.remove(moduleCode);
+        }
+        return removed;
+    }
+
+    /**
+     * Returns the cache of this repository, which exposes its hit, miss and eviction counters.
+     *
+     * @return The module cache.
+     */
+    public RecordCache<String, Module> getCache() {
+        return cache;
+    }
+
+}
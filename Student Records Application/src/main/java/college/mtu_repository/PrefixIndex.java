@@ -0,0 +1,125 @@
+package college.mtu_repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * The PrefixIndex class finds records whose ID or name starts with a typed prefix.
+ * <p>
+ * Every record is stored under a few search terms, such as its ID, its full name and each word of its name.
+ * The terms are kept in a sorted map, so a lookup is a range scan starting at the prefix: it costs a logarithmic
+ * seek plus the number of matches returned, however many records are indexed. Matching ignores case.
+ *
+ * @param <V> The type of the indexed values.
+ */
+public class PrefixIndex<V> {
+
+    //separates a term from the record key, and sorts before every character a term can contain
+    private static final char SEPARATOR = '\u0000';
+
+    private final TreeMap<String, V> entries = new TreeMap<>();
+    private final Map<String, List<String>> entriesByKey = new HashMap<>();
+
+    /**
+     * Indexes a record under the given terms, replacing any earlier entry for the same key.
+     *
+     * @param key   The record ID.
+     * @param value The value returned by lookups.
+     * @param terms The terms the record can be found by. Names are also indexed by each of their words.
+     */
+    public synchronized void put(String key, V value, String... terms) {
+        remove(key);
+        List<String> keys = new ArrayList<>();
+        for (String term : terms) {
+            if (term == null) {
+                continue;
+            }
+            String normalized = normalize(term);
+            addEntry(normalized, key, value, keys);
+            //a name is also found by its later words, such as a surname
+            for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+                addEntry(normalized.substring(i + 1), key, value, keys);
+            }
+        }
+        entriesByKey.put(key, keys);
+    }
+
+    /**
+     * Removes a record from the index.
+     *
+     * @param key The record ID.
+     * @return true if the record was indexed.
+     */
+    public synchronized boolean remove(String key) {
+        List<String> keys = entriesByKey.remove(key);
+        if (keys == null) {
+            return false;
+        }
+        for (String entry : keys) {
+            entries.remove(entry);
+        }
+        return true;
+    }
+
+    /**
+     * Finds the records with a term starting with the given prefix.
+     * Each record is returned once, in the order of its first matching term.
+     *
+     * @param prefix The typed prefix.
+     * @param limit  The maximum number of records returned.
+     * @return A new list of at most limit values.
+     */
+    public synchronized List<V> search(String prefix, int limit) {
+        String start = normalize(prefix);
+        NavigableMap<String, V> matches = entries.subMap(start, true, start + Character.MAX_VALUE, false);
+        List<V> results = new ArrayList<>(Math.min(limit, 16));
+        Set<String> found = new HashSet<>();
+        for (Map.Entry<String, V> match : matches.entrySet()) {
+            if (results.size() >= limit) {
+                break;
+            }
+            String entry = match.getKey();
+            if (found.add(entry.substring(entry.lastIndexOf(SEPARATOR) + 1))) {
+                results.add(match.getValue());
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Returns the number of records indexed.
+     *
+     * @return The number of record IDs in the index.
+     */
+    public synchronized int size() {
+        return entriesByKey.size();
+    }
+
+    /**
+     * Removes every record from the index.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        entriesByKey.clear();
+    }
+
+    private void addEntry(String term, String key, V value, List<String> keys) {
+        if (term.isEmpty()) {
+            return;
+        }
+        String entry = term + SEPARATOR + key;
+        entries.put(entry, value);
+        keys.add(entry);
+    }
+
+    private static String normalize(String term) {
+        return term.trim().toLowerCase(Locale.ROOT);
+    }
+}
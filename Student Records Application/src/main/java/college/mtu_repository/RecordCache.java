@@ -0,0 +1,236 @@
+package college.mtu_repository;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * The RecordCache class is a bounded in-memory cache of records keyed by their ID.
+ * <p>
+ * Once the cache is full the least recently used record is evicted, and records older than the time to live
+ * are treated as missing. When a full table has been loaded with {@link #loadAll(Map, long)} the cache remembers
+ * that it holds every record, so listings can be served from memory until a record is evicted or expires.
+ * A table read while a record was being written may already be out of date, so it is not loaded.
+ *
+ * @param <K> The type of the record ID.
+ * @param <V> The type of the record.
+ */
+public class RecordCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    //true while the cache is known to hold every record of the table
+    private boolean complete;
+    private long completeSince;
+    //counts writes, so a table read across a write is not loaded
+    private long modifications;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Constructs a new RecordCache using the system clock.
+     *
+     * @param maxSize   The maximum number of records held.
+     * @param ttlMillis How long a record stays valid after it was cached.
+     */
+    public RecordCache(int maxSize, long ttlMillis) {
+        this(maxSize, ttlMillis, System::currentTimeMillis);
+    }
+
+    /**
+     * Constructs a new RecordCache using the given clock.
+     *
+     * @param maxSize   The maximum number of records held.
+     * @param ttlMillis How long a record stays valid after it was cached.
+     * @param clock     The source of the current time in milliseconds.
+     */
+    public RecordCache(int maxSize, long ttlMillis, LongSupplier clock) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > RecordCache.this.maxSize) {
+                    evicted();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached record with the given ID.
+     *
+     * @param key The record ID.
+     * @return The record, or null if it is not cached or has expired.
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && isExpired(entry, clock.getAsLong())) {
+            entries.remove(key);
+            evicted();
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    /**
+     * Caches a record, replacing any record with the same ID.
+     *
+     * @param key   The record ID.
+     * @param value The record.
+     */
+    public synchronized void put(K key, V value) {
+        modifications++;
+        entries.put(key, new Entry<>(value, clock.getAsLong()));
+    }
+
+    /**
+     * Removes the record with the given ID. The cache stays complete, since the record no longer exists.
+     *
+     * @param key The record ID.
+     */
+    public synchronized void remove(K key) {
+        modifications++;
+        entries.remove(key);
+    }
+
+    /**
+     * Removes the record with the given ID when its state in the database is unknown.
+     * The cache is no longer complete, so the next listing reads the table again.
+     *
+     * @param key The record ID.
+     */
+    public synchronized void invalidate(K key) {
+        modifications++;
+        entries.remove(key);
+        complete = false;
+    }
+
+    /**
+     * Returns the number of writes made to the cache so far, to be read before the table is read from the store.
+     *
+     * @return The write count to pass to {@link #loadAll(Map, long)}.
+     */
+    public synchronized long getModifications() {
+        return modifications;
+    }
+
+    /**
+     * Replaces the cache contents with every record of the table.
+     * If the table is larger than the cache, only the most recent records are kept and the cache is not complete.
+     * If a record was written since the table was read, the table is ignored and the cache is left as it is.
+     *
+     * @param records       Every record of the table keyed by ID.
+     * @param modifications The write count returned by {@link #getModifications()} before the table was read.
+     */
+    public synchronized void loadAll(Map<K, V> records, long modifications) {
+        if (this.modifications != modifications) {
+            return;
+        }
+        entries.clear();
+        long now = clock.getAsLong();
+        for (Map.Entry<K, V> record : records.entrySet()) {
+            entries.put(record.getKey(), new Entry<>(record.getValue(), now));
+        }
+        complete = records.size() <= maxSize;
+        completeSince = now;
+    }
+
+    /**
+     * Returns every record if the cache is known to hold the whole table.
+     *
+     * @return A copy of every cached record, or null if the table has to be loaded again.
+     */
+    public synchronized List<V> getAll() {
+        long now = clock.getAsLong();
+        if (!complete || now - completeSince > ttlMillis) {
+            complete = false;
+            misses++;
+            return null;
+        }
+        hits++;
+        List<V> values = new ArrayList<>(entries.size());
+        for (Entry<V> entry : entries.values()) {
+            values.add(entry.value);
+        }
+        return values;
+    }
+
+    /**
+     * Removes every record.
+     */
+    public synchronized void clear() {
+        modifications++;
+        entries.clear();
+        complete = false;
+    }
+
+    /**
+     * Removes expired records. Expired records are also dropped lazily when they are looked up.
+     */
+    public synchronized void evictExpired() {
+        long now = clock.getAsLong();
+        Iterator<Entry<V>> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (isExpired(iterator.next(), now)) {
+                iterator.remove();
+                evicted();
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    private void evicted() {
+        evictions++;
+        complete = false;
+    }
+
+    private boolean isExpired(Entry<V> entry, long now) {
+        return now - entry.cachedAt > ttlMillis;
+    }
+
+    /**
+     * A cached record and the time it was cached.
+     */
+    private static class Entry<V> {
+
+        private final V value;
+        private final long cachedAt;
+
+        Entry(V value, long cachedAt) {
+            this.value = value;
+            this.cachedAt = cachedAt;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package college.mtu_repository;
+
+import college.mtu_model.Student;
+import college.mtu_storage.RecordStore;
+import college.mtu_storage.StorageException;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The StudentRepository class reads and writes students, keeping recently used students in a {@link RecordCache}.
+ * <p>
+ * Writes go to the {@link RecordStore} first and then to the cache, so the cache never holds a student the store
+ * does not. Lookups by student ID and full listings are served from memory whenever possible.
+ */
+public class StudentRepository {
+
+    private static final Comparator<Student> BY_ID = Comparator.comparing(Student::getStudentId);
+
+    private final RecordStore store;
+    private final RecordCache<String, Student> cache;
+
+    /**
+     * Constructs a new StudentRepository.
+     *
+     * @param store The store the students are kept in.
+     * @param cache The cache holding recently used students.
+     */
+    public StudentRepository(RecordStore store, RecordCache<String, Student> cache) {
+        this.store = store;
+        this.cache = cache;
+    }
+
+    /**
+     * Finds the student with the given ID.
+     *
+     * @param studentId The student ID.
+     * @return The student, or null if there is no such student.
+     * @throws StorageException if the student cannot be read.
+     */
+    public Student findById(String studentId) throws StorageException {
+        Student student = cache.get(studentId);
+        if (student != null) {
+            return student;
+        }
+
+        student = store.findStudent(studentId);
+        if (student != null) {
+            cache.put(studentId, student);
+        }
+        return student;
+    }
+
+    /**
+     * Returns every student ordered by student ID.
+     *
+     * @return A new list of every student.
+     * @throws StorageException if the students cannot be read.
+     */
+    public List<Student> findAll() throws StorageException {
+        List<Student> students = cache.getAll();
+        if (students == null) {
+            long modifications = cache.getModifications();
+            students = store.findStudents(null, Integer.MAX_VALUE);
+            Map<String, Student> loaded = new LinkedHashMap<>();
+            for (Student student : students) {
+                loaded.put(student.getStudentId(), student);
+            }
+            cache.loadAll(loaded, modifications);
+        }
+        students.sort(BY_ID);
+        return students;
+    }
+
+    /**
+     * Returns one page of students ordered by studentId, starting after the given studentId.
+     * Pages are found by key, so reading a later page costs the same as reading the first.
+     *
+     * @param after    The studentId of the last student of the previous page, or null for the first page.
+     * @param pageSize The maximum number of students returned.
+     * @return A new list of at most pageSize students; fewer means there are no more students.
+     * @throws StorageException if the students cannot be read.
+     */
+    public List<Student> findPage(String after, int pageSize) throws StorageException {
+        List<Student> page = store.findStudents(after, pageSize);
+        for (Student student : page) {
+            cache.put(student.getStudentId(), student);
+        }
+        return page;
+    }
+
+    /**
+     * Inserts a new student.
+     *
+     * @param student The student to insert.
+     * @throws StorageException if the student cannot be inserted.
+     */
+    public void add(Student student) throws StorageException {
+        store.addStudent(student);
+        cache.put(student.getStudentId(), student);
+    }
+
+    /**
+     * Removes a student along with all of their grades.
+     *
+     * @param studentId The ID of the student to remove.
+     * @throws StorageException if the student cannot be removed.
+     */
+    public void remove(String studentId) throws StorageException {
+        try {
+            store.removeStudent(studentId);
+        } catch (StorageException e) {
+            //the delete may have partly succeeded, so read the real state back on the next lookup
+            cache.invalidate(studentId);
+            throw e;
+        }
+        cache.remove(studentId);
+    }
+
+    /**
+     * Removes many students along with their grades in one change, then drops them from the cache.
+     *
+     * @param studentIds The IDs of the students to remove.
+     * @return The number of students removed.
+     * @throws StorageException if the students cannot be removed, in which case none of them are.
+     */
+    public int removeAll(Collection<String> studentIds) throws StorageException {
+        int removed = store.removeStudents(studentIds);
+        for (String studentId : studentIds) {
+            cache.remove(studentId);
+        }
+        return removed;
+    }
+
+    /**
+     * Returns the cache of this repository, which exposes its hit, miss and eviction counters.
+     *
+     * @return The student cache.
+     */
+    public RecordCache<String, Student> getCache() {
+        return cache;
+    }
+
+}
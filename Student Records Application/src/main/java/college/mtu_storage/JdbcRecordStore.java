@@ -0,0 +1,396 @@
+package college.mtu_storage;
+
+import college.mtu_database.Database;
+import college.mtu_database.UnitOfWork;
+import college.mtu_model.GradeEntry;
+import college.mtu_model.Module;
+import college.mtu_model.ModuleGrade;
+import college.mtu_model.Student;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * The JdbcRecordStore class keeps students, modules and grades in the MySQL database.
+ * <p>
+ * Every operation leases its own connection from the {@link Database} pool. Grades are saved with an upsert,
+ * which relies on the grade table having a primary or unique key on (studentId, moduleCode): a new grade is
+ * inserted and an existing one is replaced in the same round trip. Operations of more than one statement run
+ * as a single {@link UnitOfWork}, so they are committed once and never leave part of their changes behind.
+ */
+public class JdbcRecordStore implements RecordStore {
+
+    /**
+     * Inserts a grade, or replaces the grade the student already has for the module.
+     */
+    public static final String UPSERT_GRADE_SQL =
+            "insert into grade values(?,?,?) on duplicate key update grade = values(grade)";
+
+    private final Database database;
+    private final int batchSize;
+
+    /**
+     * Constructs a new JdbcRecordStore.
+     *
+     * @param database  The database the records are stored in.
+     * @param batchSize The number of grades sent to the database at once by {@link #saveGrades(List)}.
+     */
+    public JdbcRecordStore(Database database, int batchSize) {
+        this.database = database;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Override
+    public Student findStudent(String studentId) throws StorageException {
+        String sqlSearchStudent = "SELECT * FROM student WHERE studentId = ?";
+        try (Connection connection = database.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(sqlSearchStudent)) {
+            preparedStatement.setString(1, studentId);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next() ? readStudent(resultSet) : null;
+            }
+        } catch (SQLException e) {
+            throw failed("Error reading student " + studentId, e);
+        }
+    }
+
+    @Override
+    public List<Student> findStudents(String after, int limit) throws StorageException {
+        List<Student> students = new ArrayList<>(Math.min(limit, 1024));
+        //the primary key index finds the start of the page, so a later page costs the same as the first
+        String sqlSelectPage = "select * from student where studentId > ? order by studentId limit ?";
+        try (Connection connection = database.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(sqlSelectPage)) {
+            preparedStatement.setString(1, after != null ? after : "");
+            preparedStatement.setInt(2, limit);
+            preparedStatement.setFetchSize(Math.min(limit, database.getFetchSize()));
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    students.add(readStudent(resultSet));
+                }
+            }
+        } catch (SQLException e) {
+            throw failed("Error reading students", e);
+        }
+        return students;
+    }
+
+    @Override
+    public void addStudent(Student student) throws StorageException {
+        String sqlAdd = "insert into student " + "values(?,?,?,?)";
+        try (Connection connection = database.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(sqlAdd)) {
+            preparedStatement.setString(1, student.getStudentName());
+            preparedStatement.setString(2, student.getStudentId());
+            preparedStatement.setString(3, student.getDateOfBirth());
+            preparedStatement.setInt(4, student.getCurrentSemester());
+            preparedStatement.executeUpdate();
+        } catch (SQLException e) {
+            throw failed("Error adding student " + student.getStudentId(), e);
+        }
+    }
+
+    @Override
+    public void removeStudent(String studentId) throws StorageException {
+        String sqlRemoveGrade = "DELETE FROM grade WHERE studentId = ?";
+        String sqlRemoveStudent = "DELETE FROM student WHERE studentId = ?";
+        //one transaction, so the grades are never removed without the student
+        try (UnitOfWork work = database.beginWork(batchSize)) {
+            work.update(sqlRemoveGrade, studentId);
+            work.update(sqlRemoveStudent, studentId);
+            work.commit();
+        } catch (SQLException e) {
+            throw failed("Error removing student " + studentId, e);
+        }
+    }
+
+    @Override
+    public int removeStudents(Collection<String> studentIds) throws StorageException {
+        try {
+            return removeAll("student", "studentId", studentIds);
+        } catch (SQLException e) {
+            throw failed("Error removing " + studentIds.size() + " students", e);
+        }
+    }
+
+    @Override
+    public Module findModule(String moduleCode) throws StorageException {
+        String sqlSearchModule = "SELECT * FROM module WHERE moduleCode = ?";
+        try (Connection connection = database.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(sqlSearchModule)) {
+            preparedStatement.setString(1, moduleCode);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next() ? readModule(resultSet) : null;
+            }
+        } catch (SQLException e) {
+            throw failed("Error reading module " + moduleCode, e);
+        }
+    }
+
+    @Override
+    public List<Module> findModules(String after, int limit) throws StorageException {
+        List<Module> modules = new ArrayList<>(Math.min(limit, 1024));
+        String sqlSelectPage = "select * from module where moduleCode > ? order by moduleCode limit ?";
+        try (Connection connection = database.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(sqlSelectPage)) {
+            preparedStatement.setString(1, after != null ? after : "");
+            preparedStatement.setInt(2, limit);
+            preparedStatement.setFetchSize(Math.min(limit, database.getFetchSize()));
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    modules.add(readModule(resultSet));
+                }
+            }
+        } catch (SQLException e) {
+            throw failed("Error reading modules", e);
+        }
+        return modules;
+    }
+
+    @Override
+    public void addModule(Module module) throws StorageException {
+        String sqlAdd = "insert into module " + "values(?,?,?)";
+        try (Connection connection = database.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(sqlAdd)) {
+            preparedStatement.setString(1, module.getModuleName());
+            preparedStatement.setString(2, module.getModuleCode());
+            preparedStatement.setInt(3, module.getSemester());
+            preparedStatement.executeUpdate();
+        } catch (SQLException e) {
+            throw failed("Error adding module " + module.getModuleCode(), e);
+        }
+    }
+
+    @Override
+    public void removeModule(String moduleCode) throws StorageException {
+        String sqlRemoveGrade = "DELETE FROM grade WHERE moduleCode = ?";
+        String sqlRemoveModule = "DELETE FROM module WHERE moduleCode = ?";
+        //one transaction, so the grades are never removed without the module
+        try (UnitOfWork work = database.beginWork(batchSize)) {
+            work.update(sqlRemoveGrade, moduleCode);
+            work.update(sqlRemoveModule, moduleCode);
+            work.commit();
+        } catch (SQLException e) {
+            throw failed("Error removing module " + moduleCode, e);
+        }
+    }
+
+    @Override
+    public int removeModules(Collection<String> moduleCodes) throws StorageException {
+        try {
+            return removeAll("module", "moduleCode", moduleCodes);
+        } catch (SQLException e) {
+            throw failed("Error removing " + moduleCodes.size() + " modules", e);
+        }
+    }
+
+    @Override
+    public boolean saveGrade(String studentId, String moduleCode, double grade) throws StorageException {
+        try (Connection connection = database.getConnection();
+             PreparedStatement statement = connection.prepareStatement(UPSERT_GRADE_SQL)) {
+            bindGrade(statement, studentId, moduleCode, grade);
+            //with useAffectedRows MySQL counts an inserted row once, a changed row twice and a row set to its
+            //current value not at all, so only 1 means the grade was added
+            return statement.executeUpdate() == 1;
+        } catch (SQLException e) {
+            throw failed("Error saving grade for " + studentId, e);
+        }
+    }
+
+    /**
+     * Saves many grades as batched upserts in one transaction.
+     * Either every grade is saved or, if any grade is refused, none of them are.
+     */
+    @Override
+    public int saveGrades(List<GradeEntry> entries) throws StorageException {
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        try (UnitOfWork work = database.beginWork(batchSize)) {
+            for (GradeEntry entry : entries) {
+                work.batch(UPSERT_GRADE_SQL, entry.getStudentId(), entry.getModuleCode(), entry.getGrade());
+            }
+            work.commit();
+        } catch (SQLException e) {
+            throw failed("Error saving grades", e);
+        }
+        return entries.size();
+    }
+
+    @Override
+    public boolean deleteGrade(String studentId, String moduleCode) throws StorageException {
+        String deleteGrade = "delete from grade where studentId = ? and moduleCode = ?";
+        try (Connection connection = database.getConnection();
+             PreparedStatement statement = connection.prepareStatement(deleteGrade)) {
+            statement.setString(1, studentId);
+            statement.setString(2, moduleCode);
+            return statement.executeUpdate() > 0;
+        } catch (SQLException e) {
+            throw failed("Error deleting grade for " + studentId, e);
+        }
+    }
+
+    @Override
+    public Float findGrade(String studentId, String moduleCode) throws StorageException {
+        String sqlModifyCheck = "select grade from grade where studentId = ? and moduleCode = ?";
+        try (Connection connection = database.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(sqlModifyCheck)) {
+            preparedStatement.setString(1, studentId);
+            preparedStatement.setString(2, moduleCode);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next() ? resultSet.getFloat("grade") : null;
+            }
+        } catch (SQLException e) {
+            throw failed("Error reading grade for " + studentId, e);
+        }
+    }
+
+    @Override
+    public List<ModuleGrade> findGrades(String studentId, boolean passedOnly) throws StorageException {
+        String sqlSearchGrade = passedOnly ?
+                "SELECT module.moduleName, grade.grade " +
+                        "FROM module JOIN grade ON module.moduleCode = grade.moduleCode " +
+                        "WHERE grade.studentId = ? AND grade >= 40" :
+                "SELECT module.moduleName, grade.grade " +
+                        "FROM module JOIN grade ON module.moduleCode = grade.moduleCode " +
+                        "WHERE grade.studentId = ?";
+        List<ModuleGrade> grades = new ArrayList<>();
+        try (Connection connection = database.getConnection();
+             PreparedStatement preparedStatementGrade = connection.prepareStatement(sqlSearchGrade)) {
+            preparedStatementGrade.setString(1, studentId);
+            try (ResultSet resultSetGrade = preparedStatementGrade.executeQuery()) {
+                while (resultSetGrade.next()) {
+                    grades.add(new ModuleGrade(resultSetGrade.getString("moduleName"),
+                            resultSetGrade.getFloat("grade")));
+                }
+            }
+        } catch (SQLException e) {
+            throw failed("Error reading grades for " + studentId, e);
+        }
+        return grades;
+    }
+
+    @Override
+    public void scanGrades(GradeVisitor visitor) throws StorageException {
+        String sqlScanGrades = "select studentId, moduleCode, grade from grade order by studentId, moduleCode";
+        try (Connection connection = database.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(sqlScanGrades)) {
+            //the rows are fetched in chunks, so the result set never holds the whole table
+            preparedStatement.setFetchSize(database.getFetchSize());
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    visitor.visit(resultSet.getString(1), resultSet.getString(2), resultSet.getFloat(3));
+                }
+            }
+        } catch (SQLException e) {
+            throw failed("Error reading grades", e);
+        }
+    }
+
+    @Override
+    public void scanTranscripts(TranscriptScope scope, TranscriptVisitor visitor) throws StorageException {
+        String sqlScanTranscripts = "select student.studentId, student.name, module.moduleCode, module.moduleName, " +
+                "grade.grade from grade " +
+                "join student on student.studentId = grade.studentId " +
+                "join module on module.moduleCode = grade.moduleCode" +
+                scopeCondition(scope) +
+                " order by grade.studentId, grade.moduleCode";
+        try (Connection connection = database.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(sqlScanTranscripts)) {
+            if (scope.getKind() == TranscriptScope.Kind.STUDENT) {
+                preparedStatement.setString(1, scope.getStudentId());
+            } else if (scope.getKind() == TranscriptScope.Kind.MODULE) {
+                preparedStatement.setString(1, scope.getModuleCode());
+            } else if (scope.getKind() != TranscriptScope.Kind.ALL) {
+                preparedStatement.setInt(1, scope.getSemester());
+            }
+            //the rows are fetched in chunks, so the result set never holds the whole export
+            preparedStatement.setFetchSize(database.getFetchSize());
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    visitor.visit(resultSet.getString(1), resultSet.getString(2), resultSet.getString(3),
+                            resultSet.getString(4), resultSet.getFloat(5));
+                }
+            }
+        } catch (SQLException e) {
+            throw failed("Error reading grades of " + scope, e);
+        }
+    }
+
+    /**
+     * Returns the database the records are stored in, for work that needs plain JDBC such as bulk imports.
+     *
+     * @return The database of this store.
+     */
+    public Database getDatabase() {
+        return database;
+    }
+
+    @Override
+    public void close() {
+        database.close();
+    }
+
+    /**
+     * Deletes the rows with the given keys from a table, and their grades first, in one transaction.
+     * The keys are sent in chunks of at most batchSize, each deleted with one IN statement per table.
+     */
+    private int removeAll(String table, String key, Collection<String> keys) throws SQLException {
+        Object[] distinct = new LinkedHashSet<>(keys).toArray();
+        int removed = 0;
+        try (UnitOfWork work = database.beginWork(batchSize)) {
+            for (int from = 0; from < distinct.length; from += batchSize) {
+                Object[] chunk = Arrays.copyOfRange(distinct, from, Math.min(from + batchSize, distinct.length));
+                String in = " WHERE " + key + " IN (" + String.join(",", Collections.nCopies(chunk.length, "?")) + ")";
+                work.update("DELETE FROM grade" + in, chunk);
+                removed += work.update("DELETE FROM " + table + in, chunk);
+            }
+            work.commit();
+        }
+        return removed;
+    }
+
+    private static void bindGrade(PreparedStatement statement, String studentId, String moduleCode, double grade)
+            throws SQLException {
+        statement.setString(1, studentId);
+        statement.setString(2, moduleCode);
+        statement.setDouble(3, grade);
+    }
+
+    private static String scopeCondition(TranscriptScope scope) {
+        switch (scope.getKind()) {
+            case STUDENT:
+                return " where grade.studentId = ?";
+            case COHORT:
+                return " where student.currentSemester = ?";
+            case MODULE:
+                return " where grade.moduleCode = ?";
+            case SEMESTER:
+                return " where module.semester = ?";
+            default:
+                return "";
+        }
+    }
+
+    private static StorageException failed(String message, SQLException cause) {
+        return new StorageException(message + ": " + cause.getMessage(), cause);
+    }
+
+    private static Student readStudent(ResultSet resultSet) throws SQLException {
+        return new Student(resultSet.getString("name"), resultSet.getString("studentId"),
+                resultSet.getString("dateOfBirth"), resultSet.getInt("currentSemester"));
+    }
+
+    private static Module readModule(ResultSet resultSet) throws SQLException {
+        return new Module(resultSet.getString("moduleName"), resultSet.getString("moduleCode"),
+                resultSet.getInt("semester"));
+    }
+}
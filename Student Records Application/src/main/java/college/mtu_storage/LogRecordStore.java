@@ -0,0 +1,783 @@
+package college.mtu_storage;
+
+import college.mtu_model.GradeEntry;
+import college.mtu_model.Module;
+import college.mtu_model.ModuleGrade;
+import college.mtu_model.Student;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.zip.CRC32;
+
+/**
+ * The LogRecordStore class keeps students, modules and grades in a local append-only log file,
+ * so the application can run without a database server.
+ * <p>
+ * Every change is appended to the log as an entry holding a length, a CRC32 checksum, a type and the record.
+ * An in-memory index maps each student ID, module code and (student ID, module code) pair to the offset of its
+ * latest entry, and records are read back through a memory mapping of the log. Removing a student or module
+ * also removes its grades as part of the same entry, so a crash cannot leave grades of a removed record behind.
+ * <p>
+ * When the log is opened it is read from the start to rebuild the index; an entry cut short by a crash is
+ * dropped. Once more than half of the log is taken by replaced or removed records, and at least the
+ * compaction threshold, the live records are copied to a new log which then replaces the old one.
+ * <p>
+ * All operations are synchronized on the store.
+ */
+public class LogRecordStore implements RecordStore {
+
+    private static final String LOG_PREFIX = "records.";
+    private static final String LOG_SUFFIX = ".log";
+
+    //entry header: payload length, checksum of the type and payload, type
+    private static final int HEADER = 9;
+
+    private static final byte PUT_STUDENT = 1;
+    private static final byte REMOVE_STUDENT = 2;
+    private static final byte PUT_MODULE = 3;
+    private static final byte REMOVE_MODULE = 4;
+    private static final byte PUT_GRADE = 5;
+    private static final byte REMOVE_GRADE = 6;
+
+    //separates the two IDs of a grade key, and sorts before every character an ID can contain
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final Path directory;
+    private final long compactThreshold;
+    private final boolean sync;
+
+    private final TreeMap<String, Long> students = new TreeMap<>();
+    private final TreeMap<String, Long> modules = new TreeMap<>();
+    //grades keyed by studentId and moduleCode, and the same grades keyed the other way round
+    private final TreeMap<String, Long> grades = new TreeMap<>();
+    private final TreeSet<String> gradesByModule = new TreeSet<>();
+
+    private long generation;
+    private FileChannel channel;
+    private MappedByteBuffer mapped;
+    private long size;
+    private long liveBytes;
+
+    /**
+     * Opens the store in the given directory, creating it if needed.
+     * Changes are written to the operating system at once but not forced to disk.
+     *
+     * @param directory The directory holding the log.
+     * @throws StorageException if the log cannot be opened or read.
+     */
+    public LogRecordStore(Path directory) throws StorageException {
+        this(directory, 4 * 1024 * 1024, false);
+    }
+
+    /**
+     * Opens the store in the given directory, creating it if needed.
+     *
+     * @param directory        The directory holding the log.
+     * @param compactThreshold The number of bytes of replaced or removed records that triggers a compaction.
+     * @param sync             Whether every change is forced to disk before the operation returns.
+     * @throws StorageException if the log cannot be opened or read.
+     */
+    public LogRecordStore(Path directory, long compactThreshold, boolean sync) throws StorageException {
+        this.directory = directory;
+        this.compactThreshold = compactThreshold;
+        this.sync = sync;
+        try {
+            Files.createDirectories(directory);
+            open();
+        } catch (IOException e) {
+            throw new StorageException("Error opening the record log in " + directory + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public synchronized Student findStudent(String studentId) throws StorageException {
+        Long offset = students.get(studentId);
+        return offset != null ? readStudent(offset) : null;
+    }
+
+    @Override
+    public synchronized List<Student> findStudents(String after, int limit) throws StorageException {
+        List<Student> page = new ArrayList<>(Math.min(limit, 1024));
+        for (long offset : page(students, after, limit)) {
+            page.add(readStudent(offset));
+        }
+        return page;
+    }
+
+    @Override
+    public synchronized void addStudent(Student student) throws StorageException {
+        if (students.containsKey(student.getStudentId())) {
+            throw new StorageException("Duplicate entry '" + student.getStudentId() + "' for student");
+        }
+        append(PUT_STUDENT, new Record().string(student.getStudentId()).string(student.getStudentName())
+                .string(student.getDateOfBirth()).integer(student.getCurrentSemester()));
+    }
+
+    @Override
+    public synchronized void removeStudent(String studentId) throws StorageException {
+        if (students.containsKey(studentId)) {
+            append(REMOVE_STUDENT, new Record().string(studentId));
+        }
+    }
+
+    @Override
+    public synchronized int removeStudents(Collection<String> studentIds) throws StorageException {
+        List<Record> records = new ArrayList<>();
+        for (String studentId : new LinkedHashSet<>(studentIds)) {
+            if (students.containsKey(studentId)) {
+                records.add(new Record().string(studentId));
+            }
+        }
+        append(REMOVE_STUDENT, records);
+        return records.size();
+    }
+
+    @Override
+    public synchronized Module findModule(String moduleCode) throws StorageException {
+        Long offset = modules.get(moduleCode);
+        return offset != null ? readModule(offset) : null;
+    }
+
+    @Override
+    public synchronized List<Module> findModules(String after, int limit) throws StorageException {
+        List<Module> page = new ArrayList<>(Math.min(limit, 1024));
+        for (long offset : page(modules, after, limit)) {
+            page.add(readModule(offset));
+        }
+        return page;
+    }
+
+    @Override
+    public synchronized void addModule(Module module) throws StorageException {
+        if (modules.containsKey(module.getModuleCode())) {
+            throw new StorageException("Duplicate entry '" + module.getModuleCode() + "' for module");
+        }
+        append(PUT_MODULE, new Record().string(module.getModuleCode()).string(module.getModuleName())
+                .integer(module.getSemester()));
+    }
+
+    @Override
+    public synchronized void removeModule(String moduleCode) throws StorageException {
+        if (modules.containsKey(moduleCode)) {
+            append(REMOVE_MODULE, new Record().string(moduleCode));
+        }
+    }
+
+    @Override
+    public synchronized int removeModules(Collection<String> moduleCodes) throws StorageException {
+        List<Record> records = new ArrayList<>();
+        for (String moduleCode : new LinkedHashSet<>(moduleCodes)) {
+            if (modules.containsKey(moduleCode)) {
+                records.add(new Record().string(moduleCode));
+            }
+        }
+        append(REMOVE_MODULE, records);
+        return records.size();
+    }
+
+    @Override
+    public synchronized boolean saveGrade(String studentId, String moduleCode, double grade)
+            throws StorageException {
+        checkGrade(studentId, moduleCode);
+        boolean added = !grades.containsKey(gradeKey(studentId, moduleCode));
+        append(PUT_GRADE, gradeRecord(studentId, moduleCode, grade));
+        return added;
+    }
+
+    /**
+     * Saves many grades with a single write. Every grade is checked before anything is written,
+     * so a grade for an unknown student or module rejects the whole list.
+     */
+    @Override
+    public synchronized int saveGrades(List<GradeEntry> entries) throws StorageException {
+        List<Record> records = new ArrayList<>(entries.size());
+        for (GradeEntry entry : entries) {
+            checkGrade(entry.getStudentId(), entry.getModuleCode());
+            records.add(gradeRecord(entry.getStudentId(), entry.getModuleCode(), entry.getGrade()));
+        }
+        append(PUT_GRADE, records);
+        return entries.size();
+    }
+
+    @Override
+    public synchronized boolean deleteGrade(String studentId, String moduleCode) throws StorageException {
+        if (!grades.containsKey(gradeKey(studentId, moduleCode))) {
+            return false;
+        }
+        append(REMOVE_GRADE, new Record().string(studentId).string(moduleCode));
+        return true;
+    }
+
+    @Override
+    public synchronized Float findGrade(String studentId, String moduleCode) throws StorageException {
+        Long offset = grades.get(gradeKey(studentId, moduleCode));
+        if (offset == null) {
+            return null;
+        }
+        ByteBuffer payload = payload(offset);
+        skipString(payload);
+        skipString(payload);
+        return payload.getFloat();
+    }
+
+    /**
+     * Returns the grades of a student ordered by module code.
+     */
+    @Override
+    public synchronized List<ModuleGrade> findGrades(String studentId, boolean passedOnly) throws StorageException {
+        List<ModuleGrade> found = new ArrayList<>();
+        for (Map.Entry<String, Long> grade : byPrefix(grades, studentId).entrySet()) {
+            ByteBuffer payload = payload(grade.getValue());
+            skipString(payload);
+            String moduleCode = readString(payload);
+            float value = payload.getFloat();
+            if (!passedOnly || value >= 40) {
+                found.add(new ModuleGrade(readModule(modules.get(moduleCode)).getModuleName(), value));
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public synchronized void scanGrades(GradeVisitor visitor) throws StorageException {
+        for (long offset : grades.values()) {
+            ByteBuffer payload = payload(offset);
+            visitor.visit(readString(payload), readString(payload), payload.getFloat());
+        }
+    }
+
+    @Override
+    public synchronized void scanTranscripts(TranscriptScope scope, TranscriptVisitor visitor)
+            throws StorageException {
+        if (scope.getKind() == TranscriptScope.Kind.MODULE) {
+            //the grades of one module are found through the index keyed by module code
+            String moduleCode = scope.getModuleCode();
+            Long moduleOffset = modules.get(moduleCode);
+            if (moduleOffset == null) {
+                return;
+            }
+            String moduleName = readModule(moduleOffset).getModuleName();
+            String prefix = moduleCode + KEY_SEPARATOR;
+            for (String reversed : gradesByModule.subSet(prefix, prefix + Character.MAX_VALUE)) {
+                String studentId = reversed.substring(prefix.length());
+                ByteBuffer payload = payload(grades.get(gradeKey(studentId, moduleCode)));
+                skipString(payload);
+                skipString(payload);
+                visitor.visit(studentId, readStudent(students.get(studentId)).getStudentName(), moduleCode,
+                        moduleName, payload.getFloat());
+            }
+            return;
+        }
+        //the grades of one student are found through their key prefix
+        NavigableMap<String, Long> picked = scope.getKind() == TranscriptScope.Kind.STUDENT
+                ? byPrefix(grades, scope.getStudentId()) : grades;
+        Student student = null;
+        for (long offset : picked.values()) {
+            ByteBuffer payload = payload(offset);
+            String studentId = readString(payload);
+            String moduleCode = readString(payload);
+            float grade = payload.getFloat();
+            //the grades of a student are next to each other, so each student is read once
+            if (student == null || !student.getStudentId().equals(studentId)) {
+                student = readStudent(students.get(studentId));
+            }
+            Module module = readModule(modules.get(moduleCode));
+            if (scope.includes(studentId, student.getCurrentSemester(), moduleCode, module.getSemester())) {
+                visitor.visit(studentId, student.getStudentName(), moduleCode, module.getModuleName(), grade);
+            }
+        }
+    }
+
+    /**
+     * Copies the live records to a new log, which then replaces the current one.
+     *
+     * @throws StorageException if the new log cannot be written. The current log is kept in that case.
+     */
+    public synchronized void compact() throws StorageException {
+        Path target = logFile(generation + 1);
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        TreeMap<String, Long> newStudents = new TreeMap<>();
+        TreeMap<String, Long> newModules = new TreeMap<>();
+        TreeMap<String, Long> newGrades = new TreeMap<>();
+        MappedByteBuffer source = mapped(size);
+        FileChannel opened;
+        long position = 0;
+        try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            position = copy(source, students, newStudents, out, position);
+            position = copy(source, modules, newModules, out, position);
+            position = copy(source, grades, newGrades, out, position);
+            out.force(true);
+            //the new log only becomes visible once it is complete
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+            try {
+                opened = openChannel(target);
+            } catch (IOException e) {
+                //the current log stays in use, so it must stay the newest one when the store is next opened
+                deleteQuietly(target);
+                throw e;
+            }
+        } catch (IOException e) {
+            deleteQuietly(temporary);
+            throw new StorageException("Error compacting the record log: " + e.getMessage(), e);
+        }
+
+        //switched only once the new log is open, so a failure above leaves the store on the current log
+        Path previous = logFile(generation);
+        FileChannel replaced = channel;
+        channel = opened;
+        mapped = null;
+        generation++;
+        size = position;
+        liveBytes = position;
+        students.putAll(newStudents);
+        modules.putAll(newModules);
+        grades.putAll(newGrades);
+        try {
+            replaced.close();
+        } catch (IOException e) {
+            System.err.println("Error closing the replaced record log: " + e.getMessage());
+        }
+        deleteQuietly(previous);
+    }
+
+    /**
+     * Returns the size of the log file, including replaced and removed records not yet compacted away.
+     *
+     * @return The log size in bytes.
+     */
+    public synchronized long getLogSize() {
+        return size;
+    }
+
+    /**
+     * Returns the number of bytes of the log taken by current records.
+     *
+     * @return The live size in bytes.
+     */
+    public synchronized long getLiveSize() {
+        return liveBytes;
+    }
+
+    @Override
+    public synchronized void close() throws StorageException {
+        try {
+            mapped = null;
+            if (channel.isOpen()) {
+                channel.force(true);
+                channel.close();
+            }
+        } catch (IOException e) {
+            throw new StorageException("Error closing the record log: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Opens the newest complete log and rebuilds the index from it. Unfinished compactions and logs replaced
+     * by a later compaction are deleted.
+     */
+    private void open() throws IOException {
+        List<Path> logs = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, LOG_PREFIX + "*")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(LOG_SUFFIX + ".tmp")) {
+                    deleteQuietly(file);
+                } else if (name.endsWith(LOG_SUFFIX)) {
+                    generation = Math.max(generation, parseGeneration(name));
+                    logs.add(file);
+                }
+            }
+        }
+        Path current = logFile(generation);
+        for (Path log : logs) {
+            if (!log.equals(current)) {
+                deleteQuietly(log);
+            }
+        }
+
+        channel = openChannel(current);
+        //replaced entries are looked up through the mapping while the log is read
+        size = channel.size();
+        size = recover();
+        if (size < channel.size()) {
+            //drop an entry cut short by a crash, so new entries follow the last complete one
+            mapped = null;
+            channel.truncate(size);
+        }
+    }
+
+    /**
+     * Reads every entry of the log in order and applies it to the index.
+     *
+     * @return The length of the log up to the end of the last complete entry.
+     */
+    private long recover() throws IOException {
+        long position = 0;
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel.position(0))));
+        while (true) {
+            int length;
+            int checksum;
+            byte type;
+            byte[] payload;
+            try {
+                length = in.readInt();
+                checksum = in.readInt();
+                type = in.readByte();
+                if (length < 0 || position + HEADER + length > channel.size()) {
+                    return position;
+                }
+                payload = new byte[length];
+                in.readFully(payload);
+            } catch (EOFException e) {
+                return position;
+            }
+            if (checksum(type, payload, 0, length) != checksum) {
+                return position;
+            }
+            apply(type, position, ByteBuffer.wrap(payload));
+            position += HEADER + length;
+        }
+    }
+
+    /**
+     * Updates the index for an entry that has been written at the given offset.
+     */
+    private void apply(byte type, long offset, ByteBuffer payload) {
+        long entrySize = HEADER + payload.remaining();
+        switch (type) {
+            case PUT_STUDENT:
+                replace(students, readString(payload), offset, entrySize);
+                break;
+            case REMOVE_STUDENT: {
+                String studentId = readString(payload);
+                release(students.remove(studentId));
+                for (String key : new ArrayList<>(byPrefix(grades, studentId).keySet())) {
+                    removeGrade(key);
+                }
+                break;
+            }
+            case PUT_MODULE:
+                replace(modules, readString(payload), offset, entrySize);
+                break;
+            case REMOVE_MODULE: {
+                String moduleCode = readString(payload);
+                release(modules.remove(moduleCode));
+                String prefix = moduleCode + KEY_SEPARATOR;
+                for (String reversed : new ArrayList<>(gradesByModule.subSet(prefix, prefix + Character.MAX_VALUE))) {
+                    removeGrade(gradeKey(reversed.substring(prefix.length()), moduleCode));
+                }
+                break;
+            }
+            case PUT_GRADE: {
+                String studentId = readString(payload);
+                String moduleCode = readString(payload);
+                replace(grades, gradeKey(studentId, moduleCode), offset, entrySize);
+                gradesByModule.add(moduleCode + KEY_SEPARATOR + studentId);
+                break;
+            }
+            case REMOVE_GRADE: {
+                String studentId = readString(payload);
+                removeGrade(gradeKey(studentId, readString(payload)));
+                break;
+            }
+            default:
+                throw new IllegalStateException("Unknown record log entry type " + type + " at " + offset);
+        }
+    }
+
+    private void removeGrade(String key) {
+        Long offset = grades.remove(key);
+        if (offset != null) {
+            release(offset);
+            int separator = key.indexOf(KEY_SEPARATOR);
+            gradesByModule.remove(key.substring(separator + 1) + KEY_SEPARATOR + key.substring(0, separator));
+        }
+    }
+
+    private void replace(TreeMap<String, Long> index, String key, long offset, long entrySize) {
+        release(index.put(key, offset));
+        liveBytes += entrySize;
+    }
+
+    /**
+     * Accounts for an entry that is no longer referenced by the index.
+     */
+    private void release(Long offset) {
+        if (offset != null) {
+            liveBytes -= HEADER + entryLength(offset);
+        }
+    }
+
+    private void append(byte type, Record record) throws StorageException {
+        append(type, List.of(record));
+    }
+
+    /**
+     * Writes entries of the given type to the end of the log with a single write, then applies them to the index.
+     */
+    private void append(byte type, List<Record> records) throws StorageException {
+        if (records.isEmpty()) {
+            return;
+        }
+        int total = 0;
+        for (Record record : records) {
+            total += HEADER + record.length();
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(total);
+        for (Record record : records) {
+            byte[] payload = record.toByteArray();
+            buffer.putInt(payload.length).putInt(checksum(type, payload, 0, payload.length)).put(type).put(payload);
+        }
+        buffer.flip();
+
+        long start = size;
+        try {
+            long position = start;
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            if (sync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            try {
+                //keep the log ending at the last complete entry
+                channel.truncate(start);
+            } catch (IOException ignored) {
+                //the partial entry fails its checksum and is dropped when the log is next opened
+            }
+            throw new StorageException("Error writing to the record log: " + e.getMessage(), e);
+        }
+
+        //later entries of the batch may replace earlier ones, which are then read back through the mapping
+        size = start + total;
+        long offset = start;
+        for (Record record : records) {
+            byte[] payload = record.toByteArray();
+            apply(type, offset, ByteBuffer.wrap(payload));
+            offset += HEADER + payload.length;
+        }
+        if (size - liveBytes > compactThreshold && size - liveBytes > liveBytes) {
+            try {
+                compact();
+            } catch (StorageException e) {
+                //the change is already written, so it must not fail; compaction is tried again after the next one
+                System.err.println(e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Returns the payload of the entry at the given offset, read through the memory mapping of the log.
+     */
+    private ByteBuffer payload(long offset) throws StorageException {
+        int length = mapped(offset + HEADER).getInt((int) offset);
+        ByteBuffer view = mapped(offset + HEADER + length).duplicate();
+        view.position((int) offset + HEADER).limit((int) offset + HEADER + length);
+        return view.slice();
+    }
+
+    private int entryLength(long offset) {
+        try {
+            return mapped(offset + HEADER).getInt((int) offset);
+        } catch (StorageException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns a mapping of the log covering at least the given position. The log is mapped again only when a
+     * read reaches past the current mapping, so reads of older records do not pay for later appends.
+     */
+    private MappedByteBuffer mapped(long position) throws StorageException {
+        if (mapped == null || mapped.capacity() < position) {
+            if (size > Integer.MAX_VALUE) {
+                throw new StorageException("The record log is larger than 2 GB and cannot be mapped");
+            }
+            try {
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            } catch (IOException e) {
+                throw new StorageException("Error mapping the record log: " + e.getMessage(), e);
+            }
+        }
+        return mapped;
+    }
+
+    private static long copy(ByteBuffer source, TreeMap<String, Long> index, TreeMap<String, Long> copied,
+                             FileChannel out, long position) throws IOException {
+        for (Map.Entry<String, Long> entry : index.entrySet()) {
+            ByteBuffer view = source.duplicate();
+            int start = (int) (long) entry.getValue();
+            view.position(start).limit(start + HEADER + view.getInt(start));
+            copied.put(entry.getKey(), position);
+            while (view.hasRemaining()) {
+                position += out.write(view, position);
+            }
+        }
+        return position;
+    }
+
+    private Student readStudent(long offset) throws StorageException {
+        ByteBuffer payload = payload(offset);
+        String studentId = readString(payload);
+        return new Student(readString(payload), studentId, readString(payload), payload.getInt());
+    }
+
+    private Module readModule(long offset) throws StorageException {
+        ByteBuffer payload = payload(offset);
+        String moduleCode = readString(payload);
+        return new Module(readString(payload), moduleCode, payload.getInt());
+    }
+
+    private void checkGrade(String studentId, String moduleCode) throws StorageException {
+        if (!students.containsKey(studentId)) {
+            throw new StorageException("Cannot save a grade for unknown student " + studentId);
+        }
+        if (!modules.containsKey(moduleCode)) {
+            throw new StorageException("Cannot save a grade for unknown module " + moduleCode);
+        }
+    }
+
+    private static Record gradeRecord(String studentId, String moduleCode, double grade) {
+        return new Record().string(studentId).string(moduleCode).floating((float) grade);
+    }
+
+    private static List<Long> page(TreeMap<String, Long> index, String after, int limit) {
+        NavigableMap<String, Long> tail = after != null ? index.tailMap(after, false) : index;
+        List<Long> offsets = new ArrayList<>(Math.min(limit, tail.size()));
+        for (long offset : tail.values()) {
+            if (offsets.size() >= limit) {
+                break;
+            }
+            offsets.add(offset);
+        }
+        return offsets;
+    }
+
+    private static NavigableMap<String, Long> byPrefix(TreeMap<String, Long> index, String id) {
+        String prefix = id + KEY_SEPARATOR;
+        return index.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private static String gradeKey(String studentId, String moduleCode) {
+        return studentId + KEY_SEPARATOR + moduleCode;
+    }
+
+    private static int checksum(byte type, byte[] payload, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(payload, offset, length);
+        return (int) crc.getValue();
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void skipString(ByteBuffer buffer) {
+        int length = Short.toUnsignedInt(buffer.getShort());
+        buffer.position(buffer.position() + length);
+    }
+
+    private Path logFile(long generation) {
+        return directory.resolve(LOG_PREFIX + generation + LOG_SUFFIX);
+    }
+
+    private static long parseGeneration(String name) {
+        try {
+            return Long.parseLong(name.substring(LOG_PREFIX.length(), name.length() - LOG_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static FileChannel openChannel(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            //a mapped file cannot be deleted on some platforms; it is removed when the store is next opened
+            System.err.println("Could not delete " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * The fields of one entry, encoded as big-endian numbers and length-prefixed UTF-8 strings.
+     */
+    private static class Record {
+
+        private final List<Object> fields = new ArrayList<>(4);
+        private int length;
+        private byte[] bytes;
+
+        Record string(String value) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            if (utf8.length > 0xFFFF) {
+                throw new IllegalArgumentException("Field longer than 65535 bytes");
+            }
+            fields.add(utf8);
+            length += 2 + utf8.length;
+            return this;
+        }
+
+        Record integer(int value) {
+            fields.add(value);
+            length += 4;
+            return this;
+        }
+
+        Record floating(float value) {
+            fields.add(value);
+            length += 4;
+            return this;
+        }
+
+        int length() {
+            return length;
+        }
+
+        byte[] toByteArray() {
+            if (bytes == null) {
+                ByteBuffer buffer = ByteBuffer.allocate(length);
+                for (Object field : fields) {
+                    if (field instanceof byte[]) {
+                        byte[] utf8 = (byte[]) field;
+                        buffer.putShort((short) utf8.length).put(utf8);
+                    } else if (field instanceof Integer) {
+                        buffer.putInt((Integer) field);
+                    } else {
+                        buffer.putFloat((Float) field);
+                    }
+                }
+                bytes = buffer.array();
+            }
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package college.mtu_storage;
+
+import college.mtu_model.GradeEntry;
+import college.mtu_model.Module;
+import college.mtu_model.ModuleGrade;
+import college.mtu_model.Student;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The RecordStore interface is where students, modules and grades are kept.
+ * <p>
+ * {@link JdbcRecordStore} keeps them in the MySQL database and {@link LogRecordStore} keeps them in local files,
+ * so the application can run without a database server. Listings are ordered by ID and paged by key: a page
+ * starts after the last ID of the previous page.
+ */
+public interface RecordStore extends AutoCloseable {
+
+    /**
+     * Finds the student with the given ID.
+     *
+     * @param studentId The student ID.
+     * @return The student, or null if there is no such student.
+     * @throws StorageException if the student cannot be read.
+     */
+    Student findStudent(String studentId) throws StorageException;
+
+    /**
+     * Returns students ordered by student ID, starting after the given ID.
+     *
+     * @param after The ID of the last student of the previous page, or null to start at the first student.
+     * @param limit The maximum number of students returned, Integer.MAX_VALUE for every student.
+     * @return A new list of at most limit students.
+     * @throws StorageException if the students cannot be read.
+     */
+    List<Student> findStudents(String after, int limit) throws StorageException;
+
+    /**
+     * Inserts a new student.
+     *
+     * @param student The student to insert.
+     * @throws StorageException if the student cannot be inserted, for example because the ID is taken.
+     */
+    void addStudent(Student student) throws StorageException;
+
+    /**
+     * Removes a student along with all of their grades.
+     *
+     * @param studentId The ID of the student to remove.
+     * @throws StorageException if the student cannot be removed.
+     */
+    void removeStudent(String studentId) throws StorageException;
+
+    /**
+     * Removes many students along with all of their grades, as one change: either every student is removed
+     * or, if the removal fails, none of them are.
+     *
+     * @param studentIds The IDs of the students to remove. IDs of students that do not exist are ignored.
+     * @return The number of students removed.
+     * @throws StorageException if the students cannot be removed.
+     */
+    int removeStudents(Collection<String> studentIds) throws StorageException;
+
+    /**
+     * Finds the module with the given code.
+     *
+     * @param moduleCode The module code.
+     * @return The module, or null if there is no such module.
+     * @throws StorageException if the module cannot be read.
+     */
+    Module findModule(String moduleCode) throws StorageException;
+
+    /**
+     * Returns modules ordered by module code, starting after the given code.
+     *
+     * @param after The code of the last module of the previous page, or null to start at the first module.
+     * @param limit The maximum number of modules returned, Integer.MAX_VALUE for every module.
+     * @return A new list of at most limit modules.
+     * @throws StorageException if the modules cannot be read.
+     */
+    List<Module> findModules(String after, int limit) throws StorageException;
+
+    /**
+     * Inserts a new module.
+     *
+     * @param module The module to insert.
+     * @throws StorageException if the module cannot be inserted, for example because the code is taken.
+     */
+    void addModule(Module module) throws StorageException;
+
+    /**
+     * Removes a module along with every grade recorded for it.
+     *
+     * @param moduleCode The code of the module to remove.
+     * @throws StorageException if the module cannot be removed.
+     */
+    void removeModule(String moduleCode) throws StorageException;
+
+    /**
+     * Removes many modules along with every grade recorded for them, as one change: either every module is
+     * removed or, if the removal fails, none of them are.
+     *
+     * @param moduleCodes The codes of the modules to remove. Codes of modules that do not exist are ignored.
+     * @return The number of modules removed.
+     * @throws StorageException if the modules cannot be removed.
+     */
+    int removeModules(Collection<String> moduleCodes) throws StorageException;
+
+    /**
+     * Saves the grade of a student for a module, replacing any existing grade.
+     *
+     * @param studentId  The student ID.
+     * @param moduleCode The module code.
+     * @param grade      The grade.
+     * @return true if a new grade was added, false if an existing grade was replaced.
+     * @throws StorageException if the grade cannot be written.
+     */
+    boolean saveGrade(String studentId, String moduleCode, double grade) throws StorageException;
+
+    /**
+     * Saves many grades at once, replacing any existing grades.
+     *
+     * @param entries The grades to save.
+     * @return The number of grades saved.
+     * @throws StorageException if the grades cannot be written.
+     */
+    int saveGrades(List<GradeEntry> entries) throws StorageException;
+
+    /**
+     * Deletes the grade of a student for a module.
+     *
+     * @param studentId  The student ID.
+     * @param moduleCode The module code.
+     * @return true if a grade was deleted, false if the student had no grade for the module.
+     * @throws StorageException if the grade cannot be deleted.
+     */
+    boolean deleteGrade(String studentId, String moduleCode) throws StorageException;
+
+    /**
+     * Finds the grade of a student for a module.
+     *
+     * @param studentId  The student ID.
+     * @param moduleCode The module code.
+     * @return The grade, or null if the student has no grade for the module.
+     * @throws StorageException if the grade cannot be read.
+     */
+    Float findGrade(String studentId, String moduleCode) throws StorageException;
+
+    /**
+     * Returns the grades of a student along with the names of their modules.
+     *
+     * @param studentId  The student ID.
+     * @param passedOnly Whether to return only the grades of 40 or more.
+     * @return A new list of the student's grades.
+     * @throws StorageException if the grades cannot be read.
+     */
+    List<ModuleGrade> findGrades(String studentId, boolean passedOnly) throws StorageException;
+
+    /**
+     * Passes every grade to the visitor, ordered by student ID and then module code, in a single pass.
+     * Grades are streamed rather than collected, so the whole grade table is never held as objects.
+     *
+     * @param visitor Receives each grade.
+     * @throws StorageException if the grades cannot be read.
+     */
+    void scanGrades(GradeVisitor visitor) throws StorageException;
+
+    /**
+     * Passes the grades in a scope to the visitor along with the names of their students and modules, ordered
+     * by student ID and then module code, in a single pass. Like {@link #scanGrades(GradeVisitor)}, the grades
+     * are streamed rather than collected.
+     *
+     * @param scope   The grades to read.
+     * @param visitor Receives each grade.
+     * @throws StorageException if the grades cannot be read.
+     */
+    void scanTranscripts(TranscriptScope scope, TranscriptVisitor visitor) throws StorageException;
+
+    /**
+     * Releases the connections or files held by the store.
+     *
+     * @throws StorageException if the store cannot be closed cleanly.
+     */
+    @Override
+    void close() throws StorageException;
+
+    /**
+     * Receives the grades of {@link #scanGrades(GradeVisitor)} one at a time.
+     */
+    @FunctionalInterface
+    interface GradeVisitor {
+
+        /**
+         * Receives one grade.
+         *
+         * @param studentId  The student ID.
+         * @param moduleCode The module code.
+         * @param grade      The grade.
+         */
+        void visit(String studentId, String moduleCode, float grade);
+    }
+
+    /**
+     * Receives the grades of {@link #scanTranscripts(TranscriptScope, TranscriptVisitor)} one at a time.
+     */
+    @FunctionalInterface
+    interface TranscriptVisitor {
+
+        /**
+         * Receives one grade.
+         *
+         * @param studentId   The student ID.
+         * @param studentName The name of the student.
+         * @param moduleCode  The module code.
+         * @param moduleName  The name of the module.
+         * @param grade       The grade.
+         */
+        void visit(String studentId, String studentName, String moduleCode, String moduleName, float grade);
+    }
+}
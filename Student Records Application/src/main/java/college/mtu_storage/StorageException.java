@@ -0,0 +1,29 @@
+package college.mtu_storage;
+
+/**
+ * Signals that a {@link RecordStore} could not read or write records,
+ * whether the cause was a database error or a file error.
+ */
+public class StorageException extends Exception {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs a new StorageException.
+     *
+     * @param message The reason the operation failed.
+     */
+    public StorageException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new StorageException caused by a lower level error.
+     *
+     * @param message The reason the operation failed.
+     * @param cause   The database or file error.
+     */
+    public StorageException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,133 @@
+package college.mtu_storage;
+
+/**
+ * The TranscriptScope class picks the grades read by {@link RecordStore#scanTranscripts}: those of every
+ * student, of one student, of one cohort of students, of one module, or of the modules of one semester.
+ */
+public class TranscriptScope {
+
+    /**
+     * The ways grades can be picked.
+     */
+    public enum Kind {
+        ALL, STUDENT, COHORT, MODULE, SEMESTER
+    }
+
+    private static final TranscriptScope ALL = new TranscriptScope(Kind.ALL, null, 0);
+
+    private final Kind kind;
+    //the student ID or module code picked
+    private final String id;
+    private final int semester;
+
+    private TranscriptScope(Kind kind, String id, int semester) {
+        this.kind = kind;
+        this.id = id;
+        this.semester = semester;
+    }
+
+    /**
+     * Picks every grade.
+     *
+     * @return The scope of every grade.
+     */
+    public static TranscriptScope all() {
+        return ALL;
+    }
+
+    /**
+     * Picks the grades of one student.
+     *
+     * @param studentId The student ID.
+     * @return The scope of the student.
+     */
+    public static TranscriptScope student(String studentId) {
+        return new TranscriptScope(Kind.STUDENT, studentId, 0);
+    }
+
+    /**
+     * Picks the grades of the students currently in a semester.
+     *
+     * @param currentSemester The current semester of the students.
+     * @return The scope of the cohort.
+     */
+    public static TranscriptScope cohort(int currentSemester) {
+        return new TranscriptScope(Kind.COHORT, null, currentSemester);
+    }
+
+    /**
+     * Picks the grades given for one module.
+     *
+     * @param moduleCode The module code.
+     * @return The scope of the module.
+     */
+    public static TranscriptScope module(String moduleCode) {
+        return new TranscriptScope(Kind.MODULE, moduleCode, 0);
+    }
+
+    /**
+     * Picks the grades given for the modules taught in a semester.
+     *
+     * @param semester The semester of the modules.
+     * @return The scope of the semester.
+     */
+    public static TranscriptScope semester(int semester) {
+        return new TranscriptScope(Kind.SEMESTER, null, semester);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public String getStudentId() {
+        return kind == Kind.STUDENT ? id : null;
+    }
+
+    public String getModuleCode() {
+        return kind == Kind.MODULE ? id : null;
+    }
+
+    public int getSemester() {
+        return semester;
+    }
+
+    /**
+     * Checks if a grade belongs to this scope.
+     *
+     * @param studentId       The student ID.
+     * @param currentSemester The current semester of the student.
+     * @param moduleCode      The module code.
+     * @param moduleSemester  The semester of the module.
+     * @return true if the grade is picked.
+     */
+    public boolean includes(String studentId, int currentSemester, String moduleCode, int moduleSemester) {
+        switch (kind) {
+            case STUDENT:
+                return id.equals(studentId);
+            case COHORT:
+                return currentSemester == semester;
+            case MODULE:
+                return id.equals(moduleCode);
+            case SEMESTER:
+                return moduleSemester == semester;
+            default:
+                return true;
+        }
+    }
+
+    @Override
+    public String toString() {
+        switch (kind) {
+            case STUDENT:
+                return "student " + id;
+            case COHORT:
+                return "cohort of semester " + semester;
+            case MODULE:
+                return "module " + id;
+            case SEMESTER:
+                return "modules of semester " + semester;
+            default:
+                return "all students";
+        }
+    }
+}
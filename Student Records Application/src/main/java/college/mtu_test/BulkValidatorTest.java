@@ -0,0 +1,114 @@
+package college.mtu_test;
+
+import college.mtu_import.BulkValidator;
+import college.mtu_import.ImportKind;
+import college.mtu_import.RowError;
+import college.mtu_import.ValidationReport;
+import college.mtu_import.ValidationRules;
+import college.mtu_records.RecordValidator;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class for the BulkValidator class.
+ * This class tests that rows are checked with the same rules as the forms, and that every error is reported
+ * against its row and column.
+ */
+public class BulkValidatorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private BulkValidator validator;
+
+    /**
+     * Sets up a validator with small chunks, so a short file is read in several.
+     */
+    @Before
+    public void setUp() {
+        validator = new BulkValidator(ValidationRules.forToday(), 2);
+    }
+
+    /**
+     * Test case for validating rows already split into fields.
+     * This test checks that every failing field of a row is reported, in row order.
+     * <p>
+     * Test output: Three errors on the second and fourth rows.
+     * Preconditions: Four rows of students, two of them invalid.
+     * Test procedure:
+     * 1. Validate the rows.
+     * 2. Verify the counts and the errors.
+     */
+    @Test
+    public void testValidateRows() {
+        ValidationReport report = validator.validate(ImportKind.STUDENTS, List.of(
+                new String[]{"Ann", "R00123456", "01/01/2000", "3"},
+                new String[]{" ", "X00123456", "01/01/2000", "3"},
+                new String[]{"Bob", "R00123457", "29/02/2004", "10"},
+                new String[]{"Cat", "R00123458", "1/1/2000", "11"}));
+
+        assertEquals(4, report.getRowsChecked());
+        assertEquals(2, report.getRowsRejected());
+        assertEquals(List.of("2 name", "2 studentId", "4 dateOfBirth", "4 currentSemester"),
+                report.getErrors().stream().map(e -> e.getRow() + " " + e.getColumn()).collect(Collectors.toList()));
+    }
+
+    /**
+     * Test case for validating a file.
+     * This test checks that the header and blank lines are skipped and errors carry their line numbers.
+     * <p>
+     * Test output: Errors on lines 4 and 6.
+     * Preconditions: A grades file with a header, a blank line, a short row and a grade out of range.
+     * Test procedure:
+     * 1. Write the file and validate it.
+     * 2. Verify the counts and the errors.
+     */
+    @Test
+    public void testValidateFile() throws Exception {
+        Path csv = folder.getRoot().toPath().resolve("grades.csv");
+        Files.write(csv, List.of("studentId,moduleCode,grade", "R00000001,MT101,72", "",
+                "R00000001,MT102", "R00000002,MT101,40.5", "R00000002,MT102,101", "R00000003,MT101,0"));
+
+        ValidationReport report = validator.validateFile(ImportKind.GRADES, csv);
+
+        assertEquals(5, report.getRowsChecked());
+        assertEquals(3, report.getRowsValid());
+        List<RowError> errors = report.getErrors();
+        assertEquals(2, errors.size());
+        assertEquals(4, errors.get(0).getRow());
+        assertNull(errors.get(0).getColumn());
+        assertEquals(6, errors.get(1).getRow());
+        assertEquals("grade", errors.get(1).getColumn());
+        assertEquals("Please enter a valid grade between 0 and 100.", errors.get(1).getMessage());
+    }
+
+    /**
+     * Test case for the dates of birth.
+     * This test checks that the prepared rules give the same answer as RecordValidator for awkward dates.
+     * <p>
+     * Test output: The same message, or null, for every date.
+     * Preconditions: None.
+     * Test procedure:
+     * 1. Validate each date with both rules.
+     * 2. Verify they agree.
+     */
+    @Test
+    public void testDatesMatchRecordValidator() {
+        RecordValidator forms = new RecordValidator();
+        ValidationRules rules = ValidationRules.forToday();
+        for (String dob : List.of("01/01/2000", "31/02/2001", "29/02/2000", "29/02/1900", "00/01/2000",
+                "32/01/2000", "01/13/2000", "1/01/2000", "01-01-2000", "01/01/12000", "01/01/0000", "",
+                "12/10/2010", "18/10/2010", "19/10/2010", "01/01/2999", "3a/01/2000")) {
+            assertEquals(dob, forms.validateDob(dob), rules.dateOfBirth(dob));
+        }
+    }
+}
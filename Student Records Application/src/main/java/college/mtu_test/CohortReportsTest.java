@@ -0,0 +1,109 @@
+package college.mtu_test;
+
+import college.mtu_model.Module;
+import college.mtu_model.Student;
+import college.mtu_reports.CohortReports;
+import college.mtu_reports.ReportCache;
+import college.mtu_storage.LogRecordStore;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class for the CohortReports and ReportCache classes.
+ * This class tests the content of the reports and that a change only drops the reports built from it.
+ */
+public class CohortReportsTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private LogRecordStore store;
+    private ReportCache cache;
+    private CohortReports reports;
+
+    /**
+     * Sets up a store of two students and three modules, two of them in semester 1.
+     */
+    @Before
+    public void setUp() throws Exception {
+        store = new LogRecordStore(folder.getRoot().toPath());
+        store.addStudent(new Student("Furqan Ali", "R00000001", "06/10/1999", 3));
+        store.addStudent(new Student("Aoife Byrne", "R00000002", "01/02/2000", 1));
+        store.addModule(new Module("Software Development", "MT101", 1));
+        store.addModule(new Module("Databases", "MT102", 1));
+        store.addModule(new Module("Networks", "MT301", 3));
+        store.saveGrade("R00000001", "MT101", 72);
+        store.saveGrade("R00000001", "MT102", 35);
+        store.saveGrade("R00000002", "MT101", 20);
+        store.saveGrade("R00000002", "MT301", 90);
+        cache = new ReportCache(100);
+        reports = new CohortReports(store, cache);
+    }
+
+    /**
+     * Closes the store.
+     */
+    @After
+    public void tearDown() throws Exception {
+        store.close();
+    }
+
+    /**
+     * Test case for the content of the reports.
+     * This test checks the average of a student, the failing students of a module and a semester's pass rates.
+     * <p>
+     * Test output: The reports of the four grades.
+     * Preconditions: A store of four grades.
+     * Test procedure:
+     * 1. Build each report.
+     * 2. Verify them.
+     */
+    @Test
+    public void testReports() throws Exception {
+        assertEquals(53.5, reports.studentAverage("R00000001").getAverage(), 1e-9);
+        assertEquals(1, reports.studentAverage("R00000001").getPassed());
+        assertEquals(1, reports.failingStudents("MT101").getFailing().size());
+        assertEquals("R00000002", reports.failingStudents("MT101").getFailing().get(0).getStudentId());
+        assertEquals(1.0 / 3, reports.semesterPassRates(1).getPassRate(), 1e-9);
+        assertEquals(0.5, reports.semesterPassRates(1).getPassRates().get("MT101"), 1e-9);
+    }
+
+    /**
+     * Test case for invalidation.
+     * This test checks that a change drops the reports built from the changed student or module and keeps the
+     * others.
+     * <p>
+     * Test output: Cache hits for unaffected reports, rebuilt reports showing the change.
+     * Preconditions: Three reports already built.
+     * Test procedure:
+     * 1. Change a grade of MT301 and invalidate it; verify the semester 1 reports are still cached.
+     * 2. Change a grade of R00000002 in MT101 and invalidate it; verify the affected reports are rebuilt.
+     */
+    @Test
+    public void testPreciseInvalidation() throws Exception {
+        reports.studentAverage("R00000001");
+        reports.failingStudents("MT101");
+        reports.semesterPassRates(1);
+        assertEquals(3, cache.size());
+
+        store.saveGrade("R00000002", "MT301", 10);
+        cache.invalidateModule("MT301");
+        cache.invalidateSemester(3);
+        long hits = cache.getHits();
+        reports.studentAverage("R00000001");
+        reports.failingStudents("MT101");
+        reports.semesterPassRates(1);
+        assertEquals(hits + 3, cache.getHits());
+
+        store.saveGrade("R00000002", "MT101", 60);
+        cache.invalidateStudent("R00000002");
+        assertEquals(1, cache.size());
+        assertTrue(reports.failingStudents("MT101").getFailing().isEmpty());
+        assertEquals(2.0 / 3, reports.semesterPassRates(1).getPassRate(), 1e-9);
+    }
+}
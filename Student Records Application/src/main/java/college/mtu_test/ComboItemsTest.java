@@ -0,0 +1,82 @@
+package college.mtu_test;
+
+import college.mtu_records.ComboItems;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class for the ComboItems class.
+ * This class tests that combo box items stay sorted by ID while single items are inserted and removed.
+ */
+public class ComboItemsTest {
+
+    private List<String> items;
+
+    /**
+     * Sets up a sorted list of three student items.
+     */
+    @Before
+    public void setUp() {
+        items = new ArrayList<>(List.of(
+                ComboItems.item("R00000001", "Ann"),
+                ComboItems.item("R00000003", "Cian"),
+                ComboItems.item("R00000005", "Eve")));
+    }
+
+    /**
+     * Test case for inserting an item.
+     * This test checks that a new item is placed at its sorted position and an existing ID is replaced.
+     * <p>
+     * Test output: The items in ID order with the renamed student.
+     * Preconditions: Three sorted items.
+     * Test procedure:
+     * 1. Insert a new ID between two existing ones and rename an existing ID.
+     * 2. Verify the resulting items.
+     */
+    @Test
+    public void testInsertKeepsOrder() {
+        ComboItems.insert(items, "R00000002", "Brian");
+        ComboItems.insert(items, "R00000005", "Eva");
+
+        assertEquals(List.of("R00000001 | Ann", "R00000002 | Brian", "R00000003 | Cian", "R00000005 | Eva"), items);
+    }
+
+    /**
+     * Test case for removing an item.
+     * This test checks that an item is found by its ID alone, and that a missing ID is ignored.
+     * <p>
+     * Test output: The item is removed once.
+     * Preconditions: Three sorted items.
+     * Test procedure:
+     * 1. Remove an existing ID, then remove it again.
+     * 2. Verify the results and the remaining items.
+     */
+    @Test
+    public void testRemoveById() {
+        assertTrue(ComboItems.remove(items, "R00000003"));
+        assertFalse(ComboItems.remove(items, "R00000003"));
+
+        assertEquals(List.of("R00000001 | Ann", "R00000005 | Eve"), items);
+        assertEquals("R00000005", ComboItems.id(items.get(1)));
+    }
+
+    /**
+     * Test case for an ID that is a prefix of another ID.
+     * This test checks that looking up a shorter ID does not match a longer ID starting with it.
+     * <p>
+     * Test output: The shorter ID is not found.
+     * Preconditions: Three sorted items.
+     * Test procedure:
+     * 1. Look up the first eight characters of an existing ID.
+     * 2. Verify that it is not found.
+     */
+    @Test
+    public void testPrefixIdIsNotMatched() {
+        assertTrue(ComboItems.find(items, "R0000000") < 0);
+    }
+}
@@ -0,0 +1,226 @@
+package college.mtu_test;
+
+import college.mtu_database.ConnectionPool;
+import org.junit.After;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class for the ConnectionPool class.
+ * This class tests that leased connections are handed back and reused, validated on borrow, and evicted once idle
+ * or too old, and that a full pool makes callers wait. Stub connections and a manual clock are used, so the tests
+ * do not need a running database or to wait for connections to expire.
+ */
+public class ConnectionPoolTest {
+
+    private ConnectionPool pool;
+    private long now;
+    private int opened;
+    private final List<String> calls = new ArrayList<>();
+    private final Set<Integer> invalid = new HashSet<>();
+
+    /**
+     * Closes the pool of each test.
+     */
+    @After
+    public void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    /**
+     * Test case for handing a connection back.
+     * This test checks that closing a lease returns the connection to the pool, that closing it again does
+     * nothing, and that the next borrow reuses it.
+     * <p>
+     * Test output: One physical connection, leased twice.
+     * Preconditions: A pool of two connections.
+     * Test procedure:
+     * 1. Borrow a connection and close the lease twice.
+     * 2. Verify the counts and that the closed lease can no longer be used.
+     * 3. Borrow again and verify that no new connection was opened.
+     */
+    @Test
+    public void testClosedLeaseIsReused() throws Exception {
+        pool = pool(2);
+        Connection first = pool.borrow();
+        assertEquals(1, pool.getActiveCount());
+        first.close();
+        first.close();
+
+        assertEquals(0, pool.getActiveCount());
+        assertEquals(1, pool.getIdleCount());
+        assertTrue(first.isClosed());
+        try {
+            first.getAutoCommit();
+            fail("A returned lease should not be usable.");
+        } catch (SQLException expected) {
+            //the connection belongs to the pool again
+        }
+
+        try (Connection second = pool.borrow()) {
+            assertNotSame(first, second);
+            assertEquals(1, opened);
+        }
+        assertFalse(calls.contains("close 1"));
+    }
+
+    /**
+     * Test case for a pool with every connection leased.
+     * This test checks that a borrow waits for the borrow timeout and then fails, and succeeds once a lease is
+     * handed back.
+     * <p>
+     * Test output: A timeout, then a connection.
+     * Preconditions: A pool of one connection with a borrow timeout of 50 milliseconds.
+     * Test procedure:
+     * 1. Borrow the only connection and borrow again.
+     * 2. Verify that the second borrow timed out.
+     * 3. Hand the first lease back and verify that a borrow now succeeds.
+     */
+    @Test
+    public void testBorrowTimesOut() throws Exception {
+        pool = pool(1);
+        Connection first = pool.borrow();
+        try {
+            pool.borrow();
+            fail("The pool should have no free connection.");
+        } catch (SQLException expected) {
+            assertTrue(expected.getMessage().startsWith("Timed out"));
+        }
+
+        first.close();
+        try (Connection second = pool.borrow()) {
+            assertNotNull(second);
+        }
+        assertEquals(1, opened);
+    }
+
+    /**
+     * Test case for validating on borrow.
+     * This test checks that an idle connection which is no longer valid is closed and replaced.
+     * <p>
+     * Test output: A second physical connection; the first one closed.
+     * Preconditions: A pool of two connections.
+     * Test procedure:
+     * 1. Borrow and hand back a connection, then make it invalid.
+     * 2. Borrow again and verify that a new connection was opened and the old one closed.
+     */
+    @Test
+    public void testInvalidConnectionIsReplaced() throws Exception {
+        pool = pool(2);
+        pool.borrow().close();
+        invalid.add(1);
+
+        try (Connection connection = pool.borrow()) {
+            assertNotNull(connection);
+        }
+        assertEquals(2, opened);
+        assertTrue(calls.contains("close 1"));
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    /**
+     * Test case for a connection handed back mid-transaction.
+     * This test checks that a lease closed with auto-commit off is rolled back and reset before it is reused.
+     * <p>
+     * Test output: A rollback and auto-commit turned back on.
+     * Preconditions: A pool of two connections.
+     * Test procedure:
+     * 1. Borrow a connection, turn auto-commit off and hand it back.
+     * 2. Verify the calls made on the physical connection.
+     */
+    @Test
+    public void testReturnedConnectionIsReset() throws Exception {
+        pool = pool(2);
+        Connection connection = pool.borrow();
+        connection.setAutoCommit(false);
+        connection.close();
+
+        assertEquals(List.of("setAutoCommit 1 false", "rollback 1", "setAutoCommit 1 true"), calls);
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    /**
+     * Test case for idle and lifetime eviction.
+     * This test checks that a connection idle for longer than the idle timeout is evicted, and that a connection
+     * older than its maximum lifetime is closed when it is handed back.
+     * <p>
+     * Test output: Both connections closed and none idle.
+     * Preconditions: A pool with an idle timeout of 1000 and a maximum lifetime of 5000 milliseconds.
+     * Test procedure:
+     * 1. Borrow and hand back a connection, move the clock past the idle timeout and evict.
+     * 2. Verify that the connection was closed.
+     * 3. Borrow a new connection, move the clock past its lifetime and hand it back.
+     * 4. Verify that it was closed rather than kept.
+     */
+    @Test
+    public void testExpiredConnectionsAreEvicted() throws Exception {
+        pool = pool(2);
+        pool.borrow().close();
+        now = 1001;
+        pool.evictExpired();
+
+        assertTrue(calls.contains("close 1"));
+        assertEquals(0, pool.getIdleCount());
+
+        Connection connection = pool.borrow();
+        now = 7000;
+        connection.close();
+
+        assertEquals(2, opened);
+        assertTrue(calls.contains("close 2"));
+        assertEquals(0, pool.getIdleCount());
+    }
+
+    /**
+     * Creates a pool of stub connections with an idle timeout of 1000, a maximum lifetime of 5000 and a borrow
+     * timeout of 50 milliseconds.
+     */
+    private ConnectionPool pool(int maxSize) {
+        return new ConnectionPool(this::open, maxSize, 1000, 5000, 50, 4, () -> now);
+    }
+
+    /**
+     * Opens a stub connection that records the calls that close it or change its transaction, numbered in the
+     * order the connections were opened.
+     */
+    private Connection open() {
+        int id = ++opened;
+        boolean[] state = {true, false};
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    String name = method.getName();
+                    switch (name) {
+                        case "isValid":
+                            return !invalid.contains(id);
+                        case "getAutoCommit":
+                            return state[0];
+                        case "setAutoCommit":
+                            state[0] = (Boolean) args[0];
+                            calls.add(name + " " + id + " " + args[0]);
+                            return null;
+                        case "rollback":
+                            calls.add(name + " " + id);
+                            return null;
+                        case "close":
+                            state[1] = true;
+                            calls.add(name + " " + id);
+                            return null;
+                        case "isClosed":
+                            return state[1];
+                        default:
+                            return null;
+                    }
+                });
+    }
+}
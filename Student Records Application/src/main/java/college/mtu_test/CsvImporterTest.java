@@ -0,0 +1,74 @@
+package college.mtu_test;
+
+import college.mtu_import.CsvImporter;
+import college.mtu_import.ImportKind;
+import college.mtu_records.RecordValidator;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class for the CsvImporter class.
+ * This class tests how CSV lines are split and how imported rows are validated.
+ * The tests do not need a running database.
+ */
+public class CsvImporterTest {
+
+    private final RecordValidator validator = new RecordValidator();
+
+    /**
+     * Test case for splitting a CSV line.
+     * This test checks that quoted fields may contain commas and doubled quotes.
+     * <p>
+     * Test output: The fields of the line without their quotes.
+     * Preconditions: None.
+     * Test procedure:
+     * 1. Split a line with a plain field, a quoted field containing a comma and a quoted field containing a quote.
+     * 2. Verify the returned fields.
+     */
+    @Test
+    public void testParseLineWithQuotes() {
+        String[] fields = CsvImporter.parseLine("R00163178,\"Ali, Furqan\",\"say \"\"hi\"\"\",");
+
+        assertArrayEquals(new String[]{"R00163178", "Ali, Furqan", "say \"hi\"", ""}, fields);
+        assertEquals("\"Ali, Furqan\"", CsvImporter.quote("Ali, Furqan"));
+    }
+
+    /**
+     * Test case for a header row.
+     * This test checks that a row naming the columns is recognised as a header, ignoring case.
+     * <p>
+     * Test output: The header row is recognised and a data row is not.
+     * Preconditions: None.
+     * Test procedure:
+     * 1. Check a header row and a data row for the grades import.
+     * 2. Verify that only the header row is recognised.
+     */
+    @Test
+    public void testHeaderIsRecognised() {
+        assertTrue(ImportKind.GRADES.isHeader(CsvImporter.parseLine("StudentId,ModuleCode,Grade")));
+        assertFalse(ImportKind.GRADES.isHeader(CsvImporter.parseLine("R00163178,MT101,75")));
+    }
+
+    /**
+     * Test case for validating imported rows.
+     * This test checks that imported rows are validated with the same rules as the forms.
+     * <p>
+     * Test output: Valid rows pass and invalid rows return an error message.
+     * Preconditions: None.
+     * Test procedure:
+     * 1. Validate a valid student, module and grade row.
+     * 2. Validate rows with an invalid student ID, semester and grade.
+     * 3. Verify the results.
+     */
+    @Test
+    public void testRowsAreValidated() {
+        assertNull(ImportKind.STUDENTS.validate(new String[]{"Furqan Ali", "R00163178", "06/10/1999", "3"}, validator));
+        assertNull(ImportKind.MODULES.validate(new String[]{"Software Testing", "MT101", "2"}, validator));
+        assertNull(ImportKind.GRADES.validate(new String[]{"R00163178", "MT101", "75"}, validator));
+
+        assertNotNull(ImportKind.STUDENTS.validate(new String[]{"Furqan Ali", "163178", "06/10/1999", "3"}, validator));
+        assertNotNull(ImportKind.MODULES.validate(new String[]{"Software Testing", "MT101", "eleven"}, validator));
+        assertNotNull(ImportKind.GRADES.validate(new String[]{"R00163178", "MT101", "120"}, validator));
+    }
+}
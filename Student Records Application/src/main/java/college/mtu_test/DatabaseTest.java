@@ -1,14 +1,20 @@
 package college.mtu_test;
 
 import college.mtu_database.Database;
+import college.mtu_model.Module;
+import college.mtu_model.Student;
+import college.mtu_storage.JdbcRecordStore;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.sql.Connection;
+import java.sql.SQLException;
 
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Test class for the Database class.
@@ -16,15 +22,18 @@ import static org.junit.Assert.assertNotNull;
  */
 public class DatabaseTest {
 
+    private Database database;
     private Connection connection;
 
     /**
-     * Sets up the test environment by creating a Database object and obtaining a connection.
+     * Sets up the test environment by creating a Database object and leasing a connection from its pool.
      * Preconditions: The database must be running and accessible.
+     *
+     * @throws SQLException if no connection could be leased.
      */
     @Before
-    public void setUp() {
-        Database database = new Database();
+    public void setUp() throws SQLException {
+        database = new Database();
         connection = database.getConnection();
     }
 
@@ -44,7 +53,32 @@ public class DatabaseTest {
     }
 
     /**
-     * Cleans up the test environment by closing the connection.
+     * Test case for saving a grade that is already stored.
+     * This test checks that saving the same grade again is reported as a replaced grade, not an added one.
+     * <p>
+     * Test output: true for the first save, false for the identical and the changed save.
+     * Preconditions: The database must be running and accessible, without student R00999999 or module MT999.
+     * Test procedure:
+     * 1. Add a student and a module, then save the same grade twice and a different grade once.
+     * 2. Verify the results, then remove the student and module.
+     */
+    @Test
+    public void testIdenticalGradeIsReplaced() throws Exception {
+        JdbcRecordStore store = new JdbcRecordStore(database, 100);
+        store.addStudent(new Student("Test Student", "R00999999", "01/01/2000", 1));
+        store.addModule(new Module("Test Module", "MT999", 1));
+        try {
+            assertTrue(store.saveGrade("R00999999", "MT999", 55));
+            assertFalse(store.saveGrade("R00999999", "MT999", 55));
+            assertFalse(store.saveGrade("R00999999", "MT999", 60));
+        } finally {
+            store.removeStudent("R00999999");
+            store.removeModule("MT999");
+        }
+    }
+
+    /**
+     * Cleans up the test environment by returning the connection to the pool.
      */
     @After
     public void tearDown() {
@@ -55,5 +89,6 @@ public class DatabaseTest {
         } catch (Exception e) {
             e.printStackTrace();
         }
+        database.close();
     }
 }
@@ -0,0 +1,132 @@
+package college.mtu_test;
+
+import college.mtu_analytics.GradeStatistics;
+import college.mtu_analytics.GradeSummary;
+import college.mtu_analytics.RunningStats;
+import college.mtu_model.Module;
+import college.mtu_model.Student;
+import college.mtu_repository.GradeRepository;
+import college.mtu_storage.LogRecordStore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class for the RunningStats and GradeStatistics classes.
+ * This class tests that the running statistics match statistics computed from scratch as grades are added and
+ * removed, and that grades changed through the repository keep them in step with the store.
+ */
+public class GradeStatisticsTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Test case for adding and removing grades.
+     * This test checks the statistics after grades are added and after the lowest and highest are removed.
+     * <p>
+     * Test output: The statistics of 20, 35, 55, 72, 100, then of 35, 55, 72.
+     * Preconditions: None.
+     * Test procedure:
+     * 1. Add five grades and verify the statistics.
+     * 2. Remove the lowest and highest grades and verify the statistics again.
+     */
+    @Test
+    public void testAddAndRemove() {
+        RunningStats stats = new RunningStats();
+        for (float grade : new float[]{72, 20, 100, 35, 55}) {
+            stats.add(grade);
+        }
+        assertEquals(5, stats.getCount());
+        assertEquals(56.4, stats.getMean(), 1e-9);
+        assertEquals(785.84, stats.getVariance(), 1e-9);
+        assertEquals(20f, stats.getMin(), 0);
+        assertEquals(100f, stats.getMax(), 0);
+        assertEquals(0.6, stats.getPassRate(), 1e-9);
+
+        assertTrue(stats.remove(20));
+        assertTrue(stats.remove(100));
+        assertFalse(stats.remove(99));
+        assertEquals(54, stats.getMean(), 1e-9);
+        assertEquals((19 * 19 + 1 + 18 * 18) / 3.0, stats.getVariance(), 1e-9);
+        assertEquals(35f, stats.getMin(), 0);
+        assertEquals(72f, stats.getMax(), 0);
+        assertEquals(2.0 / 3, stats.getPassRate(), 1e-9);
+
+        stats.remove(35);
+        stats.remove(55);
+        stats.remove(72);
+        assertTrue(Double.isNaN(stats.getMean()));
+        assertTrue(Float.isNaN(stats.getMin()));
+    }
+
+    /**
+     * Test case for statistics kept by the grade repository.
+     * This test checks that saving, replacing and deleting grades updates the module and student statistics,
+     * and that statistics loaded from the store afterwards are the same.
+     * <p>
+     * Test output: Matching statistics before and after reloading.
+     * Preconditions: A store of two students and one module.
+     * Test procedure:
+     * 1. Save two grades, replace one and delete the other.
+     * 2. Verify the statistics, then reload them from the store and verify them again.
+     */
+    @Test
+    public void testRepositoryKeepsStatistics() throws Exception {
+        try (LogRecordStore store = new LogRecordStore(folder.getRoot().toPath())) {
+            store.addStudent(new Student("Furqan Ali", "R00000001", "06/10/1999", 3));
+            store.addStudent(new Student("Aoife Byrne", "R00000002", "01/02/2000", 1));
+            store.addModule(new Module("Software Development", "MT101", 1));
+            GradeStatistics statistics = GradeStatistics.load(store);
+            GradeRepository grades = new GradeRepository(store, statistics);
+
+            grades.save("R00000001", "MT101", 30);
+            grades.save("R00000002", "MT101", 50);
+            grades.save("R00000001", "MT101", 70);
+            GradeSummary module = statistics.forModule("MT101");
+            assertEquals(2, module.getCount());
+            assertEquals(60, module.getMean(), 1e-9);
+            assertEquals(50f, module.getMin(), 0);
+            assertEquals(1.0, module.getPassRate(), 1e-9);
+
+            grades.delete("R00000002", "MT101");
+            assertEquals(0, statistics.forStudent("R00000002").getCount());
+            assertEquals(70, statistics.forModule("MT101").getMean(), 1e-9);
+
+            statistics.reload(store);
+            assertEquals(1, statistics.forModule("MT101").getCount());
+            assertEquals(70f, statistics.forStudent("R00000001").getMax(), 0);
+        }
+    }
+
+    /**
+     * Test case for removing a student and a module.
+     * This test checks that only the grades of the removed student or module leave the statistics.
+     * <p>
+     * Test output: The statistics of the grades that are left.
+     * Preconditions: None.
+     * Test procedure:
+     * 1. Put grades of two students in two modules, replacing one of them.
+     * 2. Remove a module, then a student, and verify the statistics after each.
+     */
+    @Test
+    public void testRemovingStudentsAndModules() {
+        GradeStatistics statistics = new GradeStatistics();
+        statistics.put("R00000001", "MT101", 30);
+        statistics.put("R00000001", "MT102", 80);
+        statistics.put("R00000002", "MT101", 50);
+        assertEquals(30f, statistics.put("R00000001", "MT101", 70), 0);
+
+        statistics.removeModule("MT101");
+        assertEquals(0, statistics.forModule("MT101").getCount());
+        assertEquals(1, statistics.forStudent("R00000001").getCount());
+        assertEquals(80f, statistics.forStudent("R00000001").getMin(), 0);
+        assertEquals(0, statistics.forStudent("R00000002").getCount());
+
+        statistics.removeStudent("R00000001");
+        assertEquals(0, statistics.forModule("MT102").getCount());
+        assertNull(statistics.remove("R00000001", "MT102"));
+    }
+}
@@ -0,0 +1,97 @@
+package college.mtu_test;
+
+import college.mtu_analytics.Gradebook;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class for the Gradebook class.
+ * This class tests single grade lookups, reading a transcript or a module, and the cohort aggregates.
+ */
+public class GradebookTest {
+
+    private Gradebook gradebook;
+
+    /**
+     * Sets up a gradebook of three students and two modules, with one grade missing.
+     */
+    @Before
+    public void setUp() {
+        gradebook = new Gradebook.Builder()
+                .add("R00000001", "MT101", 72)
+                .add("R00000001", "MT102", 35)
+                .add("R00000002", "MT102", 55)
+                .add("R00000003", "MT101", 100)
+                .add("R00000003", "MT102", 20)
+                .build();
+    }
+
+    /**
+     * Test case for looking up single grades.
+     * This test checks that every stored grade is found and that a missing grade is NaN.
+     * <p>
+     * Test output: The stored grades, NaN for the missing one.
+     * Preconditions: A gradebook of five grades.
+     * Test procedure:
+     * 1. Look up a stored grade by ID and by ordinal.
+     * 2. Look up a missing grade and a grade of an unknown student.
+     */
+    @Test
+    public void testCellLookup() {
+        assertEquals(72f, gradebook.get("R00000001", "MT101"), 0);
+        int student = gradebook.studentOrdinal("R00000003");
+        int module = gradebook.moduleOrdinal("MT102");
+        assertEquals(20f, gradebook.get(student, module), 0);
+        assertTrue(Float.isNaN(gradebook.get("R00000002", "MT101")));
+        assertTrue(Float.isNaN(gradebook.get("R00000009", "MT101")));
+        assertEquals(5, gradebook.getGradeCount());
+    }
+
+    /**
+     * Test case for reading a transcript and a module.
+     * This test checks that a row holds the grades of one student and a column the grades of one module.
+     * <p>
+     * Test output: The grades of student R00000001 and of module MT102.
+     * Preconditions: A gradebook of five grades.
+     * Test procedure:
+     * 1. Collect the grades of the first student and of the second module.
+     * 2. Verify them.
+     */
+    @Test
+    public void testRowAndColumnIteration() {
+        List<Float> row = new ArrayList<>();
+        gradebook.forEachInRow(gradebook.studentOrdinal("R00000001"), (student, module, grade) -> row.add(grade));
+        assertEquals(List.of(72f, 35f), row);
+
+        List<String> column = new ArrayList<>();
+        gradebook.forEachInColumn(gradebook.moduleOrdinal("MT102"),
+                (student, module, grade) -> column.add(gradebook.studentId(student) + "=" + grade));
+        assertEquals(List.of("R00000001=35.0", "R00000002=55.0", "R00000003=20.0"), column);
+    }
+
+    /**
+     * Test case for the aggregates.
+     * This test checks the means, the pass rate and the histogram.
+     * <p>
+     * Test output: The aggregates of the five grades.
+     * Preconditions: A gradebook of five grades.
+     * Test procedure:
+     * 1. Compute the aggregates.
+     * 2. Verify them.
+     */
+    @Test
+    public void testAggregates() {
+        int mt101 = gradebook.moduleOrdinal("MT101");
+        int mt102 = gradebook.moduleOrdinal("MT102");
+        assertEquals(86, gradebook.columnMean(mt101), 1e-9);
+        assertEquals(1.0 / 3, gradebook.columnPassRate(mt102, 40), 1e-9);
+        assertEquals(53.5, gradebook.rowMean(gradebook.studentOrdinal("R00000001")), 1e-9);
+        assertEquals(56.4, gradebook.mean(), 1e-6);
+        assertArrayEquals(new int[]{1, 2, 2}, gradebook.histogram(3));
+    }
+}
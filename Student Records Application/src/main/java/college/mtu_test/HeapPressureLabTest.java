@@ -0,0 +1,96 @@
+package college.mtu_test;
+
+import college.mtu_memory.HeapExperiment;
+import college.mtu_memory.HeapExperiment.GrowthPattern;
+import college.mtu_memory.HeapExperiment.ObjectModel;
+import college.mtu_memory.HeapExperiment.RetentionPolicy;
+import college.mtu_memory.HeapPressureLab;
+import college.mtu_memory.HeapReport;
+import college.mtu_memory.HeapSample;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class for the HeapPressureLab class.
+ * This class tests that experiments stop at their limits, keep records according to their retention policy
+ * and report what they measured. The experiments are kept small so the tests do not put the heap under pressure.
+ */
+public class HeapPressureLabTest {
+
+    private final HeapPressureLab lab = new HeapPressureLab();
+
+    /**
+     * Test case for keeping every record.
+     * This test checks that every record is kept and that each one is measured as taking some heap.
+     * <p>
+     * Test output: 200000 kept records of at least 16 bytes each.
+     * Preconditions: None.
+     * Test procedure:
+     * 1. Run an experiment keeping 200000 students.
+     * 2. Verify the outcome, the kept records, the bytes per record and the samples.
+     */
+    @Test
+    public void testRetainAllMeasuresRecords() {
+        HeapReport report = lab.run(new HeapExperiment(ObjectModel.STUDENT, GrowthPattern.LINEAR,
+                RetentionPolicy.RETAIN_ALL, 50_000, 1, 200_000, Long.MAX_VALUE));
+
+        assertEquals("Stopped at 200000 records", report.getOutcome());
+        assertEquals(200_000, report.getRecordsRetained());
+        assertTrue("Expected each student to take heap", report.getBytesPerRecord() >= 16);
+        assertEquals(5, report.getSamples().size());
+    }
+
+    /**
+     * Test case for a window of records.
+     * This test checks that only the most recent records are kept.
+     * <p>
+     * Test output: 1000 kept records out of 10000 created.
+     * Preconditions: None.
+     * Test procedure:
+     * 1. Run an experiment keeping a window of 1000 grade entries out of 10000.
+     * 2. Verify the number of records created and kept in the last sample.
+     */
+    @Test
+    public void testWindowKeepsRecentRecords() {
+        HeapReport report = lab.run(new HeapExperiment(ObjectModel.GRADE_ENTRY, GrowthPattern.EXPONENTIAL,
+                RetentionPolicy.WINDOW, 100, 1000, 10_000, Long.MAX_VALUE));
+
+        List<HeapSample> samples = report.getSamples();
+        HeapSample last = samples.get(samples.size() - 1);
+        assertEquals(10_000, last.getRecordsCreated());
+        assertEquals(1000, last.getRecordsRetained());
+        assertEquals(1000, report.getRecordsRetained());
+    }
+
+    /**
+     * Test case for writing a report.
+     * This test checks that the report holds the summary, the CSV header and one line per sample.
+     * <p>
+     * Test output: A report file with a summary and every sample.
+     * Preconditions: None.
+     * Test procedure:
+     * 1. Run an experiment that keeps no records and write its report.
+     * 2. Verify the lines of the report.
+     */
+    @Test
+    public void testReportIsWritten() throws Exception {
+        HeapReport report = lab.run(new HeapExperiment(ObjectModel.CSV_LINE, GrowthPattern.BURSTY,
+                RetentionPolicy.NONE, 1000, 1, 20_000, Long.MAX_VALUE));
+        Path file = Files.createTempFile("heap-report", ".csv");
+        try {
+            report.writeTo(file);
+            List<String> lines = Files.readAllLines(file);
+            assertTrue(lines.get(0).startsWith("# Heap experiment: CSV_LINE"));
+            assertTrue(lines.contains(HeapSample.CSV_HEADER));
+            assertEquals(report.getSamples().size(), lines.size() - lines.indexOf(HeapSample.CSV_HEADER) - 1);
+            assertEquals(0, report.getRecordsRetained());
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
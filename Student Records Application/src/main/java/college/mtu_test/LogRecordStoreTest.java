@@ -0,0 +1,240 @@
+package college.mtu_test;
+
+import college.mtu_model.GradeEntry;
+import college.mtu_model.Module;
+import college.mtu_model.ModuleGrade;
+import college.mtu_model.Student;
+import college.mtu_storage.LogRecordStore;
+import college.mtu_storage.StorageException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class for the LogRecordStore class.
+ * This class tests that records written to the log can be read back, survive reopening the store,
+ * and are kept when the log is compacted. Each test uses its own temporary directory.
+ */
+public class LogRecordStoreTest {
+
+    private Path directory;
+    private LogRecordStore store;
+
+    /**
+     * Sets up a store holding two students, one module and a grade for the first student.
+     */
+    @Before
+    public void setUp() throws IOException, StorageException {
+        directory = Files.createTempDirectory("records");
+        store = new LogRecordStore(directory);
+        store.addStudent(new Student("Furqan Ali", "R00000001", "06/10/1999", 3));
+        store.addStudent(new Student("Aoife Byrne", "R00000002", "01/02/2000", 1));
+        store.addModule(new Module("Software Development", "MT101", 3));
+        store.saveGrade("R00000001", "MT101", 72);
+    }
+
+    /**
+     * Closes the store and deletes its directory.
+     */
+    @After
+    public void tearDown() throws Exception {
+        store.close();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    /**
+     * Test case for reading records back.
+     * This test checks that students, modules and grades are found, that saving a grade again replaces it,
+     * and that removing a student also removes their grades.
+     * <p>
+     * Test output: The stored records, then no grade once the student is removed.
+     * Preconditions: A store holding two students, one module and one grade.
+     * Test procedure:
+     * 1. Verify the stored student, module and grade.
+     * 2. Save the grade again and verify it is replaced rather than added.
+     * 3. Remove the student and verify the grade is gone.
+     */
+    @Test
+    public void testRecordsAreReadBack() throws StorageException {
+        assertEquals("Aoife Byrne", store.findStudent("R00000002").getStudentName());
+        assertEquals(3, store.findModule("MT101").getSemester());
+        assertEquals(72f, store.findGrade("R00000001", "MT101"), 0);
+
+        assertFalse(store.saveGrade("R00000001", "MT101", 35));
+        List<ModuleGrade> grades = store.findGrades("R00000001", false);
+        assertEquals(1, grades.size());
+        assertEquals("Software Development", grades.get(0).getModuleName());
+        assertTrue(store.findGrades("R00000001", true).isEmpty());
+
+        store.removeStudent("R00000001");
+        assertNull(store.findStudent("R00000001"));
+        assertNull(store.findGrade("R00000001", "MT101"));
+    }
+
+    /**
+     * Test case for paging.
+     * This test checks that students are listed in ID order one page at a time.
+     * <p>
+     * Test output: One student per page, in ID order.
+     * Preconditions: A store holding two students.
+     * Test procedure:
+     * 1. Read pages of one student until a page is empty.
+     * 2. Verify the IDs read.
+     */
+    @Test
+    public void testPagesFollowIdOrder() throws StorageException {
+        List<String> ids = new ArrayList<>();
+        String after = null;
+        List<Student> page;
+        while (!(page = store.findStudents(after, 1)).isEmpty()) {
+            after = page.get(0).getStudentId();
+            ids.add(after);
+        }
+        assertEquals(List.of("R00000001", "R00000002"), ids);
+    }
+
+    /**
+     * Test case for removing many records at once.
+     * This test checks that the listed students and modules are removed with their grades, that unknown and
+     * repeated IDs are ignored, and that the removals are kept when the store is reopened.
+     * <p>
+     * Test output: The number of records removed, then no students, modules or grades.
+     * Preconditions: A store holding two students, one module and one grade.
+     * Test procedure:
+     * 1. Remove both students, listing one twice along with an unknown ID, then the module.
+     * 2. Reopen the store and verify nothing is left.
+     */
+    @Test
+    public void testBulkRemoval() throws StorageException {
+        assertEquals(2, store.removeStudents(List.of("R00000001", "R00000009", "R00000002", "R00000001")));
+        assertNull(store.findGrade("R00000001", "MT101"));
+        assertEquals(1, store.removeModules(List.of("MT101")));
+        assertEquals(0, store.removeModules(List.of("MT101")));
+
+        store.close();
+        store = new LogRecordStore(directory);
+        assertTrue(store.findStudents(null, Integer.MAX_VALUE).isEmpty());
+        assertTrue(store.findModules(null, Integer.MAX_VALUE).isEmpty());
+    }
+
+    /**
+     * Test case for reopening the store after a crash.
+     * This test checks that records are read back from the log and that an entry cut short is dropped.
+     * <p>
+     * Test output: The records written before the partial entry.
+     * Preconditions: A store holding two students, one module and one grade.
+     * Test procedure:
+     * 1. Close the store and append a few bytes of a partial entry to the log.
+     * 2. Reopen the store and verify the records, then add another student.
+     * 3. Reopen the store again and verify the new student was kept.
+     */
+    @Test
+    public void testReopenDropsPartialEntry() throws Exception {
+        store.close();
+        Path log;
+        try (Stream<Path> files = Files.list(directory)) {
+            log = files.findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 40, 1, 2}));
+        }
+
+        store = new LogRecordStore(directory);
+        assertEquals(2, store.findStudents(null, Integer.MAX_VALUE).size());
+        assertEquals(72f, store.findGrade("R00000001", "MT101"), 0);
+        store.addStudent(new Student("Alan Furlong", "R00000010", "03/04/2001", 2));
+        store.close();
+
+        store = new LogRecordStore(directory);
+        assertEquals("Alan Furlong", store.findStudent("R00000010").getStudentName());
+    }
+
+    /**
+     * Test case for compaction.
+     * This test checks that a log full of replaced grades is compacted, keeping only the latest grade.
+     * <p>
+     * Test output: A smaller log holding the latest grade.
+     * Preconditions: A store that compacts once 1 KB of the log is replaced records.
+     * Test procedure:
+     * 1. Save the same grade many times.
+     * 2. Verify the log has been compacted and the latest grade is kept after reopening.
+     */
+    @Test
+    public void testReplacedRecordsAreCompacted() throws Exception {
+        store.close();
+        store = new LogRecordStore(directory, 1024, false);
+        List<GradeEntry> entries = new ArrayList<>();
+        for (int i = 0; i <= 100; i++) {
+            entries.add(new GradeEntry("R00000002", "MT101", i % 101));
+        }
+        store.saveGrades(entries);
+        for (int i = 0; i < 100; i++) {
+            store.saveGrade("R00000001", "MT101", i);
+        }
+
+        assertTrue("Expected the log to be compacted", store.getLogSize() < 2 * store.getLiveSize() + 1024);
+        store.close();
+        store = new LogRecordStore(directory);
+        assertEquals(99f, store.findGrade("R00000001", "MT101"), 0);
+        assertEquals(100f, store.findGrade("R00000002", "MT101"), 0);
+    }
+
+    /**
+     * Test case for a compaction that fails.
+     * This test checks that a change which triggers a failing compaction is still saved, and the store keeps
+     * working on its current log.
+     * <p>
+     * Test output: The latest grades, before and after reopening.
+     * Preconditions: A store that compacts once 1 KB of the log is replaced records, and a directory in the
+     * place of the file the compaction writes to.
+     * Test procedure:
+     * 1. Save the same grade many times, which triggers the failing compaction.
+     * 2. Verify no error was thrown, then save another grade.
+     * 3. Reopen the store and verify both grades were kept.
+     */
+    @Test
+    public void testFailedCompactionKeepsChange() throws Exception {
+        store.close();
+        store = new LogRecordStore(directory, 1024, false);
+        Path blocked;
+        try (Stream<Path> files = Files.list(directory)) {
+            Path log = files.findFirst().orElseThrow();
+            String name = log.getFileName().toString();
+            int generation = Integer.parseInt(name.substring("records.".length(), name.length() - ".log".length()));
+            blocked = directory.resolve("records." + (generation + 1) + ".log.tmp");
+        }
+        Files.createDirectory(blocked);
+        Path content = Files.createFile(blocked.resolve("content"));
+
+        List<GradeEntry> entries = new ArrayList<>();
+        for (int i = 0; i <= 100; i++) {
+            entries.add(new GradeEntry("R00000002", "MT101", i));
+        }
+        store.saveGrades(entries);
+        assertEquals(100f, store.findGrade("R00000002", "MT101"), 0);
+        store.saveGrade("R00000001", "MT101", 55);
+
+        store.close();
+        Files.delete(content);
+        store = new LogRecordStore(directory);
+        assertEquals(100f, store.findGrade("R00000002", "MT101"), 0);
+        assertEquals(55f, store.findGrade("R00000001", "MT101"), 0);
+    }
+}
@@ -0,0 +1,78 @@
+package college.mtu_test;
+
+import college.mtu_metrics.LatencyHistogram;
+import college.mtu_metrics.OperationMetrics;
+import college.mtu_metrics.OperationMetricsRegistry;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class for the LatencyHistogram and OperationMetrics classes.
+ * This class tests that percentiles are read back within the bucket precision, that failures are counted,
+ * and that the metrics can be read over JMX.
+ */
+public class OperationMetricsTest {
+
+    /**
+     * Test case for the percentiles.
+     * This test checks the percentiles of the durations 1 ms to 1000 ms against their exact values.
+     * <p>
+     * Test output: Percentiles within an eighth of the exact values, and the exact maximum.
+     * Preconditions: None.
+     * Test procedure:
+     * 1. Record 1000 durations.
+     * 2. Verify the count, mean, percentiles and maximum.
+     */
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int millis = 1000; millis >= 1; millis--) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500.5, histogram.getMeanMillis(), 1e-9);
+        assertEquals(500, histogram.getPercentileMillis(50), 500 / 8.0);
+        assertEquals(990, histogram.getPercentileMillis(99), 990 / 8.0);
+        assertTrue(histogram.getPercentileMillis(99) >= 990);
+        assertEquals(1000, histogram.getMaxMillis(), 0);
+        assertEquals(1000, histogram.getPercentileMillis(100), 0);
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentileMillis(50), 0);
+    }
+
+    /**
+     * Test case for publishing the metrics.
+     * This test checks that successes and errors are counted and can be read from the platform MBean server.
+     * <p>
+     * Test output: Two calls, one of them an error, read over JMX.
+     * Preconditions: None.
+     * Test procedure:
+     * 1. Record a successful and a failed call of an operation.
+     * 2. Read the counts from the MBean server, then remove the MBean.
+     */
+    @Test
+    public void testJmxPublishing() throws Exception {
+        OperationMetricsRegistry registry = new OperationMetricsRegistry(true);
+        OperationMetrics metrics = registry.operation("testOperation");
+        metrics.record(System.nanoTime(), true);
+        metrics.record(System.nanoTime(), false);
+        assertSame(metrics, registry.operation("testOperation"));
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("college.student_records:type=Operation,name=testOperation");
+        assertEquals(2L, server.getAttribute(name, "Count"));
+        assertEquals(1L, server.getAttribute(name, "ErrorCount"));
+        assertEquals(1L, server.getAttribute(name, "SuccessCount"));
+
+        registry.unpublish();
+        assertFalse(server.isRegistered(name));
+    }
+}
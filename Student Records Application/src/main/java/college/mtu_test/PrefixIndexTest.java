@@ -0,0 +1,83 @@
+package college.mtu_test;
+
+import college.mtu_repository.PrefixIndex;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class for the PrefixIndex class.
+ * This class tests that records are found by a prefix of their ID or of any word of their name,
+ * and that the index follows records being added and removed.
+ */
+public class PrefixIndexTest {
+
+    private PrefixIndex<String> index;
+
+    /**
+     * Sets up an index of three students keyed by student ID.
+     */
+    @Before
+    public void setUp() {
+        index = new PrefixIndex<>();
+        index.put("R00000001", "Furqan Ali", "R00000001", "Furqan Ali");
+        index.put("R00000002", "Aoife Byrne", "R00000002", "Aoife Byrne");
+        index.put("R00000010", "Alan Furlong", "R00000010", "Alan Furlong");
+    }
+
+    /**
+     * Test case for searching by name.
+     * This test checks that a prefix matches the first name and the surname, ignoring case,
+     * and that each student is returned once.
+     * <p>
+     * Test output: The students with a name word starting with the prefix.
+     * Preconditions: An index of three students.
+     * Test procedure:
+     * 1. Search for "fur" and "AL".
+     * 2. Verify the returned students.
+     */
+    @Test
+    public void testSearchByNameWord() {
+        assertEquals(List.of("Alan Furlong", "Furqan Ali"), index.search("fur", 10));
+        assertEquals(List.of("Alan Furlong", "Furqan Ali"), index.search("AL", 10));
+    }
+
+    /**
+     * Test case for searching by ID.
+     * This test checks that an ID prefix matches every ID starting with it and respects the limit.
+     * <p>
+     * Test output: The students in ID order, cut off at the limit.
+     * Preconditions: An index of three students.
+     * Test procedure:
+     * 1. Search for "R0000000" with a limit of two.
+     * 2. Verify the returned students.
+     */
+    @Test
+    public void testSearchByIdWithLimit() {
+        assertEquals(List.of("Furqan Ali", "Aoife Byrne"), index.search("r0000000", 2));
+    }
+
+    /**
+     * Test case for keeping the index current.
+     * This test checks that a removed student is no longer found and a renamed one is found by the new name only.
+     * <p>
+     * Test output: Lookups reflect the changes.
+     * Preconditions: An index of three students.
+     * Test procedure:
+     * 1. Remove one student and rename another.
+     * 2. Verify the lookups and the size of the index.
+     */
+    @Test
+    public void testRemoveAndReplace() {
+        assertTrue(index.remove("R00000001"));
+        index.put("R00000002", "Aoife Walsh", "R00000002", "Aoife Walsh");
+
+        assertEquals(List.of("Alan Furlong"), index.search("fur", 10));
+        assertTrue(index.search("byrne", 10).isEmpty());
+        assertEquals(List.of("Aoife Walsh"), index.search("wal", 10));
+        assertEquals(2, index.size());
+    }
+}
@@ -0,0 +1,142 @@
+package college.mtu_test;
+
+import college.mtu_repository.RecordCache;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class for the RecordCache class.
+ * This class tests the least recently used eviction, time to live and counters of the record cache.
+ * A manual clock is used so expiry can be tested without waiting.
+ */
+public class RecordCacheTest {
+
+    private RecordCache<String, String> cache;
+    private long now;
+
+    /**
+     * Sets up a cache holding two records for 1000 milliseconds.
+     */
+    @Before
+    public void setUp() {
+        now = 0;
+        cache = new RecordCache<>(2, 1000, () -> now);
+    }
+
+    /**
+     * Test case for hits and misses.
+     * This test checks that a cached record is returned and counted as a hit, and a missing one as a miss.
+     * <p>
+     * Test output: One hit and one miss.
+     * Preconditions: An empty cache.
+     * Test procedure:
+     * 1. Put a record and look it up, then look up a missing record.
+     * 2. Verify the returned values and the counters.
+     */
+    @Test
+    public void testHitAndMiss() {
+        cache.put("R00224511", "Furqan");
+
+        assertEquals("Furqan", cache.get("R00224511"));
+        assertNull(cache.get("R00784964"));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    /**
+     * Test case for least recently used eviction.
+     * This test checks that the least recently used record is evicted once the cache is full.
+     * <p>
+     * Test output: The second record is evicted.
+     * Preconditions: A cache holding at most two records.
+     * Test procedure:
+     * 1. Put two records, look up the first, then put a third.
+     * 2. Verify that the second record is gone and one eviction was counted.
+     */
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        cache.put("R00000001", "A");
+        cache.put("R00000002", "B");
+        cache.get("R00000001");
+        cache.put("R00000003", "C");
+
+        assertNull(cache.get("R00000002"));
+        assertEquals("A", cache.get("R00000001"));
+        assertEquals(1, cache.getEvictions());
+    }
+
+    /**
+     * Test case for the time to live.
+     * This test checks that a record older than the time to live is treated as missing.
+     * <p>
+     * Test output: The record is missing after it expires.
+     * Preconditions: A cache with a time to live of 1000 milliseconds.
+     * Test procedure:
+     * 1. Put a record and move the clock past the time to live.
+     * 2. Verify that the record is no longer returned.
+     */
+    @Test
+    public void testExpiredRecordIsMissing() {
+        cache.put("R00224511", "Furqan");
+        now = 1001;
+
+        assertNull(cache.get("R00224511"));
+        assertEquals(1, cache.getEvictions());
+    }
+
+    /**
+     * Test case for serving a full listing from memory.
+     * This test checks that a loaded table is listed from the cache, kept up to date by writes,
+     * and reloaded once a record is evicted.
+     * <p>
+     * Test output: The listing reflects writes until an eviction makes the cache incomplete.
+     * Preconditions: A cache holding at most two records.
+     * Test procedure:
+     * 1. Load a table of one record and add a second.
+     * 2. Verify that both are listed.
+     * 3. Add a third record and verify that the cache no longer lists the table.
+     */
+    @Test
+    public void testCompleteListing() {
+        Map<String, String> table = new LinkedHashMap<>();
+        table.put("R00000001", "A");
+        cache.loadAll(table, cache.getModifications());
+        cache.put("R00000002", "B");
+
+        List<String> all = cache.getAll();
+        assertNotNull(all);
+        assertEquals(2, all.size());
+
+        cache.put("R00000003", "C");
+        assertNull(cache.getAll());
+    }
+
+    /**
+     * Test case for a table read while a record is written.
+     * This test checks that a table read before a write is not loaded, so the written record is not lost.
+     * <p>
+     * Test output: The written record is kept and the cache does not list the table.
+     * Preconditions: An empty cache.
+     * Test procedure:
+     * 1. Read the write count, put a record, then load a table read before the write.
+     * 2. Verify that the record is still cached and that the cache is not complete.
+     */
+    @Test
+    public void testTableReadBeforeWriteIsNotLoaded() {
+        long modifications = cache.getModifications();
+        cache.put("R00000002", "B");
+        Map<String, String> table = new LinkedHashMap<>();
+        table.put("R00000001", "A");
+        cache.loadAll(table, modifications);
+
+        assertEquals("B", cache.get("R00000002"));
+        assertNull(cache.get("R00000001"));
+        assertNull(cache.getAll());
+    }
+}
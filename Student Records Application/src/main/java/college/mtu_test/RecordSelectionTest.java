@@ -0,0 +1,58 @@
+package college.mtu_test;
+
+import college.mtu_records.RecordSelection;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class for the RecordSelection class.
+ * This class tests that typed text is read as a list of IDs or as a semester filter.
+ */
+public class RecordSelectionTest {
+
+    /**
+     * Test case for a list of IDs.
+     * This test checks that IDs separated by commas, spaces and new lines are read in order, each once.
+     * <p>
+     * Test output: The three distinct IDs.
+     * Preconditions: None.
+     * Test procedure:
+     * 1. Parse a list of IDs with mixed separators and a repeated ID.
+     * 2. Verify the IDs and that the selection is not a filter.
+     */
+    @Test
+    public void testIdList() {
+        RecordSelection selection = RecordSelection.parse(" R00000003, R00000001\nR00000002 R00000001 ");
+        assertFalse(selection.isFilter());
+        assertEquals(List.of("R00000003", "R00000001", "R00000002"), selection.getIds());
+        assertFalse(selection.matches(3));
+    }
+
+    /**
+     * Test case for a semester filter.
+     * This test checks that each operator selects the expected semesters.
+     * <p>
+     * Test output: The semesters each filter selects.
+     * Preconditions: None.
+     * Test procedure:
+     * 1. Parse filters with each operator, in any case and spacing.
+     * 2. Verify the semesters around the boundary.
+     */
+    @Test
+    public void testSemesterFilter() {
+        RecordSelection greater = RecordSelection.parse("Semester>8");
+        assertTrue(greater.isFilter());
+        assertTrue(greater.getIds().isEmpty());
+        assertFalse(greater.matches(8));
+        assertTrue(greater.matches(9));
+
+        assertTrue(RecordSelection.parse("semester >= 8").matches(8));
+        assertTrue(RecordSelection.parse("semester <= 2").matches(2));
+        assertFalse(RecordSelection.parse("semester < 2").matches(2));
+        assertTrue(RecordSelection.parse(" semester = 4 ").matches(4));
+        assertFalse(RecordSelection.parse("semester >> 4").isFilter());
+    }
+}
@@ -0,0 +1,131 @@
+package college.mtu_test;
+
+import college.mtu_database.ResourceTracker;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class for the ResourceTracker class.
+ * This class tests that statements and result sets opened through a tracked connection are counted
+ * until they are closed. A stub connection is used so the tests do not need a running database.
+ */
+public class ResourceTrackerTest {
+
+    private ResourceTracker tracker;
+    private Connection connection;
+
+    /**
+     * Sets up a tracker and a tracked stub connection whose statements return stub result sets.
+     */
+    @Before
+    public void setUp() {
+        tracker = new ResourceTracker();
+        connection = tracker.track(stub(Connection.class));
+    }
+
+    /**
+     * Test case for closing every resource.
+     * This test checks that nothing is reported once the statement and result set are closed.
+     * <p>
+     * Test output: No open statements or result sets.
+     * Preconditions: A tracked connection.
+     * Test procedure:
+     * 1. Open a statement and a result set with try-with-resources.
+     * 2. Verify that both counts are zero afterwards and assertNoLeaks() passes.
+     */
+    @Test
+    public void testClosedResourcesAreNotCounted() throws Exception {
+        try (PreparedStatement statement = connection.prepareStatement("select * from student");
+             ResultSet resultSet = statement.executeQuery()) {
+            assertFalse(resultSet.next());
+            assertEquals(1, tracker.getOpenStatements());
+            assertEquals(1, tracker.getOpenResultSets());
+        }
+
+        assertEquals(0, tracker.getOpenStatements());
+        assertEquals(0, tracker.getOpenResultSets());
+        tracker.assertNoLeaks();
+    }
+
+    /**
+     * Test case for a leaked result set.
+     * This test checks that a result set left open is reported once, with the call site that opened it.
+     * <p>
+     * Test output: One leak naming this test class.
+     * Preconditions: A tracked connection.
+     * Test procedure:
+     * 1. Open a statement and a result set, and close only the connection.
+     * 2. Verify that checkLeaks() reports both resources once and describes this test as the call site.
+     */
+    @Test
+    public void testLeakIsReportedWithCallSite() throws Exception {
+        PreparedStatement statement = connection.prepareStatement("select * from grade");
+        statement.executeQuery();
+        connection.close();
+
+        assertEquals(2, tracker.checkLeaks("test"));
+        assertEquals(0, tracker.checkLeaks("test"));
+        assertTrue(tracker.describeOpenResources().get(0).contains("ResourceTrackerTest"));
+    }
+
+    /**
+     * Test case for closing a statement with an open result set.
+     * This test checks that closing a statement also closes the result sets it produced.
+     * <p>
+     * Test output: No open result sets.
+     * Preconditions: A tracked connection.
+     * Test procedure:
+     * 1. Open a statement and a result set, and close only the statement.
+     * 2. Verify that the result set is no longer counted.
+     */
+    @Test
+    public void testClosingStatementClosesResultSets() throws Exception {
+        PreparedStatement statement = connection.prepareStatement("select * from module");
+        statement.executeQuery();
+        statement.close();
+
+        assertEquals(0, tracker.getOpenResultSets());
+    }
+
+    /**
+     * Test case for failing a test on leaks.
+     * This test checks that assertNoLeaks() throws while a statement is open.
+     * <p>
+     * Test output: An IllegalStateException.
+     * Preconditions: A tracked connection.
+     * Test procedure:
+     * 1. Open a statement without closing it.
+     * 2. Verify that assertNoLeaks() throws.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testAssertNoLeaksFails() throws Exception {
+        connection.prepareStatement("select * from student");
+        tracker.assertNoLeaks();
+    }
+
+    /**
+     * Creates a stub JDBC object that returns further stubs for statements and result sets.
+     */
+    private static <T> T stub(Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Class<?> returnType = method.getReturnType();
+            if (returnType == PreparedStatement.class || returnType == ResultSet.class) {
+                return stub(returnType);
+            }
+            if (returnType == boolean.class) {
+                return false;
+            }
+            if (returnType == int.class) {
+                return 0;
+            }
+            return null;
+        }));
+    }
+}
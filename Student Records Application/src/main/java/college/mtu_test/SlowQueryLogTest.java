@@ -0,0 +1,158 @@
+package college.mtu_test;
+
+import college.mtu_database.SlowQueryLog;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class for the SlowQueryLog class.
+ * This class tests that logged statements are written with their bind values and row counts, and that the ring
+ * and the file stay within their limits. A stub connection is used so the tests do not need a running database.
+ */
+public class SlowQueryLogTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private SlowQueryLog log;
+
+    /**
+     * Stops the log of each test.
+     */
+    @After
+    public void tearDown() {
+        if (log != null) {
+            log.close();
+        }
+    }
+
+    /**
+     * Test case for logging queries, updates and failures.
+     * This test checks that each entry names the operation, the SQL, the bind values and the rows.
+     * <p>
+     * Test output: Three lines, the last one with the error of the failed statement.
+     * Preconditions: A log with a threshold of 0, so every statement is logged.
+     * Test procedure:
+     * 1. Run a query reading two rows, an update and a statement that fails, inside an operation.
+     * 2. Flush the log and verify the lines of the file.
+     */
+    @Test
+    public void testStatementsAreLoggedWithBindValues() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("slow.log");
+        log = new SlowQueryLog(0, file, 1024 * 1024, 2);
+        Connection connection = log.wrap(stub(Connection.class));
+
+        SlowQueryLog.enterOperation("search");
+        try (PreparedStatement statement = connection.prepareStatement("select * from grade where id = ?")) {
+            statement.setString(1, "R00000001");
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    resultSet.getString(1);
+                }
+            }
+        }
+        try (PreparedStatement statement = connection.prepareStatement("update grade set grade = ? where id = ?")) {
+            statement.setFloat(1, 72.5f);
+            statement.setNull(2, java.sql.Types.VARCHAR);
+            statement.executeUpdate();
+        }
+        try (PreparedStatement statement = connection.prepareStatement("fail")) {
+            statement.executeUpdate();
+            fail("The stub statement should have failed.");
+        } catch (SQLException expected) {
+            //logged below
+        } finally {
+            SlowQueryLog.exitOperation();
+        }
+        log.flush();
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).contains("operation=search"));
+        assertTrue(lines.get(0).contains("rows=2 "));
+        assertTrue(lines.get(0).endsWith("sql=\"select * from grade where id = ?\" binds=['R00000001']"));
+        assertTrue(lines.get(1).contains("rows=1 "));
+        assertTrue(lines.get(1).endsWith("binds=[72.5, NULL]"));
+        assertTrue(lines.get(2).contains("error=\"Syntax error\""));
+        assertEquals(3, log.getLogged());
+    }
+
+    /**
+     * Test case for the limits of the ring and the file.
+     * This test checks that entries overwritten before a flush are counted as dropped, and that the file is
+     * rolled over keeping only the configured number of older files.
+     * <p>
+     * Test output: Four entries written across the files, six dropped.
+     * Preconditions: A log with a ring of four entries and a file rolled over after every line.
+     * Test procedure:
+     * 1. Run ten statements without flushing.
+     * 2. Flush the log and verify the dropped count and the files left.
+     */
+    @Test
+    public void testRingDropsOldestEntriesAndFileRollsOver() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("slow.log");
+        log = new SlowQueryLog(0, file, 1, 2, 4);
+        Connection connection = log.wrap(stub(Connection.class));
+
+        for (int i = 0; i < 10; i++) {
+            try (PreparedStatement statement = connection.prepareStatement("delete from grade where id = ?")) {
+                statement.setInt(1, i);
+                statement.executeUpdate();
+            }
+        }
+        log.flush();
+
+        assertEquals(6, log.getDropped());
+        assertTrue(Files.readString(file).contains("binds=[9]"));
+        assertTrue(Files.readString(file.resolveSibling("slow.log.1")).contains("binds=[8]"));
+        assertTrue(Files.readString(file.resolveSibling("slow.log.2")).contains("binds=[7]"));
+        assertFalse(Files.exists(file.resolveSibling("slow.log.3")));
+    }
+
+    /**
+     * Creates a stub JDBC object. Statements prepared with the SQL "fail" throw when run, updates change one row
+     * and result sets hold two rows.
+     */
+    private static <T> T stub(Class<T> type) {
+        return stub(type, null);
+    }
+
+    private static <T> T stub(Class<T> type, String sql) {
+        int[] rows = {2};
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Class<?> returnType = method.getReturnType();
+            if (method.getName().startsWith("execute") && "fail".equals(sql)) {
+                throw new SQLException("Syntax error");
+            }
+            if (returnType == PreparedStatement.class) {
+                return stub(returnType, (String) args[0]);
+            }
+            if (returnType == ResultSet.class) {
+                return stub(returnType);
+            }
+            if (method.getName().equals("next")) {
+                return rows[0]-- > 0;
+            }
+            if (returnType == boolean.class) {
+                return false;
+            }
+            if (returnType == int.class) {
+                return 1;
+            }
+            return null;
+        }));
+    }
+}
@@ -0,0 +1,141 @@
+package college.mtu_test;
+
+import college.mtu_database.StatementCache;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class for the StatementCache class.
+ * This class tests that prepared statements are reused per SQL text and closed when they are evicted.
+ * A stub connection is used so the tests do not need a running database.
+ */
+public class StatementCacheTest {
+
+    private StatementCache cache;
+    private Connection connection;
+    private final List<String> prepared = new ArrayList<>();
+    private final List<String> closed = new ArrayList<>();
+
+    /**
+     * Sets up a cache holding two statements and a stub connection that records every statement
+     * it prepares and closes.
+     */
+    @Before
+    public void setUp() {
+        cache = new StatementCache(2);
+        connection = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("prepareStatement")) {
+                        String sql = (String) args[0];
+                        prepared.add(sql);
+                        return stubStatement(sql);
+                    }
+                    return null;
+                });
+    }
+
+    /**
+     * Test case for reusing a statement.
+     * This test checks that preparing the same SQL twice only prepares it once on the connection.
+     * <p>
+     * Test output: One prepared statement and one cache hit.
+     * Preconditions: An empty cache.
+     * Test procedure:
+     * 1. Prepare and close a statement.
+     * 2. Prepare the same SQL again.
+     * 3. Verify that the connection prepared it only once.
+     */
+    @Test
+    public void testStatementIsReused() throws Exception {
+        cache.prepare(connection, "select 1").close();
+        cache.prepare(connection, "select 1").close();
+
+        assertEquals(1, prepared.size());
+        assertEquals(1, cache.getHits());
+        assertTrue("Expected the statement to stay open", closed.isEmpty());
+    }
+
+    /**
+     * Test case for a statement that is still in use.
+     * This test checks that a second lease of the same SQL gets its own statement.
+     * <p>
+     * Test output: Two prepared statements.
+     * Preconditions: An empty cache.
+     * Test procedure:
+     * 1. Prepare a statement without closing it.
+     * 2. Prepare the same SQL again.
+     * 3. Verify that the connection prepared it twice.
+     */
+    @Test
+    public void testStatementInUseIsNotShared() throws Exception {
+        PreparedStatement first = cache.prepare(connection, "select 1");
+        PreparedStatement second = cache.prepare(connection, "select 1");
+
+        assertNotSame(first, second);
+        assertEquals(2, prepared.size());
+    }
+
+    /**
+     * Test case for least recently used eviction.
+     * This test checks that the least recently used statement is closed once the cache is full.
+     * <p>
+     * Test output: The least recently used SQL is closed.
+     * Preconditions: A cache holding at most two statements.
+     * Test procedure:
+     * 1. Prepare three different statements, using the first one again before the third.
+     * 2. Verify that the second statement was closed and the cache holds two statements.
+     */
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() throws Exception {
+        cache.prepare(connection, "select 1").close();
+        cache.prepare(connection, "select 2").close();
+        cache.prepare(connection, "select 1").close();
+        cache.prepare(connection, "select 3").close();
+
+        assertEquals(List.of("select 2"), closed);
+        assertEquals(2, cache.size());
+    }
+
+    /**
+     * Test case for closing the cache.
+     * This test checks that closing the cache closes every cached statement.
+     * <p>
+     * Test output: Every cached statement is closed.
+     * Preconditions: A cache holding two statements.
+     * Test procedure:
+     * 1. Prepare two statements and close the cache.
+     * 2. Verify that both statements were closed.
+     */
+    @Test
+    public void testCloseClosesStatements() throws Exception {
+        cache.prepare(connection, "select 1").close();
+        cache.prepare(connection, "select 2").close();
+        cache.close();
+
+        assertEquals(2, closed.size());
+        assertEquals(0, cache.size());
+    }
+
+    private PreparedStatement stubStatement(String sql) {
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            closed.add(sql);
+                            return null;
+                        case "isClosed":
+                            return closed.contains(sql);
+                        default:
+                            return null;
+                    }
+                });
+    }
+}
@@ -0,0 +1,87 @@
+package college.mtu_test;
+
+import college.mtu_model.Student;
+import college.mtu_model.StudentTable;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class for the StudentTable class.
+ * This class tests that students are packed and read back unchanged, that names are stored once,
+ * and that students are found by ID.
+ */
+public class StudentTableTest {
+
+    private StudentTable table;
+
+    /**
+     * Sets up a table of three students in ID order, two of them with the same name.
+     */
+    @Before
+    public void setUp() {
+        table = StudentTable.of(List.of(
+                new Student("Furqan Ali", "R00000001", "06/10/1999", 3),
+                new Student("Aoife Byrne", "R00000002", "01/02/2000", 1),
+                new Student("Furqan Ali", "R00163178", "29/02/1996", 8)));
+    }
+
+    /**
+     * Test case for reading students back.
+     * This test checks that every field of a packed student is returned as it was added.
+     * <p>
+     * Test output: The students as they were added.
+     * Preconditions: A table of three students.
+     * Test procedure:
+     * 1. Read the third student back.
+     * 2. Verify every field, and that two distinct names were pooled.
+     */
+    @Test
+    public void testStudentIsReadBack() {
+        Student student = table.get(2);
+        assertEquals("Furqan Ali", student.getStudentName());
+        assertEquals("R00163178", student.getStudentId());
+        assertEquals("29/02/1996", student.getDateOfBirth());
+        assertEquals(8, student.getCurrentSemester());
+        assertEquals(3, table.size());
+        assertEquals(2, table.getNameCount());
+    }
+
+    /**
+     * Test case for finding students by ID.
+     * This test checks that students are found whether or not they were added in ID order.
+     * <p>
+     * Test output: The row of each student, or -1 for unknown and malformed IDs.
+     * Preconditions: A table of three students.
+     * Test procedure:
+     * 1. Look up a known, an unknown and a malformed ID.
+     * 2. Add a student out of ID order and look it up.
+     */
+    @Test
+    public void testIndexOf() {
+        assertEquals(1, table.indexOf("R00000002"));
+        assertEquals(-1, table.indexOf("R00000003"));
+        assertEquals(-1, table.indexOf("X12"));
+
+        table.add(new Student("Alan Furlong", "R00000010", "03/04/2001", 2));
+        assertEquals(3, table.indexOf("R00000010"));
+        assertEquals(2, table.indexOf("R00163178"));
+    }
+
+    /**
+     * Test case for a student that cannot be packed.
+     * This test checks that an ID without six digits after "R00" is refused.
+     * <p>
+     * Test output: An IllegalArgumentException.
+     * Preconditions: A table of three students.
+     * Test procedure:
+     * 1. Add a student whose ID ends in letters.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testMalformedIdIsRefused() {
+        table.add(new Student("Niamh Murphy", "R00ABCDEF", "01/01/2000", 1));
+    }
+}
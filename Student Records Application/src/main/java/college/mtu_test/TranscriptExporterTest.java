@@ -0,0 +1,127 @@
+package college.mtu_test;
+
+import college.mtu_export.ExportFormat;
+import college.mtu_export.ExportResult;
+import college.mtu_export.TranscriptExporter;
+import college.mtu_model.Module;
+import college.mtu_model.Student;
+import college.mtu_storage.LogRecordStore;
+import college.mtu_storage.TranscriptScope;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class for the TranscriptExporter class.
+ * This class tests that transcripts are written in both formats and that a scope picks the right grades.
+ */
+public class TranscriptExporterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private LogRecordStore store;
+    private TranscriptExporter exporter;
+
+    /**
+     * Sets up a store of two students with three grades between them, and an exporter with a small buffer so
+     * the files are written in several parts.
+     */
+    @Before
+    public void setUp() throws Exception {
+        store = new LogRecordStore(folder.newFolder("records").toPath());
+        store.addStudent(new Student("Furqan Ali", "R00000001", "06/10/1999", 3));
+        store.addStudent(new Student("Byrne, \"Aoife\"", "R00000002", "01/02/2000", 1));
+        store.addModule(new Module("Software Development", "MT101", 1));
+        store.addModule(new Module("Databases", "MT102", 3));
+        store.saveGrade("R00000001", "MT101", 72);
+        store.saveGrade("R00000001", "MT102", 35.5);
+        store.saveGrade("R00000002", "MT101", 60);
+        exporter = new TranscriptExporter(store, 16);
+    }
+
+    /**
+     * Closes the store.
+     */
+    @After
+    public void tearDown() throws Exception {
+        store.close();
+    }
+
+    /**
+     * Test case for a CSV export.
+     * This test checks that every grade is written as one row, with names quoted where needed.
+     * <p>
+     * Test output: A header and three rows ordered by student.
+     * Preconditions: A store of three grades.
+     * Test procedure:
+     * 1. Export every transcript to CSV.
+     * 2. Verify the counts and the file.
+     */
+    @Test
+    public void testCsvExport() throws Exception {
+        Path csv = folder.getRoot().toPath().resolve("transcripts.csv");
+        ExportResult result = exporter.export(TranscriptScope.all(), ExportFormat.CSV, csv);
+
+        assertEquals(3, result.getGrades());
+        assertEquals(2, result.getStudents());
+        assertEquals(Files.size(csv), result.getBytes());
+        assertEquals(List.of("studentId,name,moduleCode,moduleName,grade",
+                "R00000001,Furqan Ali,MT101,Software Development,72.0",
+                "R00000001,Furqan Ali,MT102,Databases,35.5",
+                "R00000002,\"Byrne, \"\"Aoife\"\"\",MT101,Software Development,60.0"),
+                Files.readAllLines(csv, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Test case for a JSON export of one module.
+     * This test checks that only the grades of the module are written, grouped by student.
+     * <p>
+     * Test output: Two students with one grade each.
+     * Preconditions: A store of three grades, two of them for MT101.
+     * Test procedure:
+     * 1. Export the transcripts of MT101 to JSON.
+     * 2. Verify the file.
+     */
+    @Test
+    public void testJsonModuleExport() throws Exception {
+        Path json = folder.getRoot().toPath().resolve("transcripts.json");
+        exporter.export(TranscriptScope.module("MT101"), ExportFormat.JSON, json);
+
+        assertEquals("[\n"
+                        + "{\"studentId\":\"R00000001\",\"name\":\"Furqan Ali\",\"grades\":["
+                        + "{\"moduleCode\":\"MT101\",\"moduleName\":\"Software Development\",\"grade\":72.0}]},\n"
+                        + "{\"studentId\":\"R00000002\",\"name\":\"Byrne, \\\"Aoife\\\"\",\"grades\":["
+                        + "{\"moduleCode\":\"MT101\",\"moduleName\":\"Software Development\",\"grade\":60.0}]}\n"
+                        + "]\n",
+                Files.readString(json));
+    }
+
+    /**
+     * Test case for the cohort and semester scopes.
+     * This test checks that a cohort picks students by their current semester and a semester picks modules.
+     * <p>
+     * Test output: One grade for the cohort, two for the semester, an empty array for an empty cohort.
+     * Preconditions: A store of three grades.
+     * Test procedure:
+     * 1. Export the cohort of semester 1, the modules of semester 1 and the cohort of semester 9.
+     * 2. Verify the counts.
+     */
+    @Test
+    public void testScopes() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("scope.json");
+        assertEquals(1, exporter.export(TranscriptScope.cohort(1), ExportFormat.JSON, file).getGrades());
+        assertEquals(2, exporter.export(TranscriptScope.semester(1), ExportFormat.JSON, file).getGrades());
+        assertEquals(0, exporter.export(TranscriptScope.cohort(9), ExportFormat.JSON, file).getGrades());
+        assertEquals("[]\n", Files.readString(file));
+    }
+}
@@ -0,0 +1,64 @@
+package college.mtu_test;
+
+import college.mtu_model.ModuleGrade;
+import college.mtu_model.TranscriptOrder;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class for the TranscriptOrder enum.
+ * This class tests that transcripts are ordered on their first key and that ties are broken on the second.
+ */
+public class TranscriptOrderTest {
+
+    private final List<ModuleGrade> transcript = List.of(
+            new ModuleGrade("databases", 55),
+            new ModuleGrade("Algorithms", 72),
+            new ModuleGrade("Networks", 72),
+            new ModuleGrade("Algorithms", 35));
+
+    /**
+     * Test case for the alphabetical order.
+     * This test checks that module names are ordered ignoring case, with the higher grade first for equal names.
+     * <p>
+     * Test output: The rows ordered by name, then by highest grade.
+     * Preconditions: A transcript with two grades for the same module name.
+     * Test procedure:
+     * 1. Sort the transcript alphabetically, then reversed.
+     * 2. Verify both orders.
+     */
+    @Test
+    public void testAlphabeticalOrder() {
+        assertEquals(List.of("Algorithms 72.0", "Algorithms 35.0", "databases 55.0", "Networks 72.0"),
+                sorted(TranscriptOrder.ALPHABETICAL, false));
+        assertEquals(List.of("Networks 72.0", "databases 55.0", "Algorithms 35.0", "Algorithms 72.0"),
+                sorted(TranscriptOrder.ALPHABETICAL, true));
+    }
+
+    /**
+     * Test case for the numerical order.
+     * This test checks that the highest grade comes first, with module names ordered for equal grades.
+     * <p>
+     * Test output: The rows ordered by highest grade, then by name.
+     * Preconditions: A transcript with two equal grades.
+     * Test procedure:
+     * 1. Sort the transcript numerically.
+     * 2. Verify the order.
+     */
+    @Test
+    public void testNumericalOrder() {
+        assertEquals(List.of("Algorithms 72.0", "Networks 72.0", "databases 55.0", "Algorithms 35.0"),
+                sorted(TranscriptOrder.NUMERICAL, false));
+    }
+
+    private List<String> sorted(TranscriptOrder order, boolean reverse) {
+        List<ModuleGrade> rows = new ArrayList<>(transcript);
+        rows.sort(order.comparator(reverse));
+        return rows.stream().map(row -> row.getModuleName() + " " + row.getGrade()).collect(Collectors.toList());
+    }
+}
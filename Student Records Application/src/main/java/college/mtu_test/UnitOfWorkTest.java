@@ -0,0 +1,179 @@
+package college.mtu_test;
+
+import college.mtu_database.UnitOfWork;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class for the UnitOfWork class.
+ * This class tests that statements are committed together, rolled back together on failure, and batched.
+ * A stub connection records the calls made on it, so the tests do not need a running database.
+ */
+public class UnitOfWorkTest {
+
+    private List<String> calls;
+    private Connection connection;
+
+    /**
+     * Sets up a stub connection at REPEATABLE READ that records the calls made on it and its statements.
+     */
+    @Before
+    public void setUp() {
+        calls = new ArrayList<>();
+        connection = stub(Connection.class, null);
+    }
+
+    /**
+     * Test case for committing a unit of work.
+     * This test checks that both statements run in one transaction, which is committed once, and that the
+     * connection is returned with its isolation level and auto-commit restored.
+     * <p>
+     * Test output: The calls of one transaction.
+     * Preconditions: A stub connection.
+     * Test procedure:
+     * 1. Run two deletes in a unit of work at READ COMMITTED and commit it.
+     * 2. Verify the calls made on the connection.
+     */
+    @Test
+    public void testStatementsAreCommittedOnce() throws Exception {
+        try (UnitOfWork work = new UnitOfWork(connection, UnitOfWork.Isolation.READ_COMMITTED, 100)) {
+            work.update("delete from grade where studentId = ?", "R00000001");
+            work.update("delete from student where studentId = ?", "R00000001");
+            work.commit();
+        }
+
+        assertEquals(List.of("setTransactionIsolation " + Connection.TRANSACTION_READ_COMMITTED,
+                "setAutoCommit false",
+                "executeUpdate delete from grade where studentId = ?",
+                "executeUpdate delete from student where studentId = ?",
+                "commit",
+                "setAutoCommit true",
+                "setTransactionIsolation " + Connection.TRANSACTION_REPEATABLE_READ,
+                "close"), calls);
+    }
+
+    /**
+     * Test case for a failed statement.
+     * This test checks that a unit closed without a commit rolls back the statements that did run.
+     * <p>
+     * Test output: A rollback and no commit.
+     * Preconditions: A stub connection whose statements with the SQL "fail" throw.
+     * Test procedure:
+     * 1. Run a delete and then a failing statement in a unit of work.
+     * 2. Verify that the unit rolled back without committing.
+     */
+    @Test
+    public void testFailureRollsBack() throws Exception {
+        try (UnitOfWork work = new UnitOfWork(connection, UnitOfWork.Isolation.REPEATABLE_READ, 100)) {
+            work.update("delete from grade where studentId = ?", "R00000001");
+            work.update("fail");
+            work.commit();
+            fail("The stub statement should have failed.");
+        } catch (SQLException expected) {
+            //rolled back by close
+        }
+
+        assertFalse(calls.contains("commit"));
+        assertTrue(calls.indexOf("rollback") > calls.indexOf("executeUpdate delete from grade where studentId = ?"));
+        assertFalse(calls.contains("setTransactionIsolation " + Connection.TRANSACTION_REPEATABLE_READ));
+        assertEquals("close", calls.get(calls.size() - 1));
+    }
+
+    /**
+     * Test case for batched statements.
+     * This test checks that queued statements are sent in batches of the batch size, grouped by SQL in the order
+     * each SQL was first queued, before the commit.
+     * <p>
+     * Test output: The grade and student deletes of two students, then those of the third, then the commit.
+     * Preconditions: A stub connection.
+     * Test procedure:
+     * 1. Queue three students' grade and student deletes in a unit of work with a batch size of two.
+     * 2. Commit and verify the order of the batches.
+     */
+    @Test
+    public void testBatchesAreSentBeforeCommit() throws Exception {
+        try (UnitOfWork work = new UnitOfWork(connection, UnitOfWork.Isolation.REPEATABLE_READ, 2)) {
+            for (String studentId : List.of("R00000001", "R00000002", "R00000003")) {
+                work.batch("delete from grade where studentId = ?", studentId);
+                work.batch("delete from student where studentId = ?", studentId);
+            }
+            work.commit();
+        }
+
+        assertEquals(List.of("setAutoCommit false",
+                "executeBatch delete from grade where studentId = ?",
+                "executeBatch delete from student where studentId = ?",
+                "executeBatch delete from grade where studentId = ?",
+                "executeBatch delete from student where studentId = ?",
+                "commit"), calls.subList(0, 6));
+    }
+
+    /**
+     * Test case for a batch that fills up.
+     * This test checks that a full batch is sent after the statements of an SQL queued before it.
+     * <p>
+     * Test output: The student insert, then the grade inserts.
+     * Preconditions: A stub connection.
+     * Test procedure:
+     * 1. Queue a student insert, then two grade inserts in a unit of work with a batch size of two.
+     * 2. Verify that the student insert was sent first, before the commit.
+     */
+    @Test
+    public void testFullBatchKeepsEarlierStatementsFirst() throws Exception {
+        try (UnitOfWork work = new UnitOfWork(connection, UnitOfWork.Isolation.REPEATABLE_READ, 2)) {
+            work.batch("insert into student values(?)", "R00000001");
+            work.batch("insert into grade values(?,?)", "R00000001", "MT101");
+            work.batch("insert into grade values(?,?)", "R00000001", "MT102");
+            assertEquals(List.of("setAutoCommit false",
+                    "executeBatch insert into student values(?)",
+                    "executeBatch insert into grade values(?,?)"), calls);
+            work.commit();
+        }
+    }
+
+    /**
+     * Creates a stub JDBC object that records the calls that change the transaction or run statements.
+     */
+    private <T> T stub(Class<T> type, String sql) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            String name = method.getName();
+            switch (name) {
+                case "prepareStatement":
+                    return stub(PreparedStatement.class, (String) args[0]);
+                case "getTransactionIsolation":
+                    return Connection.TRANSACTION_REPEATABLE_READ;
+                case "executeUpdate":
+                case "executeBatch":
+                    if ("fail".equals(sql)) {
+                        throw new SQLException("Syntax error");
+                    }
+                    calls.add(name + " " + sql);
+                    return name.equals("executeBatch") ? new int[]{1} : 1;
+                case "setTransactionIsolation":
+                case "setAutoCommit":
+                    calls.add(name + " " + args[0]);
+                    return null;
+                case "commit":
+                case "rollback":
+                    calls.add(name);
+                    return null;
+                case "close":
+                    if (sql == null) {
+                        calls.add(name);
+                    }
+                    return null;
+                default:
+                    return null;
+            }
+        }));
+    }
+}
@@ -4,6 +4,7 @@ module college.student_records {
     requires org.junit.jupiter.api;
     requires junit;
     requires java.sql;
+    requires java.management;
 
 
     opens college.mtu_records to javafx.fxml;
@@ -14,4 +15,5 @@ module college.student_records {
     opens college.mtu_model to javafx.fxml;
     exports college.mtu_application;
     opens college.mtu_application to javafx.fxml;
+    exports college.mtu_metrics;
 }
\ No newline at end of file